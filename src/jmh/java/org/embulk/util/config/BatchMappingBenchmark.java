@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.embulk.config.TaskSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares mapping many {@code TaskSource}s one by one with {@code TaskMapper#mapAll}, sequentially and in parallel.
+ *
+ * <p>Run with {@code -p parallelism=1,2,4,8} to see how {@code mapAllInParallel} scales with cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BatchMappingBenchmark {
+    public interface BatchTask extends Task {
+        @Config("path_prefix")
+        String getPathPrefix();
+
+        @Config("index")
+        int getIndex();
+
+        @Config("columns")
+        List<String> getColumns();
+    }
+
+    @Param({"10000"})
+    public int numberOfTaskSources;
+
+    @Param({"4"})
+    public int parallelism;
+
+    @Setup
+    public void setup() {
+        final ConfigMapperFactory factory = ConfigMapperFactory.withDefault();
+        final List<String> columns = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            columns.add("column" + i);
+        }
+
+        this.taskSources = new ArrayList<>();
+        for (int i = 0; i < this.numberOfTaskSources; i++) {
+            final TaskSource taskSource = factory.newTaskSource();
+            taskSource.set("PathPrefix", "/tmp/input/" + i);
+            taskSource.set("Index", i);
+            taskSource.set("Columns", columns);
+            this.taskSources.add(taskSource);
+        }
+        this.taskMapper = factory.createTaskMapper();
+        this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public List<BatchTask> mapOneByOne() {
+        final List<BatchTask> tasks = new ArrayList<>(this.taskSources.size());
+        for (final TaskSource taskSource : this.taskSources) {
+            tasks.add(this.taskMapper.map(taskSource, BatchTask.class));
+        }
+        return tasks;
+    }
+
+    @Benchmark
+    public List<BatchTask> mapAll() {
+        return this.taskMapper.mapAll(this.taskSources, BatchTask.class);
+    }
+
+    @Benchmark
+    public List<BatchTask> mapAllInParallel() {
+        return this.taskMapper.mapAll(this.taskSources, BatchTask.class, this.pool);
+    }
+
+    @Benchmark
+    public List<BatchTask> mapAllInParallelStream() {
+        return this.pool.submit(() -> this.taskMapper.mapAll(this.taskSources.parallelStream(), BatchTask.class)).join();
+    }
+
+    private List<TaskSource> taskSources;
+    private TaskMapper taskMapper;
+    private ForkJoinPool pool;
+}
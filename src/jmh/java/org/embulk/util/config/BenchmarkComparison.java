@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares JMH results in JSON with a baseline, and reports changes of scores and allocation rates per benchmark.
+ *
+ * <p>It is run by {@code ./gradlew jmhCompare}. It exits with {@code 1} if a benchmark regresses beyond the threshold in
+ * percent: a lower score for throughput, a higher score for the other modes, or more bytes allocated per operation, which
+ * is reported with {@code -prof gc}.
+ *
+ * <pre>{@code java org.embulk.util.config.BenchmarkComparison <baseline.json> <results.json> [<threshold percent>]}</pre>
+ */
+public final class BenchmarkComparison {
+    private BenchmarkComparison() {
+        // No instantiation.
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <results.json> [<threshold percent>]");
+            System.exit(2);
+        }
+        final File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.err.println("No baseline found at " + baselineFile + ". Record one from build/reports/jmh/results.json.");
+            System.exit(2);
+        }
+        final double threshold = (args.length == 3 ? Double.parseDouble(args[2]) : 10.0) / 100.0;
+
+        final Map<String, JsonNode> baseline = readResults(baselineFile);
+        final Map<String, JsonNode> results = readResults(new File(args[1]));
+
+        int regressions = 0;
+        for (final Map.Entry<String, JsonNode> result : results.entrySet()) {
+            final JsonNode base = baseline.get(result.getKey());
+            if (base == null) {
+                System.out.printf("%-100s  (new)%n", result.getKey());
+                continue;
+            }
+
+            final JsonNode current = result.getValue();
+            final double baseScore = base.path("primaryMetric").path("score").asDouble();
+            final double currentScore = current.path("primaryMetric").path("score").asDouble();
+            final double scoreChange = change(baseScore, currentScore);
+            final boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            final boolean scoreRegressed = higherIsBetter ? (scoreChange < -threshold) : (scoreChange > threshold);
+
+            final double baseAllocation = allocationPerOperation(base);
+            final double currentAllocation = allocationPerOperation(current);
+            final boolean allocationRegressed = !Double.isNaN(baseAllocation) && !Double.isNaN(currentAllocation)
+                    && change(baseAllocation, currentAllocation) > threshold;
+
+            System.out.printf("%-100s  %14.3f -> %14.3f %-8s (%+7.1f%%)",
+                              result.getKey(), baseScore, currentScore, current.path("primaryMetric").path("scoreUnit").asText(), scoreChange * 100.0);
+            if (!Double.isNaN(baseAllocation) && !Double.isNaN(currentAllocation)) {
+                System.out.printf("  %12.1f -> %12.1f B/op", baseAllocation, currentAllocation);
+            }
+            if (scoreRegressed || allocationRegressed) {
+                System.out.print("  REGRESSED");
+                regressions++;
+            }
+            System.out.println();
+        }
+
+        for (final String key : baseline.keySet()) {
+            if (!results.containsKey(key)) {
+                System.out.printf("%-100s  (not run)%n", key);
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed beyond %.1f%%.%n", regressions, threshold * 100.0);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads JMH results in JSON, keyed by the benchmark name with its parameters.
+     */
+    private static Map<String, JsonNode> readResults(final File file) throws IOException {
+        final JsonNode root = new ObjectMapper().readTree(file);
+        final LinkedHashMap<String, JsonNode> results = new LinkedHashMap<>();
+        for (final JsonNode result : root) {
+            final StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            final JsonNode params = result.path("params");
+            if (params.isObject()) {
+                key.append(" {");
+                for (final Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    final Map.Entry<String, JsonNode> param = it.next();
+                    key.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (it.hasNext()) {
+                        key.append(", ");
+                    }
+                }
+                key.append('}');
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    /**
+     * Returns bytes allocated per operation reported by {@code -prof gc}, or {@code NaN} if not profiled.
+     */
+    private static double allocationPerOperation(final JsonNode result) {
+        final JsonNode secondaryMetrics = result.path("secondaryMetrics");
+        for (final Iterator<Map.Entry<String, JsonNode>> it = secondaryMetrics.fields(); it.hasNext(); ) {
+            final Map.Entry<String, JsonNode> metric = it.next();
+            // Older JMH prefixes "·" to the names of secondary metrics.
+            if (metric.getKey().replace("·", "").equals("gc.alloc.rate.norm")) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static double change(final double base, final double current) {
+        if (base == 0.0) {
+            return (current == 0.0) ? 0.0 : Double.POSITIVE_INFINITY;
+        }
+        return (current - base) / base;
+    }
+}
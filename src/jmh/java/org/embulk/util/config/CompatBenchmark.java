@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.embulk.config.DataSource;
+import org.embulk.util.config.rebuild.ObjectNodeRebuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Compat} conversions from a {@code DataSource} of older Embulk, which implements {@code toJson}, but does not
+ * implement {@code toMap}, like Embulk v0.10.3 to v0.10.40.
+ *
+ * <p>The fallback to {@code getObjectNode} for Embulk v0.10.2 or earlier is available only for embulk-core's own
+ * {@code org.embulk.config.DataSourceImpl}. The rebuild through {@code getObjectNode} is measured with
+ * {@link ObjectNodeRebuilder} directly instead, for a wide {@code ObjectNode}, and for a deeply nested one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CompatBenchmark {
+    @Setup
+    public void setup() {
+        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectNode data = mapper.createObjectNode();
+        data.put("type", "file");
+        data.put("path_prefix", "/tmp/input");
+        data.putObject("parser").put("type", "csv").put("delimiter", ",");
+        data.putArray("columns").addObject().put("name", "id").put("type", "long");
+        this.oldCoreDataSource = withToJsonOnly(data, mapper);
+
+        this.mapper = mapper;
+        this.wideObjectNode = mapper.createObjectNode();
+        for (int i = 0; i < 1000; i++) {
+            this.wideObjectNode.putObject("column" + i).put("name", "column" + i).put("type", "string").put("index", i);
+        }
+        this.deeplyNestedObjectNode = mapper.createObjectNode();
+        ObjectNode nested = this.deeplyNestedObjectNode;
+        for (int i = 0; i < 1000; i++) {
+            nested.put("level", i);
+            nested = nested.putObject("child");
+        }
+    }
+
+    @Benchmark
+    public ObjectNode rebuildObjectNodeOldCore() throws IOException {
+        return Compat.rebuildObjectNode(this.oldCoreDataSource);
+    }
+
+    @Benchmark
+    public String toJsonOldCore() throws IOException {
+        return Compat.toJson(this.oldCoreDataSource);
+    }
+
+    @Benchmark
+    public Map<String, Object> toMapOldCore() throws IOException {
+        return Compat.toMap(this.oldCoreDataSource);
+    }
+
+    @Benchmark
+    public ObjectNode rebuildWide() {
+        return ObjectNodeRebuilder.rebuild(this.wideObjectNode, this.mapper);
+    }
+
+    @Benchmark
+    public ObjectNode rebuildDeeplyNested() {
+        return ObjectNodeRebuilder.rebuild(this.deeplyNestedObjectNode, this.mapper);
+    }
+
+    /**
+     * Creates another implementation of DataSource, which is converted only through DataSource#toJson.
+     */
+    private static DataSource withToJsonOnly(final ObjectNode data, final ObjectMapper mapper) {
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(),
+                new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    if ("toJson".equals(method.getName())) {
+                        return mapper.writeValueAsString(data);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private DataSource oldCoreDataSource;
+    private ObjectMapper mapper;
+    private ObjectNode wideObjectNode;
+    private ObjectNode deeplyNestedObjectNode;
+}
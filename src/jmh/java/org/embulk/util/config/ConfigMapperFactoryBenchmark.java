@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.embulk.config.ConfigDiff;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskReport;
+import org.embulk.config.TaskSource;
+import org.embulk.util.config.modules.CharsetModule;
+import org.embulk.util.config.modules.ColumnModule;
+import org.embulk.util.config.modules.LocalFileModule;
+import org.embulk.util.config.modules.SchemaModule;
+import org.embulk.util.config.modules.TypeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ConfigMapperFactory} sharing its {@link com.fasterxml.jackson.databind.ObjectMapper}s with building a new
+ * {@link com.fasterxml.jackson.databind.ObjectMapper} on every call, which {@link ConfigMapperFactory} did until v0.5.0.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ConfigMapperFactoryBenchmark {
+    public interface BenchmarkTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("count")
+        @ConfigDefault("10")
+        int getCount();
+
+        @Config("options")
+        @ConfigDefault("{}")
+        Map<String, String> getOptions();
+    }
+
+    /**
+     * A wide task, of which a plugin reads only a few fields in a run, for example, options only for one of modes.
+     */
+    public interface WideTask extends Task {
+        @Config("mode")
+        String getMode();
+
+        @Config("columns_a")
+        @ConfigDefault("[]")
+        List<Map<String, String>> getColumnsA();
+
+        @Config("columns_b")
+        @ConfigDefault("[]")
+        List<Map<String, String>> getColumnsB();
+
+        @Config("columns_c")
+        @ConfigDefault("[]")
+        List<Map<String, String>> getColumnsC();
+
+        @Config("columns_d")
+        @ConfigDefault("[]")
+        List<Map<String, String>> getColumnsD();
+    }
+
+    @Setup
+    public void setup() {
+        this.factory = ConfigMapperFactory.withDefault();
+        this.lazyFactory = ConfigMapperFactory.builder().addDefaultModules().withLazyTaskFields().build();
+        this.listenedFactory = ConfigMapperFactory.builder().addDefaultModules().addListener(new MappingListener() {}).build();
+
+        // The same Modules as ConfigMapperFactory.Builder#addDefaultModules, which are instantiated once as the Builder does.
+        this.defaultModules = Arrays.asList(
+                new ColumnModule(),
+                new SchemaModule(),
+                new TypeModule(),
+                new CharsetModule(),
+                new LocalFileModule(),
+                new Jdk8Module());
+
+        final ConfigSource config = this.factory.newConfigSource();
+        config.set("name", "benchmark");
+        config.set("count", 42);
+        this.taskSource = this.factory.createConfigMapper().map(config, BenchmarkTask.class).toTaskSource();
+
+        final ConfigSource wideConfig = this.factory.newConfigSource();
+        wideConfig.set("mode", "a");
+        final List<Map<String, String>> columns = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Map<String, String> column = new LinkedHashMap<>();
+            column.put("name", "column" + i);
+            column.put("type", "string");
+            columns.add(column);
+        }
+        for (final String key : Arrays.asList("columns_a", "columns_b", "columns_c", "columns_d")) {
+            wideConfig.set(key, columns);
+        }
+        this.wideTaskSource = this.factory.createConfigMapper().map(wideConfig, WideTask.class).toTaskSource();
+        this.wideConfig = wideConfig;
+        this.wideTask = this.factory.createConfigMapper().map(wideConfig, WideTask.class);
+        this.modeDiff = this.factory.newConfigDiff().set("mode", "b");
+    }
+
+    @Benchmark
+    public TaskReport newTaskReportShared() {
+        return this.factory.newTaskReport();
+    }
+
+    @Benchmark
+    public TaskReport newTaskReportPerCall() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        for (final Module module : this.defaultModules) {
+            objectMapper.registerModule(module);
+        }
+        final ObjectReaderCache readers = new ObjectReaderCache(objectMapper);
+        objectMapper.registerModule(new DataSourceModule(objectMapper, readers));
+        return (TaskReport) new DataSourceImpl(objectMapper.createObjectNode(), objectMapper, readers);
+    }
+
+    @Benchmark
+    public BenchmarkTask mapTaskShared() {
+        return this.factory.createTaskMapper().map(this.taskSource, BenchmarkTask.class);
+    }
+
+    /**
+     * Maps with a {@link MappingListener} doing nothing, to compare with {@link #mapTaskShared()} for the cost of measuring.
+     */
+    @Benchmark
+    public BenchmarkTask mapTaskWithListener() {
+        return this.listenedFactory.createTaskMapper().map(this.taskSource, BenchmarkTask.class);
+    }
+
+    @Benchmark
+    public BenchmarkTask mapTaskPerCall() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        for (final Module module : this.defaultModules) {
+            objectMapper.registerModule(module);
+        }
+        objectMapper.registerModule(new ConfigTaskSerializerModule(objectMapper));
+        objectMapper.registerModule(new TaskDeserializerModule(objectMapper, new ObjectReaderCache(objectMapper), null, false, false, null));
+        objectMapper.registerModule(new DataSourceModule(objectMapper, new ObjectReaderCache(objectMapper)));
+        return new TaskMapper(objectMapper, null, null).map(this.taskSource, BenchmarkTask.class);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> mapWideTaskEagerly() {
+        return this.factory.createTaskMapper().map(this.wideTaskSource, WideTask.class).getColumnsA();
+    }
+
+    @Benchmark
+    public List<Map<String, String>> mapWideTaskLazily() {
+        return this.lazyFactory.createTaskMapper().map(this.wideTaskSource, WideTask.class).getColumnsA();
+    }
+
+    /**
+     * Maps a whole config again with a small diff, as a resumed transaction does without {@code ConfigMapper#remap}.
+     */
+    @Benchmark
+    public WideTask mapWithDiffAgain() {
+        return this.factory.createConfigMapper().map(this.wideConfig.deepCopy().merge(this.modeDiff), WideTask.class);
+    }
+
+    @Benchmark
+    public WideTask remapWithDiff() {
+        return this.factory.createConfigMapper().remap(this.wideTask, this.modeDiff, WideTask.class);
+    }
+
+    private ConfigMapperFactory factory;
+    private ConfigMapperFactory lazyFactory;
+    private ConfigMapperFactory listenedFactory;
+    private List<Module> defaultModules;
+    private TaskSource taskSource;
+    private TaskSource wideTaskSource;
+    private ConfigSource wideConfig;
+    private WideTask wideTask;
+    private ConfigDiff modeDiff;
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.embulk.config.ConfigDiff;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.DataSource;
+import org.embulk.config.TaskReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures merging task reports into a {@code ConfigDiff}, as the executor does for every task, copying, and reading attributes.
+ *
+ * <p>Task reports of {@link DataSourceImpl} are merged directly by their {@code ObjectNode}s. Task reports of another
+ * {@code DataSource} implementation, for example, from another class loader, are merged through stringified JSONs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DataSourceImplBenchmark {
+    @Param({"10000"})
+    public int numberOfTaskReports;
+
+    @Setup
+    public void setup() {
+        this.factory = ConfigMapperFactory.withDefault();
+        this.binaryFactory = ConfigMapperFactory.builder().addDefaultModules().withDataSourceCodec(DataSourceCodec.COMPACT_BINARY).build();
+        this.taskReports = new ArrayList<>();
+        this.foreignTaskReports = new ArrayList<>();
+        for (int i = 0; i < this.numberOfTaskReports; i++) {
+            final TaskReport taskReport = this.factory.newTaskReport();
+            taskReport.set("last_path", "/tmp/input/file" + i + ".csv");
+            taskReport.set("records", 1000L * i);
+            taskReport.getNestedOrSetEmpty("incremental").set("last_record", i);
+            this.taskReports.add(taskReport);
+            this.foreignTaskReports.add(throughJson(taskReport));
+        }
+
+        this.config = this.factory.newConfigSource();
+        this.config.set("path_prefix", "/tmp/input");
+        this.config.set("max_records", 1000000L);
+        this.config.set("columns", Arrays.asList("id", "name", "created_at"));
+
+        // About 5 MB in JSON.
+        this.largeConfig = this.factory.newConfigSource();
+        this.largeConfig.set("path_prefix", "/tmp/input");
+        final ArrayList<Map<String, Object>> columns = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            final LinkedHashMap<String, Object> column = new LinkedHashMap<>();
+            column.put("name", "column_with_a_long_descriptive_name_" + i);
+            column.put("type", "timestamp");
+            column.put("format", "%Y-%m-%d %H:%M:%S.%N %z");
+            columns.add(column);
+        }
+        this.largeConfig.set("columns", columns);
+        this.buffer = ByteBuffer.allocate(this.largeConfig.toJson().getBytes(StandardCharsets.UTF_8).length);
+
+        this.columnConfig = this.factory.newConfigSource();
+        this.columnConfig.set("name", "created_at");
+        this.columnConfig.set("type", "timestamp");
+        this.columnConfig.set("format", "%Y-%m-%d %H:%M:%S");
+        this.columnConfig.set("timezone", "UTC");
+        final ConfigSource options = this.factory.newConfigSource();
+        options.set("nullable", true);
+        this.columnConfig.setNested("options", options);
+    }
+
+    /**
+     * Reads a key from a large config through {@code toMap}.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object toMapOfLargeConfig() {
+        return this.largeConfig.toMap().get("path_prefix");
+    }
+
+    /**
+     * Serializes a large config into bytes through {@code toJson} as a {@code String}.
+     */
+    @Benchmark
+    public byte[] toJsonOfLargeConfig() {
+        return this.largeConfig.toJson().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Serializes a large config into a reused {@code ByteBuffer} without an intermediate {@code String}.
+     */
+    @Benchmark
+    public ByteBuffer writeJsonOfLargeConfig() {
+        this.buffer.clear();
+        ((DataSourceImpl) this.largeConfig).writeJson(this.buffer);
+        return this.buffer;
+    }
+
+    @Benchmark
+    public byte[] encodeLargeConfigAsJson() {
+        return this.factory.encode(this.largeConfig);
+    }
+
+    @Benchmark
+    public byte[] encodeLargeConfigAsCompactBinary() {
+        return this.binaryFactory.encode(this.largeConfig);
+    }
+
+    /**
+     * Copies a column config as {@code ColumnConfig} does in its constructor and in {@code getConfigSource}.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ConfigSource copyColumnConfig() {
+        final ConfigSource option = this.columnConfig.deepCopy();
+        option.remove("name");
+        option.remove("type");
+        final ConfigSource config = option.deepCopy();
+        config.set("name", "created_at");
+        config.set("type", "timestamp");
+        return config;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String getString() {
+        return this.config.get(String.class, "path_prefix");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long getLong() {
+        return this.config.get(long.class, "max_records");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public List<String> getListOfStrings() {
+        return this.config.getListOf(String.class, "columns");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ConfigSource setString() {
+        return this.config.set("path_prefix", "/tmp/input");
+    }
+
+    @Benchmark
+    public ConfigDiff mergeTaskReports() {
+        final ConfigDiff configDiff = this.factory.newConfigDiff();
+        for (final DataSource taskReport : this.taskReports) {
+            configDiff.merge(taskReport);
+        }
+        return configDiff;
+    }
+
+    @Benchmark
+    public ConfigDiff mergeTaskReportsThroughJson() {
+        final ConfigDiff configDiff = this.factory.newConfigDiff();
+        for (final DataSource taskReport : this.foreignTaskReports) {
+            configDiff.merge(taskReport);
+        }
+        return configDiff;
+    }
+
+    /**
+     * Wraps a {@code DataSource} into another implementation which is converted only through {@code DataSource#toJson}.
+     */
+    private static DataSource throughJson(final DataSource source) {
+        final String json = source.toJson();
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(),
+                new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    if ("toJson".equals(method.getName())) {
+                        return json;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private ConfigMapperFactory factory;
+    private ConfigMapperFactory binaryFactory;
+    private List<DataSource> taskReports;
+    private List<DataSource> foreignTaskReports;
+    private ConfigSource config;
+    private ConfigSource columnConfig;
+    private ConfigSource largeConfig;
+    private ByteBuffer buffer;
+}
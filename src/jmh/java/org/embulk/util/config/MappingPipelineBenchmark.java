@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskSource;
+import org.embulk.util.config.units.LocalFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the whole mapping pipeline of {@link ConfigMapper#map} and {@link TaskMapper#map} over fixtures like real plugins.
+ *
+ * <ul>
+ * <li>{@code small}: a few scalar fields, most of them from {@code @ConfigDefault}, like a simple filter plugin.
+ * <li>{@code wide}: a schema of 500 columns, each mapped into a nested task, like a CSV parser plugin.
+ * <li>{@code nested}: tasks nested 50 levels deep.
+ * <li>{@code localFile}: a {@link LocalFile} of 1 MB content, which is base64-encoded in its {@code TaskSource}.
+ * </ul>
+ *
+ * <p>Run it with {@code -PjmhProfilers=gc} to see allocation rates as well.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MappingPipelineBenchmark {
+    public interface SmallTask extends Task {
+        @Config("type")
+        String getType();
+
+        @Config("path_prefix")
+        String getPathPrefix();
+
+        @Config("max_records")
+        @ConfigDefault("1000")
+        long getMaxRecords();
+
+        @Config("stop_on_invalid_record")
+        @ConfigDefault("false")
+        boolean getStopOnInvalidRecord();
+
+        @Config("comment")
+        @ConfigDefault("null")
+        Optional<String> getComment();
+    }
+
+    public interface WideSchemaTask extends Task {
+        @Config("columns")
+        List<ColumnTask> getColumns();
+
+        @Config("default_timezone")
+        @ConfigDefault("\"UTC\"")
+        String getDefaultTimezone();
+    }
+
+    public interface ColumnTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("type")
+        String getType();
+
+        @Config("format")
+        @ConfigDefault("null")
+        Optional<String> getFormat();
+
+        @Config("timezone")
+        @ConfigDefault("null")
+        Optional<String> getTimezone();
+    }
+
+    public interface NestedTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("child")
+        @ConfigDefault("null")
+        Optional<NestedTask> getChild();
+    }
+
+    public interface LocalFileTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("file")
+        LocalFile getFile();
+    }
+
+    @Param({"small", "wide", "nested", "localFile"})
+    public String fixture;
+
+    @Setup
+    public void setup() {
+        this.factory = ConfigMapperFactory.withDefault();
+        this.config = this.factory.newConfigSource();
+
+        switch (this.fixture) {
+            case "small":
+                this.taskType = SmallTask.class;
+                this.config.set("type", "file");
+                this.config.set("path_prefix", "/tmp/input");
+                break;
+
+            case "wide":
+                this.taskType = WideSchemaTask.class;
+                final List<Map<String, Object>> columns = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    final Map<String, Object> column = new LinkedHashMap<>();
+                    column.put("name", "column" + i);
+                    column.put("type", (i % 3 == 0) ? "timestamp" : "string");
+                    if (i % 3 == 0) {
+                        column.put("format", "%Y-%m-%d %H:%M:%S");
+                    }
+                    columns.add(column);
+                }
+                this.config.set("columns", columns);
+                break;
+
+            case "nested":
+                this.taskType = NestedTask.class;
+                ConfigSource nested = this.factory.newConfigSource().set("name", "leaf");
+                for (int i = 49; i >= 0; i--) {
+                    nested = this.factory.newConfigSource().set("name", "level" + i).setNested("child", nested);
+                }
+                this.config = nested;
+                break;
+
+            case "localFile":
+                this.taskType = LocalFileTask.class;
+                final StringBuilder content = new StringBuilder();
+                while (content.length() < 1024 * 1024) {
+                    content.append("id,name,created_at\n1,embulk,2026-01-01 00:00:00\n");
+                }
+                this.config.set("name", "local");
+                this.config.setNested("file", this.factory.newConfigSource().set("content", content.toString()));
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown fixture: " + this.fixture);
+        }
+
+        this.taskSource = this.factory.createConfigMapper().map(this.config, this.taskType).toTaskSource();
+    }
+
+    @Benchmark
+    public Task mapConfig() {
+        return this.factory.createConfigMapper().map(this.config, this.taskType);
+    }
+
+    @Benchmark
+    public Task mapTask() {
+        return this.factory.createTaskMapper().map(this.taskSource, this.taskType);
+    }
+
+    /**
+     * Maps a config, and dumps it into a {@code TaskSource}, as a plugin does in its {@code transaction}.
+     */
+    @Benchmark
+    public TaskSource mapConfigAndDump() {
+        return this.factory.createConfigMapper().map(this.config, this.taskType).toTaskSource();
+    }
+
+    private ConfigMapperFactory factory;
+    private Class<? extends Task> taskType;
+    private ConfigSource config;
+    private TaskSource taskSource;
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskSource;
+import org.embulk.util.config.modules.ZoneIdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures time to the first {@code map()} in a fresh JVM, as a short-lived Embulk job loads a plugin and maps its task
+ * just once.
+ *
+ * <p>Every measurement is the only one in its own fork without warming up, so that it includes loading and initializing
+ * classes of this library and Jackson. The benchmark has no state not to load any of them before a measurement.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(20)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StartupBenchmark {
+    public interface StartupTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("count")
+        @ConfigDefault("10")
+        int getCount();
+
+        @Config("tags")
+        @ConfigDefault("[]")
+        List<String> getTags();
+    }
+
+    public interface ZonedTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("default_timezone")
+        @ConfigDefault("\"UTC\"")
+        ZoneId getDefaultTimeZone();
+    }
+
+    /**
+     * Maps a config on a {@link ConfigMapperFactory} with the default modules, as a plugin does in its transaction.
+     */
+    @Benchmark
+    public StartupTask firstMapConfig() {
+        final ConfigMapperFactory factory = ConfigMapperFactory.withDefault();
+        final ConfigSource config = factory.newConfigSource().set("name", "startup").set("tags", Arrays.asList("a", "b"));
+        return factory.createConfigMapper().map(config, StartupTask.class);
+    }
+
+    /**
+     * Maps a config, and then maps its task again, as a plugin does in its transaction and its run in the same JVM.
+     */
+    @Benchmark
+    public StartupTask firstMapTask() {
+        final ConfigMapperFactory factory = ConfigMapperFactory.withDefault();
+        final ConfigSource config = factory.newConfigSource().set("name", "startup").set("tags", Arrays.asList("a", "b"));
+        final TaskSource taskSource = factory.createConfigMapper().map(config, StartupTask.class).toTaskSource();
+        return factory.createTaskMapper().map(taskSource, StartupTask.class);
+    }
+
+    /**
+     * Maps a config with a tzdb time zone name, which does not need tables of legacy time zone names.
+     */
+    @Benchmark
+    public ZonedTask firstMapWithZoneId() {
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder().addDefaultModules().addModule(new ZoneIdModule()).build();
+        final ConfigSource config = factory.newConfigSource().set("name", "startup").set("default_timezone", "Asia/Tokyo");
+        return factory.createConfigMapper().map(config, ZonedTask.class);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.util.concurrent.TimeUnit;
+import org.embulk.config.ConfigSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of getters of a task implemented with {@link java.lang.reflect.Proxy}, a task of a generated class,
+ * and a hand-written class, as plugins call getters in a loop per record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TaskGetterBenchmark {
+    public interface GetterTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("count")
+        int getCount();
+    }
+
+    public static final class HandWrittenTask {
+        HandWrittenTask(final String name, final int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public int getCount() {
+            return this.count;
+        }
+
+        private final String name;
+        private final int count;
+    }
+
+    @Setup
+    public void setup() {
+        final ConfigMapperFactory proxied = ConfigMapperFactory.withDefault();
+        final ConfigMapperFactory generated = ConfigMapperFactory.builder().addDefaultModules().withGeneratedTaskClasses().build();
+
+        final ConfigSource config = proxied.newConfigSource();
+        config.set("name", "benchmark");
+        config.set("count", 42);
+
+        this.proxiedTask = proxied.createConfigMapper().map(config, GetterTask.class);
+        this.generatedTask = generated.createConfigMapper().map(config, GetterTask.class);
+        this.handWrittenTask = new HandWrittenTask("benchmark", 42);
+    }
+
+    @Benchmark
+    public int getProxied() {
+        return this.proxiedTask.getName().length() + this.proxiedTask.getCount();
+    }
+
+    @Benchmark
+    public int getGenerated() {
+        return this.generatedTask.getName().length() + this.generatedTask.getCount();
+    }
+
+    @Benchmark
+    public int getHandWritten() {
+        return this.handWrittenTask.getName().length() + this.handWrittenTask.getCount();
+    }
+
+    private GetterTask proxiedTask;
+    private GetterTask generatedTask;
+    private HandWrittenTask handWrittenTask;
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config.modules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures deserializing {@link java.time.ZoneId} by {@link ZoneIdModule}, and lookups in {@link LegacyZones}.
+ *
+ * <p>Zones are deserialized only by names without a warning so that logging is not measured. Legacy names, such as
+ * {@code "JST"}, are measured only in {@link LegacyZones} lookups, which {@link ZoneIdModule} does for names without a slash.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ZoneIdModuleBenchmark {
+    @Param({"UTC", "Asia/Tokyo", "+09:00"})
+    public String zone;
+
+    @Setup
+    public void setup() {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new ZoneIdModule());
+        this.reader = mapper.readerFor(ZoneId.class);
+        this.node = TextNode.valueOf(this.zone);
+    }
+
+    @Benchmark
+    public ZoneId deserialize() throws IOException {
+        return this.reader.readValue(this.node);
+    }
+
+    /**
+     * Parses the name only by {@link java.time.ZoneId#of(String)}, as the baseline of {@link #deserialize()}.
+     */
+    @Benchmark
+    public ZoneId zoneIdOf() {
+        return ZoneId.of(this.zone);
+    }
+
+    @Benchmark
+    public Optional<String> getSuggestion() {
+        return LegacyZones.getSuggestion(this.zone);
+    }
+
+    @Benchmark
+    public Optional<ZoneId> getAlternative() {
+        return LegacyZones.getAlternative(this.zone);
+    }
+
+    @Benchmark
+    public Optional<String> getSuggestionOfLegacyName() {
+        return LegacyZones.getSuggestion("JST");
+    }
+
+    @Benchmark
+    public Optional<ZoneId> getAlternativeOfLegacyName() {
+        return LegacyZones.getAlternative("JST");
+    }
+
+    private ObjectReader reader;
+    private TextNode node;
+}
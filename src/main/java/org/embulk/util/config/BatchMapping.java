@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Maps many sources into tasks for {@code mapAll} of {@link ConfigMapper} and {@link TaskMapper}.
+ *
+ * <p>Every source is mapped even after a source fails so that failures are reported per source at once by
+ * {@link TaskMappingException}. The mapped tasks are returned in the order of their sources.
+ */
+final class BatchMapping {
+    private BatchMapping() {
+        // No instantiation.
+    }
+
+    /**
+     * Maps sources one by one in the calling thread.
+     */
+    static <S, T> List<T> mapAll(final List<? extends S> sources, final Function<? super S, ? extends T> mapOne, final Class<?> taskType) {
+        final Results<T> results = new Results<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            results.map(i, sources.get(i), mapOne);
+        }
+        return results.get(taskType);
+    }
+
+    /**
+     * Maps sources in chunks run by the {@link java.util.concurrent.Executor}.
+     *
+     * <p>Sources are split into a few chunks per processor so that a chunk amortizes scheduling over many sources.
+     */
+    static <S, T> List<T> mapAll(
+            final List<? extends S> sources,
+            final Function<? super S, ? extends T> mapOne,
+            final Class<?> taskType,
+            final Executor executor) {
+        final int size = sources.size();
+        final int numberOfChunks = Math.min(size, Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR);
+        if (numberOfChunks <= 1) {
+            return mapAll(sources, mapOne, taskType);
+        }
+
+        final Results<T> results = new Results<>(size);
+        final CompletableFuture<?>[] chunks = new CompletableFuture<?>[numberOfChunks];
+        for (int chunk = 0; chunk < numberOfChunks; chunk++) {
+            final int from = (int) ((long) size * chunk / numberOfChunks);
+            final int to = (int) ((long) size * (chunk + 1) / numberOfChunks);
+            chunks[chunk] = CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    results.map(i, sources.get(i), mapOne);
+                }
+            }, executor);
+        }
+        try {
+            CompletableFuture.allOf(chunks).join();
+        } catch (final CompletionException ex) {
+            // Failures in mapping are caught per source. Only an Error, or an unexpected failure in the Executor, reaches here.
+            final Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw ex;
+        }
+        return results.get(taskType);
+    }
+
+    /**
+     * Maps sources from a {@link java.util.stream.Stream}, in parallel if the {@link java.util.stream.Stream} is parallel.
+     *
+     * <p>A parallel {@link java.util.stream.Stream} runs in the {@link java.util.concurrent.ForkJoinPool} where this method
+     * is called, or in the common pool.
+     */
+    static <S, T> List<T> mapAll(final Stream<? extends S> sources, final Function<? super S, ? extends T> mapOne, final Class<?> taskType) {
+        final boolean isParallel = sources.isParallel();
+        final List<? extends S> sourceList = sources.collect(Collectors.toList());
+        if (!isParallel) {
+            return mapAll(sourceList, mapOne, taskType);
+        }
+
+        final Results<T> results = new Results<>(sourceList.size());
+        IntStream.range(0, sourceList.size()).parallel().forEach(i -> results.map(i, sourceList.get(i), mapOne));
+        return results.get(taskType);
+    }
+
+    private static final class Results<T> {
+        Results(final int size) {
+            this.tasks = new Object[size];
+            this.failures = new ConcurrentHashMap<>();
+        }
+
+        <S> void map(final int index, final S source, final Function<? super S, ? extends T> mapOne) {
+            try {
+                this.tasks[index] = mapOne.apply(source);
+            } catch (final RuntimeException ex) {
+                this.failures.put(index, ex);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> get(final Class<?> taskType) {
+            if (!this.failures.isEmpty()) {
+                throw new TaskMappingException(taskType, this.tasks.length, this.failures);
+            }
+            return Collections.unmodifiableList((List<T>) Arrays.asList(this.tasks));
+        }
+
+        private final Object[] tasks;
+        private final Map<Integer, RuntimeException> failures;
+    }
+
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.embulk.config.ConfigException;
+
+/**
+ * Encodes a JSON tree of {@code DataSource} into {@link DataSourceCodec#COMPACT_BINARY}, and decodes it.
+ *
+ * <p>The encoded bytes start with a magic byte and a format version, followed by the root object. Each value starts with
+ * a one-byte tag. Integers that fit in {@code long}, lengths, and counts are encoded in variable-length (LEB128, and
+ * zigzag for signed integers). A key of an object is encoded only at its first appearance, and referred by its index
+ * after that.
+ *
+ * <p>The decoded tree is the same as its JSON form would be read by {@link com.fasterxml.jackson.databind.ObjectMapper#readTree}.
+ * For example, a {@code ShortNode} is decoded into an {@code IntNode}. Rare values, such as {@code float},
+ * {@code BigDecimal}, and non-finite {@code double}, are embedded as their JSON text so that they are read just as in JSON.
+ * A binary value is encoded as raw bytes, but decoded into a {@code TextNode} of its Base64 string as in JSON, so that a
+ * {@code DataSource} decoded from either form is equal to the other.
+ *
+ * <p>It encodes and decodes without recursion in the same way as {@link JsonNodes}.
+ */
+final class CompactBinaryCodec {
+    private CompactBinaryCodec() {
+        // No instantiation.
+    }
+
+    static boolean isCompactBinary(final byte[] bytes) {
+        // A JSON text never starts with 0xEB, even with a byte order mark.
+        return bytes.length > 0 && bytes[0] == MAGIC;
+    }
+
+    static byte[] encode(final ObjectNode object, final ObjectMapper mapper, final int maximumDepth) {
+        final Output out = new Output();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+
+        final HashMap<String, Integer> keys = new HashMap<>();
+        final ArrayDeque<EncodeFrame> stack = new ArrayDeque<>();
+        encodeValue(object, out, mapper, stack, maximumDepth);
+        while (!stack.isEmpty()) {
+            final EncodeFrame frame = stack.peek();
+            if (frame.fields != null) {
+                if (!frame.fields.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                final Map.Entry<String, JsonNode> field = frame.fields.next();
+                encodeKey(field.getKey(), out, keys);
+                encodeValue(field.getValue(), out, mapper, stack, maximumDepth);
+            } else {
+                if (!frame.elements.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                encodeValue(frame.elements.next(), out, mapper, stack, maximumDepth);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static ObjectNode decode(final byte[] bytes, final ObjectMapper mapper, final int maximumDepth) {
+        final Input in = new Input(bytes);
+        if (in.readByte() != (MAGIC & 0xff)) {
+            throw invalid("it does not start with the magic byte.");
+        }
+        final int version = in.readByte();
+        if (version != VERSION) {
+            throw invalid("unsupported format version " + version + ".");
+        }
+
+        final JsonNodeFactory nodeFactory = mapper.getNodeFactory();
+        final ArrayList<String> keys = new ArrayList<>();
+        final ArrayDeque<DecodeFrame> stack = new ArrayDeque<>();
+        final JsonNode root = decodeValue(in, mapper, nodeFactory, stack, maximumDepth);
+        if (!root.isObject()) {
+            throw invalid("the root is not an object.");
+        }
+        while (!stack.isEmpty()) {
+            final DecodeFrame frame = stack.peek();
+            if (frame.remaining == 0) {
+                stack.pop();
+                continue;
+            }
+            frame.remaining--;
+            if (frame.object != null) {
+                final String key = decodeKey(in, keys);
+                frame.object.set(key, decodeValue(in, mapper, nodeFactory, stack, maximumDepth));
+            } else {
+                frame.array.add(decodeValue(in, mapper, nodeFactory, stack, maximumDepth));
+            }
+        }
+        if (in.remaining() > 0) {
+            throw invalid(in.remaining() + " trailing bytes.");
+        }
+        return (ObjectNode) root;
+    }
+
+    private static void encodeKey(final String key, final Output out, final HashMap<String, Integer> keys) {
+        final Integer index = keys.get(key);
+        if (index != null) {
+            out.writeVarLong(index + 1);
+            return;
+        }
+        out.writeVarLong(0);
+        out.writeString(key);
+        keys.put(key, keys.size());
+    }
+
+    private static void encodeValue(
+            final JsonNode node,
+            final Output out,
+            final ObjectMapper mapper,
+            final ArrayDeque<EncodeFrame> stack,
+            final int maximumDepth) {
+        switch (node.getNodeType()) {
+            case OBJECT:
+                out.writeByte(TAG_OBJECT);
+                out.writeVarLong(node.size());
+                if (node.size() > 0) {
+                    push(stack, new EncodeFrame(node.fields(), null), maximumDepth);
+                }
+                return;
+            case ARRAY:
+                out.writeByte(TAG_ARRAY);
+                out.writeVarLong(node.size());
+                if (node.size() > 0) {
+                    push(stack, new EncodeFrame(null, node.elements()), maximumDepth);
+                }
+                return;
+            case STRING:
+                out.writeByte(TAG_STRING);
+                out.writeString(node.textValue());
+                return;
+            case BOOLEAN:
+                out.writeByte(node.booleanValue() ? TAG_TRUE : TAG_FALSE);
+                return;
+            case NULL:
+                out.writeByte(TAG_NULL);
+                return;
+            case BINARY:
+                if (node instanceof BinaryNode) {
+                    final byte[] binary = ((BinaryNode) node).binaryValue();
+                    out.writeByte(TAG_BINARY);
+                    out.writeVarLong(binary.length);
+                    out.writeBytes(binary);
+                    return;
+                }
+                break;
+            case NUMBER:
+                if (node.isIntegralNumber() && node.canConvertToLong()) {
+                    final long value = node.longValue();
+                    out.writeByte(TAG_INTEGER);
+                    out.writeVarLong((value << 1) ^ (value >> 63));
+                    return;
+                }
+                if (node.isBigInteger()) {
+                    final byte[] twosComplement = node.bigIntegerValue().toByteArray();
+                    out.writeByte(TAG_BIG_INTEGER);
+                    out.writeVarLong(twosComplement.length);
+                    out.writeBytes(twosComplement);
+                    return;
+                }
+                if (node.isDouble() && Double.isFinite(node.doubleValue())) {
+                    out.writeByte(TAG_DOUBLE);
+                    out.writeLong(Double.doubleToRawLongBits(node.doubleValue()));
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+
+        // Any other value is embedded as its JSON text so that it is decoded just as its JSON form is read.
+        final String jsonText;
+        try {
+            jsonText = mapper.writeValueAsString(node);
+        } catch (final JsonProcessingException ex) {
+            throw new ConfigException("Unexpected failure in stringifying DataSource as JSON.", ex);
+        }
+        out.writeByte(TAG_JSON_TEXT);
+        out.writeString(jsonText);
+    }
+
+    private static String decodeKey(final Input in, final ArrayList<String> keys) {
+        final long reference = in.readVarLong();
+        if (reference == 0) {
+            final String key = in.readString();
+            keys.add(key);
+            return key;
+        }
+        if (reference > keys.size()) {
+            throw invalid("unknown key reference " + reference + ".");
+        }
+        return keys.get((int) reference - 1);
+    }
+
+    private static JsonNode decodeValue(
+            final Input in,
+            final ObjectMapper mapper,
+            final JsonNodeFactory nodeFactory,
+            final ArrayDeque<DecodeFrame> stack,
+            final int maximumDepth) {
+        final int tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return nodeFactory.nullNode();
+            case TAG_FALSE:
+                return nodeFactory.booleanNode(false);
+            case TAG_TRUE:
+                return nodeFactory.booleanNode(true);
+            case TAG_INTEGER: {
+                final long zigzag = in.readVarLong();
+                final long value = (zigzag >>> 1) ^ -(zigzag & 1);
+                if (value == (int) value) {
+                    return nodeFactory.numberNode((int) value);
+                }
+                return nodeFactory.numberNode(value);
+            }
+            case TAG_BIG_INTEGER: {
+                final int length = in.readLength();
+                if (length == 0) {
+                    throw invalid("empty big integer.");
+                }
+                return nodeFactory.numberNode(new BigInteger(in.readBytes(length)));
+            }
+            case TAG_DOUBLE:
+                return nodeFactory.numberNode(Double.longBitsToDouble(in.readLong()));
+            case TAG_STRING:
+                return nodeFactory.textNode(in.readString());
+            case TAG_BINARY:
+                // Decoded into the same Base64 string as ObjectMapper#readTree reads from its JSON form, not into BinaryNode.
+                return nodeFactory.textNode(mapper.getSerializationConfig().getBase64Variant().encode(in.readBytes(in.readLength())));
+            case TAG_ARRAY: {
+                final ArrayNode array = nodeFactory.arrayNode();
+                final int size = in.readLength();
+                if (size > 0) {
+                    push(stack, new DecodeFrame(null, array, size), maximumDepth);
+                }
+                return array;
+            }
+            case TAG_OBJECT: {
+                final ObjectNode object = nodeFactory.objectNode();
+                final int size = in.readLength();
+                if (size > 0) {
+                    push(stack, new DecodeFrame(object, null, size), maximumDepth);
+                }
+                return object;
+            }
+            case TAG_JSON_TEXT:
+                try {
+                    return mapper.readTree(in.readString());
+                } catch (final JsonProcessingException ex) {
+                    throw new ConfigException("Invalid compact binary DataSource: malformed embedded JSON.", ex);
+                }
+            default:
+                throw invalid("unknown tag " + tag + ".");
+        }
+    }
+
+    private static <T> void push(final ArrayDeque<T> stack, final T frame, final int maximumDepth) {
+        if (stack.size() >= maximumDepth) {
+            throw new ConfigException("JSON in DataSource is nested deeper than the maximum depth: " + maximumDepth);
+        }
+        stack.push(frame);
+    }
+
+    private static ConfigException invalid(final String reason) {
+        return new ConfigException("Invalid compact binary DataSource: " + reason);
+    }
+
+    private static final class EncodeFrame {
+        EncodeFrame(final Iterator<Map.Entry<String, JsonNode>> fields, final Iterator<JsonNode> elements) {
+            this.fields = fields;
+            this.elements = elements;
+        }
+
+        private final Iterator<Map.Entry<String, JsonNode>> fields;
+        private final Iterator<JsonNode> elements;
+    }
+
+    private static final class DecodeFrame {
+        DecodeFrame(final ObjectNode object, final ArrayNode array, final int size) {
+            this.object = object;
+            this.array = array;
+            this.remaining = size;
+        }
+
+        private final ObjectNode object;
+        private final ArrayNode array;
+        private int remaining;
+    }
+
+    private static final class Output {
+        Output() {
+            this.buffer = new byte[256];
+            this.length = 0;
+        }
+
+        void writeByte(final int b) {
+            this.ensureCapacity(1);
+            this.buffer[this.length++] = (byte) b;
+        }
+
+        void writeBytes(final byte[] bytes) {
+            this.ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, this.buffer, this.length, bytes.length);
+            this.length += bytes.length;
+        }
+
+        void writeVarLong(final long value) {
+            this.ensureCapacity(10);
+            long v = value;
+            while ((v & ~0x7fL) != 0) {
+                this.buffer[this.length++] = (byte) ((v & 0x7f) | 0x80);
+                v >>>= 7;
+            }
+            this.buffer[this.length++] = (byte) v;
+        }
+
+        void writeLong(final long value) {
+            this.ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                this.buffer[this.length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(final String value) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.writeVarLong(bytes.length);
+            this.writeBytes(bytes);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(this.buffer, this.length);
+        }
+
+        private void ensureCapacity(final int size) {
+            if (this.length + size > this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.length + size));
+            }
+        }
+
+        private byte[] buffer;
+        private int length;
+    }
+
+    private static final class Input {
+        Input(final byte[] bytes) {
+            this.bytes = bytes;
+            this.position = 0;
+        }
+
+        int remaining() {
+            return this.bytes.length - this.position;
+        }
+
+        int readByte() {
+            if (this.position >= this.bytes.length) {
+                throw invalid("unexpected end of bytes.");
+            }
+            return this.bytes[this.position++] & 0xff;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final int b = this.readByte();
+                value |= (long) (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw invalid("malformed variable-length integer.");
+        }
+
+        /**
+         * Reads a length or a count, which never exceeds the remaining bytes as every element takes one byte at least.
+         */
+        int readLength() {
+            final long length = this.readVarLong();
+            if (length < 0 || length > this.remaining()) {
+                throw invalid("length " + length + " exceeds the remaining bytes.");
+            }
+            return (int) length;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | this.readByte();
+            }
+            return value;
+        }
+
+        byte[] readBytes(final int length) {
+            final byte[] read = Arrays.copyOfRange(this.bytes, this.position, this.position + length);
+            this.position += length;
+            return read;
+        }
+
+        String readString() {
+            final int length = this.readLength();
+            final String read = new String(this.bytes, this.position, length, StandardCharsets.UTF_8);
+            this.position += length;
+            return read;
+        }
+
+        private final byte[] bytes;
+        private int position;
+    }
+
+    private static final byte MAGIC = (byte) 0xeb;
+    private static final int VERSION = 1;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_FALSE = 1;
+    private static final int TAG_TRUE = 2;
+    private static final int TAG_INTEGER = 3;
+    private static final int TAG_BIG_INTEGER = 4;
+    private static final int TAG_DOUBLE = 5;
+    private static final int TAG_STRING = 6;
+    private static final int TAG_BINARY = 7;
+    private static final int TAG_ARRAY = 8;
+    private static final int TAG_OBJECT = 9;
+    private static final int TAG_JSON_TEXT = 10;
+}
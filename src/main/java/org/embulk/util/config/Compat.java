@@ -20,11 +20,20 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Method;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
 import org.embulk.config.DataSource;
 import org.embulk.util.config.rebuild.ObjectNodeRebuilder;
 import org.slf4j.Logger;
@@ -42,12 +51,21 @@ final class Compat {
      * Rebuilds a {@link java.util.Map} representation from {@code org.embulk.config.DataSource}.
      */
     static Map<String, Object> toMap(final DataSource source) throws IOException {
+        if (source instanceof DataSourceImpl) {
+            // In case of embulk-util-config's own DataSourceImpl loaded in the same class loader.
+            //
+            // In this case, its Map view does not need to be validated.
+            return ((DataSourceImpl) source).toMap();
+        }
+
+        final Object event = FlightRecorderEvent.OBJECT_NODE_REBUILD.begin();
         final Optional<Map<String, Object>> map = callToMapIfAvailable(source);
         if (map.isPresent()) {
             // In case of newer Embulk versions since v0.10.41 -- `DataSource` has the `toMap` method.
             //
             // In this case, it uses the straightforward `toMap` method to convert into a Map.
-            return normalizeMap(map.get());
+            endRebuildEvent(event, "toMap", source, null);
+            return map.get();
         }
 
         // In case of older Embulk versions than v0.10.41 -- the `toMap` method is not defined in `DataSource`.
@@ -58,14 +76,16 @@ final class Compat {
             throw new NullPointerException("DataSource(Impl)#toJson() returned null.");
         }
 
-        final JsonNode jsonNode = SIMPLE_MAPPER.readTree(jsonString);
+        final JsonNode jsonNode = SimpleMapperHolder.SIMPLE_MAPPER.readTree(jsonString);
         if (!jsonNode.isObject()) {
             throw new ClassCastException(
                 "DataSource(Impl)#toJson() returned not a JSON object: " + jsonNode.getClass().getCanonicalName());
         }
 
         final ObjectNode jsonObjectNode = (ObjectNode) jsonNode;
-        return DataSourceImpl.nodeToMap(jsonObjectNode);
+        final Map<String, Object> converted = DataSourceImpl.nodeToMap(jsonObjectNode);
+        endRebuildEvent(event, "toJson", source, jsonString);
+        return converted;
     }
 
     /**
@@ -84,8 +104,8 @@ final class Compat {
         //
         // In this case, it exploits a hack -- it uses the `getObjectNode` method that is only in `DataSourceImpl`
         // since Embulk v0.10.2.
-        final ObjectNode objectNode = callGetObjectNodeAndRebuildIfAvailable(source, SIMPLE_MAPPER);
-        return SIMPLE_MAPPER.writeValueAsString(objectNode);  // It can throw JsonProcessingException extending IOException.
+        final ObjectNode objectNode = callGetObjectNodeAndRebuildIfAvailable(source, SimpleMapperHolder.SIMPLE_MAPPER);
+        return SimpleMapperHolder.SIMPLE_MAPPER.writeValueAsString(objectNode);  // It can throw JsonProcessingException extending IOException.
     }
 
     /**
@@ -102,12 +122,23 @@ final class Compat {
      *         getter method does not exist unexpectedly
      */
     static ObjectNode rebuildObjectNode(final DataSource source) throws IOException {
+        final Object event = FlightRecorderEvent.OBJECT_NODE_REBUILD.begin();
+        if (source instanceof DataSourceImpl) {
+            // In case of embulk-util-config's own DataSourceImpl loaded in the same class loader -- for example, a TaskSource
+            // dumped by the same plugin, or passed between plugins sharing embulk-util-config, such as input <=> parser.
+            //
+            // In this case, its ObjectNode is of the same Jackson. It does not need to go through a stringified JSON.
+            final ObjectNode copied = ((DataSourceImpl) source).getInternalObjectNode().deepCopy();
+            endRebuildEvent(event, "copy", source, null);
+            return copied;
+        }
+
         final Optional<String> jsonString = callToJsonIfAvailable(source);
         if (jsonString.isPresent()) {
             // In case of newer Embulk versions since v0.10.3 -- `DataSource` has the `toJson` method.
             //
             // In this case, it uses the straightforward `toJson` method to rebuild `JsonNode` on the plugin side.
-            final JsonNode jsonNode = SIMPLE_MAPPER.readTree(jsonString.get());
+            final JsonNode jsonNode = SimpleMapperHolder.SIMPLE_MAPPER.readTree(jsonString.get());
 
             if (jsonNode == null) {
                 throw new NullPointerException("DataSource(Impl)#toJson() returned null.");
@@ -116,6 +147,7 @@ final class Compat {
                 throw new ClassCastException(
                         "DataSource(Impl)#toJson() returned not a JSON object: " + jsonNode.getClass().getCanonicalName());
             }
+            endRebuildEvent(event, "toJson", source, jsonString.get());
             return (ObjectNode) jsonNode;
         }
 
@@ -123,35 +155,59 @@ final class Compat {
         //
         // In this case, it exploits a hack -- it uses the `getObjectNode` method that is only in `DataSourceImpl`
         // since Embulk v0.10.2.
-        return callGetObjectNodeAndRebuildIfAvailable(source, SIMPLE_MAPPER);
+        final ObjectNode rebuilt = callGetObjectNodeAndRebuildIfAvailable(source, SimpleMapperHolder.SIMPLE_MAPPER);
+        endRebuildEvent(event, "getObjectNode", source, null);
+        return rebuilt;
     }
 
-    private static Optional<Map<String, Object>> callToMapIfAvailable(final DataSource source) {
-        final Method toMap = getToMapMethod(source);
-        if (toMap == null) {
-            return Optional.empty();
+    /**
+     * Returns a JSON {@link com.fasterxml.jackson.databind.node.ObjectNode} from {@code org.embulk.config.DataSource} only to be read.
+     *
+     * <p>Unlike {@link #rebuildObjectNode(DataSource)}, it returns the internal {@link com.fasterxml.jackson.databind.node.ObjectNode}
+     * of embulk-util-config's own {@link DataSourceImpl} without copying. The caller must not modify the returned
+     * {@link com.fasterxml.jackson.databind.node.ObjectNode}, nor keep it after reading.
+     *
+     * @throws IOException  if failing in parsing a JSON from {@code DataSource#toJson}
+     * @see #rebuildObjectNode(DataSource)
+     */
+    static ObjectNode readObjectNode(final DataSource source) throws IOException {
+        if (source instanceof DataSourceImpl) {
+            return ((DataSourceImpl) source).getInternalObjectNode();
         }
+        return rebuildObjectNode(source);
+    }
 
-        final Object mapObject;
-        try {
-            mapObject = toMap.invoke(source);
-        } catch (final InvocationTargetException ex) {
-            final Throwable targetException = ex.getTargetException();
-            if (targetException instanceof UnsupportedOperationException) {
-                // If the plugin's embulk-util-config does not implement toMap, it cannot retrieve a map.
-                return Optional.empty();
-            }
-            if (targetException instanceof RuntimeException) {
-                throw (RuntimeException) targetException;
-            }
-            if (targetException instanceof Error) {
-                throw (Error) targetException;
+    /**
+     * Ends a JFR event of rebuilding, with the size of {@code jsonString} in UTF-8 if it is through a stringified JSON.
+     */
+    private static void endRebuildEvent(final Object event, final String path, final DataSource source, final String jsonString) {
+        if (FlightRecorderEvent.OBJECT_NODE_REBUILD.end(event)) {
+            FlightRecorderEvent.OBJECT_NODE_REBUILD.commit(
+                    event, path, source.getClass().getName(), (jsonString == null) ? -1L : utf8Length(jsonString));
+        }
+    }
+
+    private static long utf8Length(final String string) {
+        long length = 0L;
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                length += 2;  // 4 bytes for a pair of surrogates.
+            } else {
+                length += 3;
             }
-            throw new IllegalStateException("DataSource(Impl)#toMap() threw unexpected Exception.", targetException);
-        } catch (final IllegalAccessException ex) {
-            logger.debug("DataSource(Impl)#toMap is not accessible unexpectedly. DataSource: {}, toMap: {}, ",
-                         source.getClass(), toMap);
-            throw new IllegalStateException("DataSource(Impl)#toMap() is not accessible.", ex);
+        }
+        return length;
+    }
+
+    private static Optional<Map<String, Object>> callToMapIfAvailable(final DataSource source) {
+        final Object mapObject = conversionsOf(source.getClass()).toMap.invoke(source);
+        if (mapObject == UNAVAILABLE) {
+            return Optional.empty();
         }
 
         if (mapObject == null) {
@@ -163,37 +219,15 @@ final class Compat {
                     + mapObject.getClass().getCanonicalName());
         }
 
-        return Optional.of(normalizeMap((Map) mapObject));
+        return Optional.of(new CheckedMap((Map<?, ?>) mapObject));
     }
 
     private static Optional<String> callToJsonIfAvailable(final DataSource source) {
-        final Method toJson = getToJsonMethod(source);
-        if (toJson == null) {
+        final Object jsonStringObject = conversionsOf(source.getClass()).toJson.invoke(source);
+        if (jsonStringObject == UNAVAILABLE) {
             return Optional.empty();
         }
 
-        final Object jsonStringObject;
-        try {
-            jsonStringObject = toJson.invoke(source);
-        } catch (final InvocationTargetException ex) {
-            final Throwable targetException = ex.getTargetException();
-            if (targetException instanceof UnsupportedOperationException) {
-                // If the plugin's embulk-util-config does not implement toJson, it cannot retrieve a stringified JSON.
-                return Optional.empty();
-            }
-            if (targetException instanceof RuntimeException) {
-                throw (RuntimeException) targetException;
-            }
-            if (targetException instanceof Error) {
-                throw (Error) targetException;
-            }
-            throw new IllegalStateException("DataSource(Impl)#toJson() threw unexpected Exception.", targetException);
-        } catch (final IllegalAccessException ex) {
-            logger.debug("DataSource(Impl)#toJson is not accessible unexpectedly. DataSource: {}, toJson: {}, ",
-                         source.getClass(), toJson);
-            throw new IllegalStateException("DataSource(Impl)#toJson() is not accessible.", ex);
-        }
-
         if (jsonStringObject == null) {
             throw new NullPointerException("DataSource(Impl)#toJson() returned null.");
         }
@@ -207,42 +241,127 @@ final class Compat {
     }
 
     private static ObjectNode callGetObjectNodeAndRebuildIfAvailable(final DataSource source, final ObjectMapper mapper) {
-        final Class<? extends DataSource> coreDataSourceImplClass = source.getClass();
-        if (!coreDataSourceImplClass.getCanonicalName().equals("org.embulk.config.DataSourceImpl")) {
+        final CachedMethod getObjectNode = conversionsOf(source.getClass()).getObjectNode;
+        if (getObjectNode == null) {
             throw new ClassCastException(
                     "DataSource specified is not org.embulk.config.DataSourceImpl. "
                         + "The DataSource instance is unexpected to implement getObjectNode(). "
                         + "DataSource class: " + source.getClass());
         }
-        final Method getObjectNode = getGetObjectNodeMethod(coreDataSourceImplClass);
-        if (getObjectNode == null) {
-            throw new IllegalStateException("org.embulk.config.DataSourceImpl does not implement getObjectNode().");
-        }
 
         // NOTE: This ObjectNode instance is of Jackson on the core side while this library is for the plugin side.
         // It is planned to have different Jackson loadings both on the core side and the plugin side.
-        final Object coreObjectNode;
-        try {
-            coreObjectNode = getObjectNode.invoke(source);
-        } catch (final InvocationTargetException ex) {
-            final Throwable targetException = ex.getTargetException();
-            if (targetException instanceof RuntimeException) {
-                throw (RuntimeException) targetException;
+        final Object coreObjectNode = getObjectNode.invoke(source);
+        if (coreObjectNode == UNAVAILABLE) {
+            throw new IllegalStateException("org.embulk.config.DataSourceImpl does not implement getObjectNode().");
+        }
+
+        return ObjectNodeRebuilder.rebuild(coreObjectNode, mapper);
+    }
+
+    private static Conversions conversionsOf(final Class<?> dataSourceClass) {
+        synchronized (CONVERSIONS) {
+            final SoftReference<Conversions> reference = CONVERSIONS.get(dataSourceClass);
+            final Conversions cached = (reference == null) ? null : reference.get();
+            if (cached != null) {
+                return cached;
             }
-            if (targetException instanceof Error) {
-                throw (Error) targetException;
+        }
+
+        // It may be built more than once by racing threads, but it is harmless as they find the same methods.
+        final Conversions built = new Conversions(dataSourceClass);
+        synchronized (CONVERSIONS) {
+            CONVERSIONS.put(dataSourceClass, new SoftReference<>(built));
+        }
+        return built;
+    }
+
+    /**
+     * Conversion methods found for a {@code DataSource} class.
+     *
+     * <p>They are looked up just once per {@code DataSource} class, and cached in {@link #CONVERSIONS}. Repeated conversions
+     * do not look up the methods again, nor throw and catch {@code NoSuchMethodException} again on older Embulk.
+     */
+    private static final class Conversions {
+        Conversions(final Class<?> dataSourceImplClass) {
+            this.toMap = new CachedMethod("DataSource(Impl)#toMap()", findToMapMethod(dataSourceImplClass), true);
+            this.toJson = new CachedMethod("DataSource(Impl)#toJson()", findToJsonMethod(dataSourceImplClass), true);
+            if ("org.embulk.config.DataSourceImpl".equals(dataSourceImplClass.getCanonicalName())) {
+                this.getObjectNode = new CachedMethod(
+                        "DataSourceImpl#getObjectNode()", findGetObjectNodeMethod(dataSourceImplClass), false);
+            } else {
+                this.getObjectNode = null;
             }
-            throw new IllegalStateException("DataSourceImpl#getObjectNode() threw unexpected Exception.", targetException);
-        } catch (final IllegalAccessException ex) {
-            logger.debug("DataSourceImpl#getObjectNode is not accessible unexpectedly. DataSourceImpl: {}, getObjectNode: {}, ",
-                         source.getClass(), getObjectNode);
-            throw new IllegalStateException("DataSourceImpl#getObjectNode() is not accessible.", ex);
         }
 
-        return ObjectNodeRebuilder.rebuild(coreObjectNode, mapper);
+        private final CachedMethod toMap;
+        private final CachedMethod toJson;
+        private final CachedMethod getObjectNode;  // Only for embulk-core's org.embulk.config.DataSourceImpl.
     }
 
-    private static Method getToMapMethod(final DataSource source) {
+    /**
+     * A method looked up, and converted into a {@link java.lang.invoke.MethodHandle} to be invoked directly.
+     */
+    private static final class CachedMethod {
+        CachedMethod(final String description, final Method method, final boolean isUnavailableIfUnsupported) {
+            this.description = description;
+            this.method = method;
+            this.isUnavailableIfUnsupported = isUnavailableIfUnsupported;
+
+            MethodHandle handle = null;
+            IllegalAccessException accessException = null;
+            if (method != null) {
+                try {
+                    handle = MethodHandles.publicLookup().unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+                } catch (final IllegalAccessException ex) {
+                    accessException = ex;
+                }
+            }
+            this.handle = handle;
+            this.accessException = accessException;
+            this.isUnsupported = false;
+        }
+
+        /**
+         * Invokes the method, or returns {@link #UNAVAILABLE} if the method is unavailable for the {@code DataSource}.
+         */
+        Object invoke(final DataSource source) {
+            if (this.method == null || this.isUnsupported) {
+                return UNAVAILABLE;
+            }
+            if (this.handle == null) {
+                logger.debug("{} is not accessible unexpectedly. DataSource: {}, method: {}, ",
+                             this.description, source.getClass(), this.method);
+                throw new IllegalStateException(this.description + " is not accessible.", this.accessException);
+            }
+
+            try {
+                return (Object) this.handle.invokeExact((Object) source);
+            } catch (final UnsupportedOperationException ex) {
+                if (this.isUnavailableIfUnsupported) {
+                    // If the plugin's embulk-util-config does not implement the method, it cannot retrieve a value.
+                    // It is remembered for the DataSource class not to try it again.
+                    this.isUnsupported = true;
+                    return UNAVAILABLE;
+                }
+                throw ex;
+            } catch (final RuntimeException | Error ex) {
+                throw ex;
+            } catch (final Throwable ex) {
+                throw new IllegalStateException(this.description + " threw unexpected Exception.", ex);
+            }
+        }
+
+        private final String description;
+        private final Method method;
+        private final boolean isUnavailableIfUnsupported;
+        private final MethodHandle handle;
+        private final IllegalAccessException accessException;
+
+        private volatile boolean isUnsupported;
+    }
+
+    private static Method findToMapMethod(final Class<?> dataSourceImplClass) {
         try {
             // Getting the "toMap" method from embulk-spi's public interface "org.embulk.config.DataSource", not from an implementation class,
             // for example "org.embulk.(util.)config.DataSourceImpl", so that invoking the method does not throw IllegalAccessException.
@@ -268,7 +387,6 @@ final class Compat {
             // Pass-through to the next trial to retrieve the "toMap" method, then.
         }
 
-        final Class<? extends DataSource> dataSourceImplClass = source.getClass();
         try {
             // Getting the "toMap" method from the implementation class embulk-core's "org.embulk.config.DataSourceImpl",
             // or embulk-util-config's "org.embulk.util.config.DataSourceImpl".
@@ -282,7 +400,7 @@ final class Compat {
         }
     }
 
-    private static Method getToJsonMethod(final DataSource source) {
+    private static Method findToJsonMethod(final Class<?> dataSourceImplClass) {
         try {
             // Getting the "toJson" method from embulk-spi's public interface "org.embulk.config.DataSource", not from an implementation class,
             // for example "org.embulk.(util.)config.DataSourceImpl", so that invoking the method does not throw IllegalAccessException.
@@ -308,7 +426,6 @@ final class Compat {
             // Pass-through to the next trial to retrieve the "toJson" method, then.
         }
 
-        final Class<? extends DataSource> dataSourceImplClass = source.getClass();
         try {
             // Getting the "toJson" method from the implementation class embulk-core's "org.embulk.config.DataSourceImpl",
             // or embulk-util-config's "org.embulk.util.config.DataSourceImpl".
@@ -322,7 +439,7 @@ final class Compat {
         }
     }
 
-    private static Method getGetObjectNodeMethod(final Class<? extends DataSource> coreDataSourceImplClass) {
+    private static Method findGetObjectNodeMethod(final Class<?> coreDataSourceImplClass) {
         try {
             // Unlike "toJson" above, "getObjectNode" needs to be invoked only for org.embulk.config.DataSourceImpl
             // because "getObjectNode" is removed from embulk-spi's official "org.embulk.config.DataSource", and
@@ -336,38 +453,137 @@ final class Compat {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static Map<String, Object> normalizeMap(final Map<?, ?> map) {
-        for (final Map.Entry<?, ?> entry : map.entrySet()) {
-            final Object key = entry.getKey();
-            if (key == null || !(entry.getKey() instanceof String)) {
-                throw new ClassCastException("Key in DataSource(Impl)#toMap is not a String.");
-            }
-            validateValue(entry.getValue());
+    private static Object checkValue(final Object object) {
+        if (object == null) {
+            return null;
+        } else if (object instanceof Map) {
+            return new CheckedMap((Map<?, ?>) object);
+        } else if (object instanceof List) {
+            return new CheckedList((List<?>) object);
+        } else if (object instanceof String || object instanceof Number || object instanceof Boolean) {
+            return object;
         }
-        return (Map<String, Object>) map;
+        throw new ClassCastException("Value in DataSource(Impl)#toMap is an unexpected object.");
     }
 
-    private static void validateList(final List list) {
-        for (final Object element : list) {
-            validateValue(element);
+    /**
+     * Holds an {@link com.fasterxml.jackson.databind.ObjectMapper} only for JSON strings from older Embulk versions.
+     *
+     * <p>It is built on the first use, not to build an {@link com.fasterxml.jackson.databind.ObjectMapper} while loading
+     * {@link Compat} with newer Embulk versions, which do not need it.
+     */
+    private static final class SimpleMapperHolder {
+        private static final ObjectMapper SIMPLE_MAPPER = new ObjectMapper();
+    }
+
+    /**
+     * A read-only view of {@link java.util.Map} from {@code DataSource#toMap}, which validates keys and values when accessed.
+     *
+     * <p>It does not walk the whole {@link java.util.Map} in advance. A caller reading only some keys does not pay for
+     * validating the others.
+     */
+    private static final class CheckedMap extends AbstractMap<String, Object> {
+        private CheckedMap(final Map<?, ?> map) {
+            this.map = map;
+        }
+
+        @Override
+        public int size() {
+            return this.map.size();
         }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return this.map.containsKey(key);
+        }
+
+        @Override
+        public Object get(final Object key) {
+            return checkValue(this.map.get(key));
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Object>>() {
+                @Override
+                public int size() {
+                    return CheckedMap.this.map.size();
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    final Iterator<? extends Map.Entry<?, ?>> entries = CheckedMap.this.map.entrySet().iterator();
+                    return new Iterator<Map.Entry<String, Object>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, Object> next() {
+                            final Map.Entry<?, ?> entry = entries.next();
+                            final Object key = entry.getKey();
+                            if (!(key instanceof String)) {
+                                throw new ClassCastException("Key in DataSource(Impl)#toMap is not a String.");
+                            }
+                            return new AbstractMap.SimpleImmutableEntry<>((String) key, checkValue(entry.getValue()));
+                        }
+                    };
+                }
+            };
+        }
+
+        private final Map<?, ?> map;
     }
 
-    private static void validateValue(final Object object) {
-        if (object == null) {
-            return;
-        } else if (object instanceof Map) {
-            normalizeMap((Map) object);
-        } else if (object instanceof List) {
-            validateList((List) object);
-        } else if (object instanceof String || object instanceof Number || object instanceof Boolean) {
-            return;
+    /**
+     * A read-only view of {@link java.util.List} in {@code DataSource#toMap}, which validates elements when accessed.
+     */
+    private static final class CheckedList extends AbstractList<Object> {
+        private CheckedList(final List<?> list) {
+            this.list = list;
         }
-        throw new ClassCastException("Value in DataSource(Impl)#toMap is an unexpected object.");
+
+        @Override
+        public int size() {
+            return this.list.size();
+        }
+
+        @Override
+        public Object get(final int index) {
+            return checkValue(this.list.get(index));
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            // Not through get(int) as the List is not always RandomAccess.
+            final Iterator<?> elements = this.list.iterator();
+            return new Iterator<Object>() {
+                @Override
+                public boolean hasNext() {
+                    return elements.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    return checkValue(elements.next());
+                }
+            };
+        }
+
+        private final List<?> list;
     }
 
-    private static final ObjectMapper SIMPLE_MAPPER = new ObjectMapper();
+    // Returned from CachedMethod#invoke when the method is unavailable. It is distinguished from null returned from the method.
+    private static final Object UNAVAILABLE = new Object();
+
+    // The DataSource class is usually embulk-core's org.embulk.config.DataSourceImpl, which lives as long as the JVM. It is
+    // cached in a map held by this class, not in a ClassValue, as a ClassValue would hold its value from the DataSource class,
+    // and then the value, which is loaded by the plugin's class loader, would prevent the plugin from being unloaded.
+    //
+    // The values are referenced softly since they reference the keys through their Methods. Otherwise, a DataSource class
+    // loaded by another class loader, which is not of the core, would never be removed from the weak keys.
+    private static final WeakHashMap<Class<?>, SoftReference<Conversions>> CONVERSIONS = new WeakHashMap<>();
 
     private static final Logger logger = LoggerFactory.getLogger(Compat.class);
 }
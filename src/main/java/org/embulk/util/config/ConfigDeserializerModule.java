@@ -21,9 +21,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import javax.validation.Validator;
 
 final class ConfigDeserializerModule extends Module {  // can't use just SimpleModule, due to generic types
-    ConfigDeserializerModule(final ObjectMapper nestedObjectMapper, final Validator validator) {
-        this.nestedObjectMapper = nestedObjectMapper;
-        this.validator = validator;
+    ConfigDeserializerModule(
+            final ObjectMapper nestedObjectMapper,
+            final ObjectReaderCache readers,
+            final Validator validator,
+            final boolean generatesTaskClasses,
+            final boolean lazyTaskFields,
+            final MappingListener listener) {
+        this.deserializers = ConfigTaskDeserializers.forConfig(nestedObjectMapper, readers, validator, generatesTaskClasses, lazyTaskFields, listener);
     }
 
     @Override
@@ -33,7 +38,14 @@ final class ConfigDeserializerModule extends Module {  // can't use just SimpleM
 
     @Override
     public void setupModule(final SetupContext context) {
-        context.addDeserializers(ConfigTaskDeserializers.forConfig(this.nestedObjectMapper, this.validator));
+        context.addDeserializers(this.deserializers);
+    }
+
+    /**
+     * Returns the {@link ConfigTaskDeserializers} added by this module, to look up a deserializer out of Jackson.
+     */
+    ConfigTaskDeserializers getDeserializers() {
+        return this.deserializers;
     }
 
     @Override
@@ -41,6 +53,5 @@ final class ConfigDeserializerModule extends Module {  // can't use just SimpleM
         return Version.JACKSON_MODULE_VERSION;
     }
 
-    private final ObjectMapper nestedObjectMapper;
-    private final Validator validator;
+    private final ConfigTaskDeserializers deserializers;
 }
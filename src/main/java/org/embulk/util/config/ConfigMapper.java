@@ -17,13 +17,18 @@
 package org.embulk.util.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 import org.embulk.config.ConfigException;
 import org.embulk.config.ConfigSource;
+import org.embulk.config.DataSource;
 
 /**
  * Maps {@code org.embulk.config.ConfigSource} into a task-defining interface that inherits {@link Task}.
@@ -51,9 +56,17 @@ import org.embulk.config.ConfigSource;
  * }}</pre>
  */
 public final class ConfigMapper {
-    ConfigMapper(final ObjectMapper objectMapper, final Validator validator) {
+    ConfigMapper(
+            final ObjectMapper objectMapper,
+            final Validator validator,
+            final ConfigTaskDeserializers deserializers,
+            final MappingListener listener,
+            final MappingStatisticsRecorder statistics) {
         this.objectMapper = objectMapper;
         this.validator = validator;
+        this.deserializers = deserializers;
+        this.listener = listener;
+        this.statistics = statistics;
     }
 
     /**
@@ -65,30 +78,188 @@ public final class ConfigMapper {
      * @return a mapped task instance
      */
     public <T extends Task> T map(final ConfigSource config, final Class<T> taskType) {
+        // A single map does not build ObjectReader, which ObjectMapper#readValue does not allocate.
+        return this.map(config, taskType, null);
+    }
+
+    /**
+     * Maps {@code org.embulk.config.ConfigSource}s into a task-defining interface that inherits {@link Task}, one by one.
+     *
+     * <p>It resolves the binding plan of the task-defining interface just once for all the {@code ConfigSource}s. It maps all the
+     * {@code ConfigSource}s even if some of them fail, and then throws {@link TaskMappingException} with the failures.
+     *
+     * @param <T>  the task-defining interface
+     * @param configs  {@code org.embulk.config.ConfigSource}s to map from
+     * @param taskType  {@link java.lang.Class} of the task-defining interface
+     * @return mapped task instances in the order of the {@code ConfigSource}s
+     * @throws TaskMappingException  if failing to map some of the {@code ConfigSource}s
+     */
+    public <T extends Task> List<T> mapAll(final List<? extends ConfigSource> configs, final Class<T> taskType) {
+        final ObjectReader reader = this.objectMapper.readerFor(taskType);
+        return BatchMapping.mapAll(configs, config -> this.map(config, taskType, reader), taskType);
+    }
+
+    /**
+     * Maps {@code org.embulk.config.ConfigSource}s into a task-defining interface that inherits {@link Task}, in parallel by the
+     * {@link java.util.concurrent.Executor}.
+     *
+     * <p>The {@code ConfigSource}s are split into chunks, a few per processor, and each chunk is mapped in a task run by the
+     * {@link java.util.concurrent.Executor}, for example, a {@link java.util.concurrent.ForkJoinPool}, or an
+     * {@link java.util.concurrent.ExecutorService} of virtual threads on Java 21 or later. It blocks until all are mapped.
+     *
+     * @param <T>  the task-defining interface
+     * @param configs  {@code org.embulk.config.ConfigSource}s to map from
+     * @param taskType  {@link java.lang.Class} of the task-defining interface
+     * @param executor  {@link java.util.concurrent.Executor} to map in
+     * @return mapped task instances in the order of the {@code ConfigSource}s
+     * @throws TaskMappingException  if failing to map some of the {@code ConfigSource}s
+     */
+    public <T extends Task> List<T> mapAll(final List<? extends ConfigSource> configs, final Class<T> taskType, final Executor executor) {
+        final ObjectReader reader = this.objectMapper.readerFor(taskType);
+        return BatchMapping.mapAll(configs, config -> this.map(config, taskType, reader), taskType, executor);
+    }
+
+    /**
+     * Maps {@code org.embulk.config.ConfigSource}s from {@link java.util.stream.Stream} into a task-defining interface that inherits
+     * {@link Task}.
+     *
+     * <p>They are mapped in parallel if the {@link java.util.stream.Stream} is parallel, in the
+     * {@link java.util.concurrent.ForkJoinPool} where it is called, or in the common pool.
+     *
+     * @param <T>  the task-defining interface
+     * @param configs  {@code org.embulk.config.ConfigSource}s to map from
+     * @param taskType  {@link java.lang.Class} of the task-defining interface
+     * @return mapped task instances in the order of the {@code ConfigSource}s
+     * @throws TaskMappingException  if failing to map some of the {@code ConfigSource}s
+     */
+    public <T extends Task> List<T> mapAll(final Stream<? extends ConfigSource> configs, final Class<T> taskType) {
+        final ObjectReader reader = this.objectMapper.readerFor(taskType);
+        return BatchMapping.mapAll(configs, config -> this.map(config, taskType, reader), taskType);
+    }
+
+    /**
+     * Maps a task again with attributes in {@code delta} over the {@code org.embulk.config.ConfigSource} that the task was mapped from.
+     *
+     * <p>It returns the same task as {@link #map(ConfigSource, Class)} would with the {@code org.embulk.config.ConfigSource}
+     * that {@code task} was mapped from, with {@code delta} merged as {@code DataSource#merge} does, as long as {@code delta}
+     * has only scalar values, including {@code null}, for attributes mapped to fields. A JSON object or array for an attribute
+     * mapped to a field is always rejected with {@link org.embulk.config.ConfigException}, whether fields are converted lazily
+     * or not, since the JSON value that the field was converted from is not kept. Merge such a {@code delta} into the
+     * {@code org.embulk.config.ConfigSource}, and map it instead.
+     *
+     * <p>Only the fields mapped from the attributes in {@code delta} are converted. The other fields reuse the objects of
+     * {@code task} as they are, without converting nor copying. The new task is validated as a whole with a
+     * {@link javax.validation.Validator}. For example, a resumed or continuous transaction can apply a small
+     * {@code ConfigDiff} to a large task with a schema cheaply.
+     *
+     * <p>It is counted in statistics, and notified to {@link MappingListener}s, in the same way as a map.
+     *
+     * <pre>{@code final PluginTask next = configMapper.remap(task, configDiff, PluginTask.class);}</pre>
+     *
+     * <p>{@code task} is not modified.
+     *
+     * @param <T>  the task-defining interface
+     * @param task  a task mapped from {@code org.embulk.config.ConfigSource} by {@code embulk-util-config}
+     * @param delta  {@code org.embulk.config.DataSource}, such as {@code org.embulk.config.ConfigDiff}, with attributes to update
+     * @param taskType  {@link java.lang.Class} of the task-defining interface
+     * @return a new task instance remapped
+     */
+    public <T extends Task> T remap(final T task, final DataSource delta, final Class<T> taskType) {
+        // The delta is only read to remap the task, or copied if kept in the task unconverted.
+        return this.map(delta, "org.embulk.config.DataSource", taskType, "ConfigMapper#remap",
+                deltaNode -> this.deserializers.findTaskDeserializer(taskType).remap(task, deltaNode));
+    }
+
+    // The reader is shared only in mapAll. It is null for a single map.
+    private <T extends Task> T map(final ConfigSource config, final Class<T> taskType, final ObjectReader reader) {
+        return this.map(config, "org.embulk.config.ConfigSource", taskType, "ConfigMapper", objectNode -> {
+            if (reader != null) {
+                return reader.readValue(objectNode.traverse());
+            }
+            return this.objectMapper.readValue(objectNode.traverse(), taskType);
+        });
+    }
+
+    private <T extends Task> T map(
+            final DataSource source,
+            final String sourceTypeName,
+            final Class<T> taskType,
+            final String mapperName,
+            final Conversion<T> conversion) {
+        if (this.statistics == null) {
+            return this.mapAndNotify(source, sourceTypeName, taskType, mapperName, conversion);
+        }
+        final long started = System.nanoTime();
+        final T value;
+        try {
+            value = this.mapAndNotify(source, sourceTypeName, taskType, mapperName, conversion);
+        } catch (final RuntimeException ex) {
+            this.statistics.recordFailed();
+            throw ex;
+        }
+        this.statistics.recordMapped(System.nanoTime() - started);
+        return value;
+    }
+
+    private <T extends Task> T mapAndNotify(
+            final DataSource source,
+            final String sourceTypeName,
+            final Class<T> taskType,
+            final String mapperName,
+            final Conversion<T> conversion) {
+        final MappingListener listener = this.listener;
+        final long started = (listener != null) ? System.nanoTime() : 0L;
+        final Object event = FlightRecorderEvent.TASK_MAPPING.begin();
+
         final ObjectNode objectNode;
         try {
-            objectNode = Compat.rebuildObjectNode(config);
+            // It is only read to map into a task below. It can be the internal ObjectNode of DataSourceImpl without copying.
+            objectNode = Compat.readObjectNode(source);
         } catch (final IOException ex) {
             // It should happen only from DataSource#toJson(), not from rebuilding ObjectNode.
-            throw new ConfigException("org.embulk.config.ConfigSource#toJson() returned an invalid JSON.", ex);
+            throw new ConfigException(sourceTypeName + "#toJson() returned an invalid JSON.", ex);
         } catch (final RuntimeException ex) {
-            throw new ConfigException("Unexpected failure in reinterpreting ObjectNode from org.embulk.config.ConfigSource.", ex);
+            throw new ConfigException("Unexpected failure in reinterpreting ObjectNode from " + sourceTypeName + ".", ex);
+        }
+        if (listener != null) {
+            listener.onPhase(taskType, MappingListener.Phase.REBUILD, System.nanoTime() - started);
         }
 
         final T value;
         try {
-            value = this.objectMapper.readValue(objectNode.traverse(), taskType);
+            value = conversion.convert(objectNode);
         } catch (final IOException | RuntimeException ex) {
             throw new ConfigException(buildExceptionMessage(ex, taskType), ex);
         }
 
         if (this.validator != null) {
+            final long validating = (listener != null) ? System.nanoTime() : 0L;
             final Set<ConstraintViolation<T>> violations = this.validator.validate(value);
+            if (listener != null) {
+                listener.onPhase(taskType, MappingListener.Phase.VALIDATE, System.nanoTime() - validating);
+            }
             if (!violations.isEmpty()) {
                 throw new TaskValidationException(violations);
             }
         }
 
+        final long elapsed = (listener != null) ? System.nanoTime() - started : 0L;
+        final boolean recorded = FlightRecorderEvent.TASK_MAPPING.end(event);
+
+        // The size is counted just once, only if it is used, and out of the elapsed time, as it serializes the whole source again.
+        final long sourceBytes;
+        if (recorded || (listener != null && listener.needsSourceBytes())) {
+            sourceBytes = MappingListeners.sizeOf(this.objectMapper, objectNode);
+        } else {
+            sourceBytes = -1L;
+        }
+
+        if (recorded) {
+            FlightRecorderEvent.TASK_MAPPING.commit(event, mapperName, taskType.getName(), TaskLayout.of(taskType).size(), sourceBytes);
+        }
+        if (listener != null) {
+            listener.onTaskMapped(taskType, sourceBytes, elapsed);
+        }
         return value;
     }
 
@@ -107,6 +278,21 @@ public final class ConfigMapper {
         return messageBuilder.toString();
     }
 
+    /**
+     * Converts a JSON object into a task, by mapping or by remapping.
+     */
+    @FunctionalInterface
+    private interface Conversion<T> {
+        T convert(ObjectNode objectNode) throws IOException;
+    }
+
     private final ObjectMapper objectMapper;
     private final Validator validator;
+    private final ConfigTaskDeserializers deserializers;
+
+    // It is null unless a MappingListener is registered.
+    private final MappingListener listener;
+
+    // It is null unless the ConfigMapperFactory is built with statistics.
+    private final MappingStatisticsRecorder statistics;
 }
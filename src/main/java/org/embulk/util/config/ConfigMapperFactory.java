@@ -16,17 +16,28 @@
 
 package org.embulk.util.config;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 import javax.validation.Validator;
 import org.embulk.config.ConfigDiff;
 import org.embulk.config.ConfigException;
 import org.embulk.config.ConfigSource;
+import org.embulk.config.DataSource;
 import org.embulk.config.TaskReport;
 import org.embulk.config.TaskSource;
 import org.embulk.util.config.modules.CharsetModule;
@@ -39,11 +50,58 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Creates {@link ConfigMapper} and {@link TaskMapper} with required and specified Jackson {@link com.fasterxml.jackson.databind.Module}s and {@link javax.validation.Validator}.
+ *
+ * <p>A {@link ConfigMapperFactory} instance builds its Jackson {@link com.fasterxml.jackson.databind.ObjectMapper}s just once
+ * when it is built. They are shared by all {@link ConfigMapper}s, {@link TaskMapper}s, and {@code DataSource}s created from
+ * the same {@link ConfigMapperFactory}, so that Jackson's caches of serializers and deserializers are kept warm. A
+ * {@link ConfigMapperFactory} instance is thread-safe, and expected to be reused.
+ *
+ * <p>JSON in {@code DataSource}s is accepted up to the maximum nesting depth of Jackson's
+ * {@link com.fasterxml.jackson.core.StreamReadConstraints}, 1000 by default, in parsing, merging, encoding, and decoding.
+ * It follows {@link com.fasterxml.jackson.core.StreamReadConstraints#overrideDefaultStreamReadConstraints} called before
+ * the {@link ConfigMapperFactory} is built.
  */
 public final class ConfigMapperFactory {
-    private ConfigMapperFactory(final List<Module> additionalModules, final Validator validator) {
+    private ConfigMapperFactory(
+            final List<Module> additionalModules,
+            final Validator validator,
+            final boolean generatesTaskClasses,
+            final boolean lazyTaskFields,
+            final DataSourceCodec codec,
+            final List<MappingListener> listeners,
+            final boolean collectsStatistics,
+            final String statisticsMBeanName) {
         this.additionalModules = Collections.unmodifiableList(new ArrayList<>(additionalModules));
         this.validator = validator;
+        this.codec = codec;
+        this.listener = MappingListeners.of(listeners);
+
+        this.mapperForConfig = new ObjectMapper();
+        this.readersForConfig = new ObjectReaderCache(this.mapperForConfig);
+        final ConfigDeserializerModule configDeserializerModule =
+                new ConfigDeserializerModule(this.mapperForConfig, this.readersForConfig, this.validator, generatesTaskClasses, lazyTaskFields, this.listener);
+        configureMapperForConfig(this.mapperForConfig, this.readersForConfig, this.additionalModules, configDeserializerModule);
+        this.configTaskDeserializers = configDeserializerModule.getDeserializers();
+
+        this.mapperForTask = new ObjectMapper();
+        this.readersForTask = new ObjectReaderCache(this.mapperForTask);
+        final TaskDeserializerModule taskDeserializerModule =
+                new TaskDeserializerModule(this.mapperForTask, this.readersForTask, this.validator, generatesTaskClasses, lazyTaskFields, this.listener);
+        configureMapperForTask(this.mapperForTask, this.readersForTask, this.additionalModules, taskDeserializerModule);
+
+        this.mapperForOthers = new ObjectMapper();
+        this.readersForOthers = new ObjectReaderCache(this.mapperForOthers);
+        configureMapperForOthers(this.mapperForOthers, this.readersForOthers, this.additionalModules);
+
+        if (collectsStatistics) {
+            this.statistics = new MappingStatisticsRecorder(
+                    Arrays.asList(this.configTaskDeserializers.getRetrievers(), taskDeserializerModule.getDeserializers().getRetrievers()),
+                    Arrays.asList(this.readersForConfig, this.readersForTask, this.readersForOthers));
+        } else {
+            this.statistics = null;
+        }
+        this.statisticsMBeanName = new AtomicReference<>(
+                (statisticsMBeanName != null) ? registerStatisticsMBean(statisticsMBeanName, this.statistics) : null);
     }
 
     /**
@@ -53,13 +111,27 @@ public final class ConfigMapperFactory {
         private Builder() {
             this.additionalModules = new ArrayList<>();
             this.validator = null;
+            this.generatesTaskClasses = false;
+            this.lazyTaskFields = false;
+            this.codec = DataSourceCodec.JSON;
+            this.listeners = new ArrayList<>();
+            this.collectsStatistics = false;
+            this.statisticsMBeanName = null;
         }
 
         /**
          * Builds {@link ConfigMapperFactory} with added Jackson {@link com.fasterxml.jackson.databind.Module}s and specified {@link javax.validation.Validator}.
          */
         public ConfigMapperFactory build() {
-            return new ConfigMapperFactory(this.additionalModules, this.validator);
+            return new ConfigMapperFactory(
+                    this.additionalModules,
+                    this.validator,
+                    this.generatesTaskClasses,
+                    this.lazyTaskFields,
+                    this.codec,
+                    this.listeners,
+                    this.collectsStatistics,
+                    this.statisticsMBeanName);
         }
 
         /**
@@ -129,17 +201,106 @@ public final class ConfigMapperFactory {
             return this;
         }
 
+        /**
+         * Enables generating a concrete class for each task-defining interface, instead of {@link java.lang.reflect.Proxy}.
+         *
+         * <p>A task of a generated class has real fields, and its getters and setters access the fields directly. It is
+         * faster to call getters and setters, especially in a loop per record. Its {@code equals}, {@code hashCode},
+         * {@code toObjectNode}, and {@code validate} behave as a task with {@link java.lang.reflect.Proxy} does.
+         *
+         * <p>A class is not generated for some task-defining interfaces, for example, a non-public interface. They fall
+         * back to {@link java.lang.reflect.Proxy}.
+         */
+        public Builder withGeneratedTaskClasses() {
+            this.generatesTaskClasses = true;
+            return this;
+        }
+
+        /**
+         * Enables converting each field of a task on the first call of its getter, instead of when the task is mapped.
+         *
+         * <p>A mapped task keeps the JSON value of each field, and converts it into the type of its getter when the getter is
+         * called first. Fields that a plugin never reads in a run, for example, options only for another mode, are never
+         * converted. Required fields and {@code null}s are still checked when the task is mapped. A conversion error is thrown
+         * as {@link org.embulk.config.ConfigException} from the getter.
+         *
+         * <p>It does not take effect with {@link #withValidator(javax.validation.Validator)} so that a conversion error is
+         * thrown when the task is mapped, before validation. It does not take effect either for a task of a class generated by
+         * {@link #withGeneratedTaskClasses()}.
+         */
+        public Builder withLazyTaskFields() {
+            this.lazyTaskFields = true;
+            return this;
+        }
+
+        /**
+         * Sets a {@link DataSourceCodec} for {@link ConfigMapperFactory#encode(org.embulk.config.DataSource)}, which is
+         * {@link DataSourceCodec#JSON} by default.
+         */
+        public Builder withDataSourceCodec(final DataSourceCodec codec) {
+            if (codec == null) {
+                throw new NullPointerException("ConfigMapperFactory.Builder#withDataSourceCodec does not accept null.");
+            }
+            this.codec = codec;
+            return this;
+        }
+
+        /**
+         * Adds a {@link MappingListener} to be notified of mapping by {@link ConfigMapper} and {@link TaskMapper}.
+         *
+         * <p>Listeners are notified in the order added. Mapping is not measured at all without listeners.
+         */
+        public Builder addListener(final MappingListener listener) {
+            if (listener == null) {
+                throw new NullPointerException("ConfigMapperFactory.Builder#addListener does not accept null.");
+            }
+            this.listeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Enables collecting statistics of mapping, and of caches, to be read by {@link ConfigMapperFactory#getStatistics()}.
+         *
+         * <p>Counters are updated without locks, then it is cheap enough to be enabled under heavy parallel load. It still
+         * reads the clock twice per mapping.
+         */
+        public Builder withStatistics() {
+            this.collectsStatistics = true;
+            return this;
+        }
+
+        /**
+         * Enables collecting statistics as {@link #withStatistics()}, and registers {@link MappingStatisticsMXBean} to the
+         * platform MBeanServer with the name {@code org.embulk.util.config:type=ConfigMapperFactory,name=<name>}.
+         *
+         * <p>If an MBean is already registered with the name, for example, by another instance of the same plugin, a warning
+         * is logged, and the MBean is not registered. The registered MBean keeps the {@link ConfigMapperFactory}, and its class
+         * loader, until {@link ConfigMapperFactory#unregisterStatisticsMBean()} is called.
+         */
+        public Builder withStatisticsMBean(final String name) {
+            if (name == null) {
+                throw new NullPointerException("ConfigMapperFactory.Builder#withStatisticsMBean does not accept null.");
+            }
+            this.collectsStatistics = true;
+            this.statisticsMBeanName = name;
+            return this;
+        }
+
         private final ArrayList<Module> additionalModules;
+        private final ArrayList<MappingListener> listeners;
         private Validator validator;
+        private boolean generatesTaskClasses;
+        private boolean lazyTaskFields;
+        private DataSourceCodec codec;
+        private boolean collectsStatistics;
+        private String statisticsMBeanName;
     }
 
     /**
      * Creates a {@link Builder} to build {@link ConfigMapperFactory}.
      */
     public static Builder builder() {
-        assertJacksonCoreVersion();
-        assertJacksonDataBindVersion();
-        assertJacksonDataTypeJdk8Version();
+        assertJacksonVersions();
         return new Builder();
     }
 
@@ -175,16 +336,46 @@ public final class ConfigMapperFactory {
      * Creates a {@link ConfigMapper} to maps {@code org.embulk.config.ConfigSource} into a task-defining interface that inherits {@link Task}.
      */
     public ConfigMapper createConfigMapper() {
-        final ObjectMapper objectMapper = this.mapperForConfig();
-        return new ConfigMapper(objectMapper, this.validator);
+        return new ConfigMapper(this.mapperForConfig, this.validator, this.configTaskDeserializers, this.listener, this.statistics);
     }
 
     /**
      * Creates a {@link TaskMapper} to maps {@code org.embulk.config.TaskSource} into a task-defining interface that inherits {@link Task}.
      */
     public TaskMapper createTaskMapper() {
-        final ObjectMapper objectMapper = this.mapperForTask();
-        return new TaskMapper(objectMapper);
+        return new TaskMapper(this.mapperForTask, this.listener, this.statistics);
+    }
+
+    /**
+     * Returns a snapshot of statistics of mapping, and of caches, since this {@link ConfigMapperFactory} is built.
+     *
+     * @return a snapshot of statistics
+     * @throws IllegalStateException  if this {@link ConfigMapperFactory} is built without {@link Builder#withStatistics()}
+     */
+    public MappingStatistics getStatistics() {
+        if (this.statistics == null) {
+            throw new IllegalStateException("ConfigMapperFactory is built without statistics. Build it with Builder#withStatistics().");
+        }
+        return this.statistics.snapshot();
+    }
+
+    /**
+     * Unregisters the MBean registered by {@link Builder#withStatisticsMBean(String)}, if registered.
+     *
+     * <p>A plugin should call it when it finishes so that the platform MBeanServer does not keep its class loader.
+     */
+    public void unregisterStatisticsMBean() {
+        final ObjectName objectName = this.statisticsMBeanName.getAndSet(null);
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (final InstanceNotFoundException ex) {
+            // Unregistered by someone else.
+        } catch (final JMException | SecurityException ex) {
+            logger.warn("Failed to unregister MBean {}.", objectName, ex);
+        }
     }
 
     /**
@@ -193,8 +384,7 @@ public final class ConfigMapperFactory {
      * <p>It is to replace {@link org.embulk.spi.Exec#newConfigDiff}.
      */
     public ConfigDiff newConfigDiff() {
-        final ObjectMapper objectMapper = this.mapperForOthers();
-        return (ConfigDiff) new DataSourceImpl(objectMapper.createObjectNode(), objectMapper);
+        return (ConfigDiff) new DataSourceImpl(this.mapperForOthers.createObjectNode(), this.mapperForOthers, this.readersForOthers);
     }
 
     /**
@@ -203,8 +393,7 @@ public final class ConfigMapperFactory {
      * <p>It is to replace {@link org.embulk.spi.Exec#newConfigSource}.
      */
     public ConfigSource newConfigSource() {
-        final ObjectMapper objectMapper = this.mapperForConfig();
-        return (ConfigSource) new DataSourceImpl(objectMapper.createObjectNode(), objectMapper);
+        return (ConfigSource) new DataSourceImpl(this.mapperForConfig.createObjectNode(), this.mapperForConfig, this.readersForConfig);
     }
 
     /**
@@ -213,8 +402,7 @@ public final class ConfigMapperFactory {
      * <p>It is to replace {@link org.embulk.spi.Exec#newTaskReport}.
      */
     public TaskReport newTaskReport() {
-        final ObjectMapper objectMapper = this.mapperForOthers();
-        return (TaskReport) new DataSourceImpl(objectMapper.createObjectNode(), objectMapper);
+        return (TaskReport) new DataSourceImpl(this.mapperForOthers.createObjectNode(), this.mapperForOthers, this.readersForOthers);
     }
 
     /**
@@ -223,8 +411,7 @@ public final class ConfigMapperFactory {
      * <p>It is to replace {@link org.embulk.spi.Exec#newTaskSource}.
      */
     public TaskSource newTaskSource() {
-        final ObjectMapper objectMapper = this.mapperForTask();
-        return (TaskSource) new DataSourceImpl(objectMapper.createObjectNode(), objectMapper);
+        return (TaskSource) new DataSourceImpl(this.mapperForTask.createObjectNode(), this.mapperForTask, this.readersForTask);
     }
 
     /**
@@ -255,7 +442,7 @@ public final class ConfigMapperFactory {
             throw new ConfigException("Unexpected failure in reinterpreting ObjectNode from org.embulk.config.ConfigDiff.", ex);
         }
 
-        return (ConfigDiff) new DataSourceImpl(objectNode, this.mapperForConfig());
+        return (ConfigDiff) new DataSourceImpl(objectNode, this.mapperForConfig, this.readersForConfig);
     }
 
     /**
@@ -286,41 +473,169 @@ public final class ConfigMapperFactory {
             throw new ConfigException("Unexpected failure in reinterpreting ObjectNode from org.embulk.config.TaskReport.", ex);
         }
 
-        return (TaskReport) new DataSourceImpl(objectNode, this.mapperForConfig());
+        return (TaskReport) new DataSourceImpl(objectNode, this.mapperForConfig, this.readersForConfig);
     }
 
-    private ObjectMapper mapperForConfig() {
-        final ObjectMapper objectMapper = new ObjectMapper();
-        for (final Module module : this.additionalModules) {
-            objectMapper.registerModule(module);
+    /**
+     * Encodes a {@code DataSource}, such as {@link org.embulk.config.TaskSource} and {@link org.embulk.config.TaskReport},
+     * into bytes with the {@link DataSourceCodec} selected on this {@link ConfigMapperFactory}.
+     *
+     * @param dataSource  a {@code DataSource} to encode
+     * @return the encoded bytes, to be decoded by {@link #decodeTaskSource(byte[])} or {@link #decodeTaskReport(byte[])}
+     */
+    public byte[] encode(final DataSource dataSource) {
+        final ObjectNode objectNode;
+        try {
+            objectNode = Compat.readObjectNode(dataSource);
+        } catch (final IOException ex) {
+            throw new ConfigException("org.embulk.config.DataSource#toJson() returned an invalid JSON.", ex);
         }
-        objectMapper.registerModule(new ConfigTaskSerializerModule(objectMapper));
-        objectMapper.registerModule(new ConfigDeserializerModule(objectMapper, this.validator));  // Difference from TaskMapper.
-        objectMapper.registerModule(new DataSourceModule(objectMapper));
+        return this.encode(objectNode);
+    }
+
+    /**
+     * Encodes a task into bytes with the {@link DataSourceCodec} selected on this {@link ConfigMapperFactory}.
+     *
+     * <p>It encodes {@link Task#toObjectNode()}, without converting it into {@link org.embulk.config.TaskSource}.
+     *
+     * @param task  a task to encode
+     * @return the encoded bytes, to be decoded by {@link #decodeTaskSource(byte[])}
+     */
+    public byte[] encode(final Task task) {
+        return this.encode(task.toObjectNode());
+    }
+
+    /**
+     * Decodes {@link org.embulk.config.TaskSource} from bytes encoded by {@link #encode(DataSource)} or {@link #encode(Task)}.
+     *
+     * <p>It accepts both {@link DataSourceCodec#JSON} and {@link DataSourceCodec#COMPACT_BINARY} regardless of the
+     * {@link DataSourceCodec} selected on this {@link ConfigMapperFactory}.
+     *
+     * @param bytes  the encoded bytes
+     * @return the decoded {@link org.embulk.config.TaskSource}
+     * @throws org.embulk.config.ConfigException  if the bytes are invalid
+     */
+    public TaskSource decodeTaskSource(final byte[] bytes) {
+        return (TaskSource) new DataSourceImpl(decode(bytes, this.mapperForTask), this.mapperForTask, this.readersForTask);
+    }
 
-        return objectMapper;
+    /**
+     * Decodes {@link org.embulk.config.TaskReport} from bytes encoded by {@link #encode(DataSource)}.
+     *
+     * <p>It accepts both {@link DataSourceCodec#JSON} and {@link DataSourceCodec#COMPACT_BINARY} regardless of the
+     * {@link DataSourceCodec} selected on this {@link ConfigMapperFactory}.
+     *
+     * @param bytes  the encoded bytes
+     * @return the decoded {@link org.embulk.config.TaskReport}
+     * @throws org.embulk.config.ConfigException  if the bytes are invalid
+     */
+    public TaskReport decodeTaskReport(final byte[] bytes) {
+        return (TaskReport) new DataSourceImpl(decode(bytes, this.mapperForOthers), this.mapperForOthers, this.readersForOthers);
+    }
+
+    private byte[] encode(final ObjectNode objectNode) {
+        switch (this.codec) {
+            case COMPACT_BINARY:
+                return CompactBinaryCodec.encode(objectNode, this.mapperForOthers, JsonNodes.maximumDepthOf(this.mapperForOthers));
+            case JSON:
+            default:
+                try {
+                    return this.mapperForOthers.writeValueAsBytes(objectNode);
+                } catch (final JsonProcessingException ex) {
+                    throw new ConfigException("Unexpected failure in stringifying DataSource as JSON.", ex);
+                }
+        }
     }
 
-    private ObjectMapper mapperForTask() {
-        final ObjectMapper objectMapper = new ObjectMapper();
-        for (final Module module : this.additionalModules) {
+    private static ObjectNode decode(final byte[] bytes, final ObjectMapper objectMapper) {
+        if (bytes == null) {
+            throw new ConfigException(new NullPointerException("Encoded DataSource must not be null."));
+        }
+        if (CompactBinaryCodec.isCompactBinary(bytes)) {
+            return CompactBinaryCodec.decode(bytes, objectMapper, JsonNodes.maximumDepthOf(objectMapper));
+        }
+
+        final JsonNode jsonNode;
+        try {
+            jsonNode = objectMapper.readTree(bytes);
+        } catch (final IOException ex) {
+            throw new ConfigException(ex);
+        }
+        if (jsonNode == null || !jsonNode.isObject()) {
+            throw new ConfigException(new ClassCastException("Encoded DataSource must be a JSON object."));
+        }
+        return (ObjectNode) jsonNode;
+    }
+
+    // The ObjectMappers below are configured only here. They must not be reconfigured after they are built because they are
+    // shared among threads. Jackson's ObjectMapper is thread-safe as long as its configuration is not changed after built.
+
+    // The deserializer modules are built out of here as ConfigMapper looks up its deserializers for ConfigMapper#remap, and
+    // statistics read their caches.
+    private static void configureMapperForConfig(
+            final ObjectMapper objectMapper,
+            final ObjectReaderCache readers,
+            final List<Module> additionalModules,
+            final ConfigDeserializerModule configDeserializerModule) {
+        for (final Module module : additionalModules) {
             objectMapper.registerModule(module);
         }
         objectMapper.registerModule(new ConfigTaskSerializerModule(objectMapper));
-        objectMapper.registerModule(new TaskDeserializerModule(objectMapper, this.validator));  // Difference from ConfigMapper.
-        objectMapper.registerModule(new DataSourceModule(objectMapper));
+        objectMapper.registerModule(configDeserializerModule);  // Difference from TaskMapper.
+        objectMapper.registerModule(new DataSourceModule(objectMapper, readers));
+    }
 
-        return objectMapper;
+    private static void configureMapperForTask(
+            final ObjectMapper objectMapper,
+            final ObjectReaderCache readers,
+            final List<Module> additionalModules,
+            final TaskDeserializerModule taskDeserializerModule) {
+        for (final Module module : additionalModules) {
+            objectMapper.registerModule(module);
+        }
+        objectMapper.registerModule(new ConfigTaskSerializerModule(objectMapper));
+        objectMapper.registerModule(taskDeserializerModule);  // Difference from ConfigMapper.
+        objectMapper.registerModule(new DataSourceModule(objectMapper, readers));
     }
 
-    private ObjectMapper mapperForOthers() {
-        final ObjectMapper objectMapper = new ObjectMapper();
-        for (final Module module : this.additionalModules) {
+    private static void configureMapperForOthers(
+            final ObjectMapper objectMapper,
+            final ObjectReaderCache readers,
+            final List<Module> additionalModules) {
+        for (final Module module : additionalModules) {
             objectMapper.registerModule(module);
         }
-        objectMapper.registerModule(new DataSourceModule(objectMapper));
+        objectMapper.registerModule(new DataSourceModule(objectMapper, readers));
+    }
 
-        return objectMapper;
+    private static ObjectName registerStatisticsMBean(final String name, final MappingStatisticsRecorder statistics) {
+        final ObjectName objectName;
+        try {
+            objectName = new ObjectName("org.embulk.util.config:type=ConfigMapperFactory,name=" + ObjectName.quote(name));
+        } catch (final MalformedObjectNameException ex) {
+            throw new IllegalArgumentException("Invalid name for the MBean of ConfigMapperFactory: " + name, ex);
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, objectName);
+        } catch (final InstanceAlreadyExistsException ex) {
+            logger.warn("MBean {} is already registered. Statistics of this ConfigMapperFactory are not registered.", objectName);
+            return null;
+        } catch (final JMException | SecurityException ex) {
+            logger.warn("Failed to register MBean {}.", objectName, ex);
+            return null;
+        }
+        return objectName;
+    }
+
+    private static void assertJacksonVersions() {
+        // Jackson is not replaced once it is loaded. The versions are checked until they are confirmed once.
+        if (jacksonVersionsConfirmed) {
+            return;
+        }
+        assertJacksonCoreVersion();
+        assertJacksonDataBindVersion();
+        assertJacksonDataTypeJdk8Version();
+        jacksonVersionsConfirmed = true;
     }
 
     private static void assertJacksonCoreVersion() {
@@ -358,6 +673,26 @@ public final class ConfigMapperFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(ConfigMapperFactory.class);
 
+    private static volatile boolean jacksonVersionsConfirmed;
+
     private final List<Module> additionalModules;
     private final Validator validator;
+    private final DataSourceCodec codec;
+
+    // It is null unless a MappingListener is registered.
+    private final MappingListener listener;
+
+    // It is null unless built with statistics.
+    private final MappingStatisticsRecorder statistics;
+
+    // It is null unless its MBean is registered, or after it is unregistered.
+    private final AtomicReference<ObjectName> statisticsMBeanName;
+
+    private final ObjectMapper mapperForConfig;
+    private final ObjectReaderCache readersForConfig;
+    private final ConfigTaskDeserializers configTaskDeserializers;
+    private final ObjectMapper mapperForTask;
+    private final ObjectReaderCache readersForTask;
+    private final ObjectMapper mapperForOthers;
+    private final ObjectReaderCache readersForOthers;
 }
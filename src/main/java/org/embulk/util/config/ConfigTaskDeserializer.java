@@ -20,7 +20,9 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.validation.Validator;
@@ -30,20 +32,67 @@ final class ConfigTaskDeserializer<T extends Task> extends JsonDeserializer<T> {
             final Class<T> taskInterface,
             final TaskObjectsRetriever taskObjectsRetriever,
             final ObjectMapper nestedObjectMapper,
-            final Validator validator) {
+            final ObjectReaderCache readers,
+            final Validator validator,
+            final GeneratedTaskBase.Context generatedTaskContext,
+            final boolean lazyTaskFields,
+            final MappingListener listener) {
         this.taskInterface = taskInterface;
         this.taskObjectsRetriever = taskObjectsRetriever;
         this.nestedObjectMapper = nestedObjectMapper;
+        this.readers = readers;
         this.validator = validator;
+        this.generatedTaskContext = generatedTaskContext;
+        this.listener = listener;
+
+        // Fields are converted eagerly with a Validator so that conversion errors are thrown from ConfigMapper#map, not from
+        // getters called in validation. A generated class reads its fields directly, then its fields are converted eagerly.
+        this.convertsLazily = lazyTaskFields && validator == null && generatedTaskContext == null;
     }
 
     @Override
     public final T deserialize(final JsonParser jsonParser, final DeserializationContext context) throws IOException {
-        final ConcurrentHashMap<String, Object> internalObjects = this.taskObjectsRetriever.buildTaskBackingObjects(jsonParser);
+        final ConcurrentHashMap<String, Object> internalObjects = this.taskObjectsRetriever.buildTaskBackingObjects(jsonParser, this.convertsLazily, this.listener);
+        return this.newTask(internalObjects);
+    }
+
+    /**
+     * Builds a new task with backing objects of {@code previous}, updated only for fields mapped from keys in {@code delta}.
+     *
+     * <p>Backing objects of the other fields are reused without converting again. The new task is not validated here.
+     *
+     * @throws IOException  if failing in converting values in {@code delta}
+     * @throws IllegalArgumentException  if {@code previous} is not a task of the task-defining interface built by embulk-util-config
+     */
+    T remap(final T previous, final ObjectNode delta) throws IOException {
+        final ConcurrentHashMap<String, Object> internalObjects = this.backingObjectsOf(previous);
+        this.taskObjectsRetriever.putTaskBackingObjectsFromDelta(internalObjects, delta, this.convertsLazily);
+        return this.newTask(internalObjects);
+    }
+
+    private T newTask(final ConcurrentHashMap<String, Object> internalObjects) {
+        if (this.generatedTaskContext != null) {
+            return castToT(this.generatedTaskContext.newInstance(internalObjects));
+        }
         return castToT(Proxy.newProxyInstance(
                 this.taskInterface.getClassLoader(),
                 new Class<?>[] { this.taskInterface },
-                new TaskInvocationHandler(this.taskInterface, internalObjects, this.nestedObjectMapper, this.validator)));
+                new TaskInvocationHandler(this.taskInterface, internalObjects, this.nestedObjectMapper, this.readers, this.validator)));
+    }
+
+    private ConcurrentHashMap<String, Object> backingObjectsOf(final T previous) {
+        final TaskLayout layout = TaskLayout.of(this.taskInterface);
+        if (previous instanceof GeneratedTaskBase && ((GeneratedTaskBase) previous).getLayout() == layout) {
+            return layout.toMap(((GeneratedTaskBase) previous).readSlots());
+        }
+        if (previous != null && Proxy.isProxyClass(previous.getClass())) {
+            final InvocationHandler handler = Proxy.getInvocationHandler(previous);
+            if (handler instanceof TaskInvocationHandler && ((TaskInvocationHandler) handler).getLayout() == layout) {
+                return layout.toMap(((TaskInvocationHandler) handler).copySlots());
+            }
+        }
+        throw new IllegalArgumentException(
+                "Not a task of " + this.taskInterface.getName() + " mapped by embulk-util-config: " + (previous == null ? "null" : previous.getClass()));
     }
 
     @SuppressWarnings("unchecked")
@@ -54,5 +103,15 @@ final class ConfigTaskDeserializer<T extends Task> extends JsonDeserializer<T> {
     private final Class<? extends Task> taskInterface;
     private final TaskObjectsRetriever taskObjectsRetriever;
     private final ObjectMapper nestedObjectMapper;
+    private final ObjectReaderCache readers;
     private final Validator validator;
+
+    // It is null unless a Task class is generated for the task-defining interface.
+    private final GeneratedTaskBase.Context generatedTaskContext;
+
+    // If true, the task keeps JSON values of its fields, and converts them when their getters are called first.
+    private final boolean convertsLazily;
+
+    // It is null unless a MappingListener is registered.
+    private final MappingListener listener;
 }
@@ -23,24 +23,47 @@ import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.Deserializers;
+import java.lang.ref.SoftReference;
+import java.util.WeakHashMap;
 import javax.validation.Validator;
 
 final class ConfigTaskDeserializers extends Deserializers.Base {
     private ConfigTaskDeserializers(
             final boolean forConfig,
             final ObjectMapper nestedObjectMapper,
-            final Validator validator) {
-        this.forConfig = forConfig;
+            final ObjectReaderCache readers,
+            final Validator validator,
+            final boolean generatesTaskClasses,
+            final boolean lazyTaskFields,
+            final MappingListener listener) {
         this.nestedObjectMapper = nestedObjectMapper;
+        this.readers = readers;
         this.validator = validator;
+        this.generatesTaskClasses = generatesTaskClasses;
+        this.lazyTaskFields = lazyTaskFields;
+        this.listener = listener;
+        this.retrievers = new TaskObjectsRetrieverCache(forConfig, nestedObjectMapper, TaskObjectsRetrieverCache.DEFAULT_MAXIMUM_SIZE, listener);
+        this.taskDeserializers = new WeakHashMap<>();
     }
 
-    static ConfigTaskDeserializers forConfig(final ObjectMapper nestedObjectMapper, final Validator validator) {
-        return new ConfigTaskDeserializers(true, nestedObjectMapper, validator);
+    static ConfigTaskDeserializers forConfig(
+            final ObjectMapper nestedObjectMapper,
+            final ObjectReaderCache readers,
+            final Validator validator,
+            final boolean generatesTaskClasses,
+            final boolean lazyTaskFields,
+            final MappingListener listener) {
+        return new ConfigTaskDeserializers(true, nestedObjectMapper, readers, validator, generatesTaskClasses, lazyTaskFields, listener);
     }
 
-    static ConfigTaskDeserializers forTask(final ObjectMapper nestedObjectMapper, final Validator validator) {
-        return new ConfigTaskDeserializers(false, nestedObjectMapper, validator);
+    static ConfigTaskDeserializers forTask(
+            final ObjectMapper nestedObjectMapper,
+            final ObjectReaderCache readers,
+            final Validator validator,
+            final boolean generatesTaskClasses,
+            final boolean lazyTaskFields,
+            final MappingListener listener) {
+        return new ConfigTaskDeserializers(false, nestedObjectMapper, readers, validator, generatesTaskClasses, lazyTaskFields, listener);
     }
 
     @Override
@@ -51,22 +74,55 @@ final class ConfigTaskDeserializers extends Deserializers.Base {
             throws JsonMappingException {
         final Class<?> rawClass = type.getRawClass();
         if (Task.class.isAssignableFrom(rawClass)) {
-            final Class<? extends Task> taskInterface = castToTask(rawClass);
+            return this.findTaskDeserializer(castToTask(rawClass));
+        }
+        return super.findBeanDeserializer(type, config, beanDescription);
+    }
 
-            final TaskObjectsRetriever taskObjectsRetriever;
-            if (this.forConfig) {
-                taskObjectsRetriever = TaskObjectsRetriever.forConfig(taskInterface, this.nestedObjectMapper);
-            } else {
-                taskObjectsRetriever = TaskObjectsRetriever.forTask(taskInterface, this.nestedObjectMapper);
+    /**
+     * Returns the deserializer of the task-defining interface, cached as {@link ConfigMapper#remap} looks it up on every call.
+     *
+     * <p>Jackson caches root deserializers by itself, but {@link ConfigMapper#remap} does not go through Jackson. The cache is
+     * the same as {@link TaskObjectsRetrieverCache}, weak for keys, and soft for values.
+     */
+    <T extends Task> ConfigTaskDeserializer<T> findTaskDeserializer(final Class<T> taskInterface) throws JsonMappingException {
+        synchronized (this.taskDeserializers) {
+            final SoftReference<ConfigTaskDeserializer<?>> reference = this.taskDeserializers.get(taskInterface);
+            final ConfigTaskDeserializer<?> cached = (reference == null) ? null : reference.get();
+            if (cached != null) {
+                return castToDeserializer(cached);
             }
+        }
 
-            return new ConfigTaskDeserializer<>(
-                    taskInterface,
-                    taskObjectsRetriever,
-                    this.nestedObjectMapper,
-                    this.validator);
+        // Built out of the lock as TaskObjectsRetrieverCache does. Racing threads may build it twice, but it is harmless.
+        final ConfigTaskDeserializer<T> built = this.buildTaskDeserializer(taskInterface);
+        synchronized (this.taskDeserializers) {
+            this.taskDeserializers.put(taskInterface, new SoftReference<>(built));
         }
-        return super.findBeanDeserializer(type, config, beanDescription);
+        return built;
+    }
+
+    private <T extends Task> ConfigTaskDeserializer<T> buildTaskDeserializer(final Class<T> taskInterface) throws JsonMappingException {
+        return new ConfigTaskDeserializer<>(
+                taskInterface,
+                this.retrievers.get(taskInterface),
+                this.nestedObjectMapper,
+                this.readers,
+                this.validator,
+                this.generatesTaskClasses
+                        ? TaskClassGenerator.contextFor(taskInterface, this.nestedObjectMapper, this.readers, this.validator)
+                        : null,
+                this.lazyTaskFields,
+                this.listener);
+    }
+
+    TaskObjectsRetrieverCache getRetrievers() {
+        return this.retrievers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Task> ConfigTaskDeserializer<T> castToDeserializer(final ConfigTaskDeserializer<?> deserializer) {
+        return (ConfigTaskDeserializer<T>) deserializer;
     }
 
     @SuppressWarnings("unchecked")
@@ -74,7 +130,18 @@ final class ConfigTaskDeserializers extends Deserializers.Base {
         return (Class<? extends Task>) rawClass;
     }
 
-    private final boolean forConfig;
     private final ObjectMapper nestedObjectMapper;
+    private final ObjectReaderCache readers;
     private final Validator validator;
+    private final boolean generatesTaskClasses;
+    private final boolean lazyTaskFields;
+
+    // It is null unless a MappingListener is registered.
+    private final MappingListener listener;
+
+    // Binding plans compiled per task-defining interface, shared across mappings on the same ObjectMapper.
+    private final TaskObjectsRetrieverCache retrievers;
+
+    // Guarded by itself.
+    private final WeakHashMap<Class<?>, SoftReference<ConfigTaskDeserializer<?>>> taskDeserializers;
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+/**
+ * Specifies how {@link ConfigMapperFactory#encode(org.embulk.config.DataSource)} encodes a {@code DataSource} into bytes.
+ *
+ * <p>Either of them is decoded by {@link ConfigMapperFactory#decodeTaskSource(byte[])} and
+ * {@link ConfigMapperFactory#decodeTaskReport(byte[])} regardless of the codec selected on the {@link ConfigMapperFactory}.
+ */
+public enum DataSourceCodec {
+    /**
+     * Encodes a {@code DataSource} into a JSON in UTF-8, the same as {@code DataSource#toJson}.
+     */
+    JSON,
+
+    /**
+     * Encodes a {@code DataSource} into a compact binary form.
+     *
+     * <p>Integers are encoded in variable-length, a key repeated in a {@code DataSource} is encoded only once, and a binary
+     * value, such as the content of {@link org.embulk.util.config.units.LocalFile}, is encoded as-is without Base64. It is
+     * decoded into the same JSON tree as its JSON form would be read. It is only for exchanging a {@code DataSource} between
+     * processes of the same {@code embulk-util-config} version, not for storing.
+     */
+    COMPACT_BINARY,
+    ;
+}
@@ -28,8 +28,9 @@ import org.embulk.config.DataSource;
 
 // TODO T extends DataSource super DataSourceImpl
 final class DataSourceDeserializer<T extends DataSource> extends JsonDeserializer<T> {
-    DataSourceDeserializer(final ObjectMapper nestedObjectMapper) {
+    DataSourceDeserializer(final ObjectMapper nestedObjectMapper, final ObjectReaderCache readers) {
         this.nestedObjectMapper = nestedObjectMapper;
+        this.readers = readers;
         this.treeObjectMapper = new ObjectMapper();
     }
 
@@ -39,7 +40,7 @@ final class DataSourceDeserializer<T extends DataSource> extends JsonDeserialize
         if (!json.isObject()) {
             throw new JsonMappingException("Expected object to deserialize DataSource", jsonParser.getCurrentLocation());
         }
-        return castToT(new DataSourceImpl((ObjectNode) json, this.nestedObjectMapper));
+        return castToT(new DataSourceImpl((ObjectNode) json, this.nestedObjectMapper, this.readers));
     }
 
     @SuppressWarnings("unchecked")
@@ -48,5 +49,6 @@ final class DataSourceDeserializer<T extends DataSource> extends JsonDeserialize
     }
 
     private final ObjectMapper nestedObjectMapper;
+    private final ObjectReaderCache readers;
     private final ObjectMapper treeObjectMapper;
 }
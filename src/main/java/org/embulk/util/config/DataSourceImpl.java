@@ -16,18 +16,25 @@
 
 package org.embulk.util.config;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.embulk.config.ConfigDiff;
 import org.embulk.config.ConfigException;
 import org.embulk.config.ConfigSource;
@@ -40,54 +47,86 @@ import org.embulk.config.TaskSource;
  * {@link Task#toTaskSource()}.
  *
  * <p>It is {@code public} so that a reflection access to this class does not cause any error.
+ *
+ * <p>{@link #deepCopy()} is copy-on-write. It shares the internal {@code ObjectNode} tree with the copy. A modification
+ * on either side then copies only the objects and arrays on the path from the root to the modified node, which are not
+ * copied yet on the side. Nodes out of the path are still shared.
+ *
+ * <p>A nested {@code DataSource} from {@link #getNested(String)} is a view of the attribute in the tree of its parent. It
+ * looks up the attribute from its parent by name on every access, and it modifies the tree of its parent through the same
+ * path copying. Unlike a nested {@code DataSource} which held the nested object itself, it follows the parent's attribute:
+ *
+ * <ul>
+ * <li>After the parent removes the attribute, the view reads as an empty object, and a modification on the view sets the
+ *     attribute again in the parent as a new object.
+ * <li>After the parent sets another object to the attribute, the view reads and modifies the new object.
+ * <li>After the parent sets a non-object to the attribute, the view reads as an empty object, and a modification on the
+ *     view throws {@link org.embulk.config.ConfigException}.
+ * </ul>
+ *
+ * <p>Reading attributes never modifies the contents of a {@code DataSource}. Note that {@link #deepCopy()} marks the tree
+ * as shared, and {@link #getObjectNode()} copies the tree once if it is shared. They change how later modifications are
+ * made, but not the contents.
  */
 public final class DataSourceImpl implements ConfigSource, TaskSource, TaskReport, ConfigDiff {
-    DataSourceImpl(final ObjectNode data, final ObjectMapper objectMapper) {
-        this.data = data;
+    DataSourceImpl(final ObjectNode data, final ObjectMapper objectMapper, final ObjectReaderCache readers) {
+        this(new Tree(data, false), objectMapper, readers, null, null);
+    }
+
+    private DataSourceImpl(
+            final Tree tree,
+            final ObjectMapper objectMapper,
+            final ObjectReaderCache readers,
+            final DataSourceImpl parent,
+            final String attrNameInParent) {
+        this.tree = tree;
         this.objectMapper = objectMapper;
+        this.readers = readers;
+        this.parent = parent;
+        this.attrNameInParent = attrNameInParent;
     }
 
     @Override
     public List<String> getAttributeNames() {
         final ArrayList<String> copy = new ArrayList<>();
-        this.data.fieldNames().forEachRemaining(copy::add);
+        this.data().fieldNames().forEachRemaining(copy::add);
         return Collections.unmodifiableList(copy);
     }
 
     @Override
     public boolean isEmpty() {
-        return !this.data.fieldNames().hasNext();
+        return !this.data().fieldNames().hasNext();
     }
 
     @Override
     public boolean has(final String attrName) {
-        return this.data.has(attrName);
+        return this.data().has(attrName);
     }
 
     @Override
     public boolean hasList(final String attrName) {
-        if (!this.data.has(attrName)) {
+        if (!this.data().has(attrName)) {
             return false;
         }
-        return this.data.get(attrName).isArray();
+        return this.data().get(attrName).isArray();
     }
 
     @Override
     public boolean hasNested(final String attrName) {
-        if (!this.data.has(attrName)) {
+        if (!this.data().has(attrName)) {
             return false;
         }
-        return this.data.get(attrName).isObject();
+        return this.data().get(attrName).isObject();
     }
 
     @Override
     public <E> E get(final Class<E> type, final String attrName) {
-        final JsonNode json = this.data.get(attrName);
+        final JsonNode json = this.data().get(attrName);
         if (json == null) {
             throw new ConfigException("Attribute " + attrName + " is required but not set.");
         }
         try {
-            return this.objectMapper.readValue(json.traverse(), type);
+            return this.readers.read(json, type);
         } catch (final IOException ex) {
             throw new ConfigException(ex);
         }
@@ -95,12 +134,12 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
 
     @Override
     public <E> E get(final Class<E> type, final String attrName, final E defaultValue) {
-        final JsonNode json = this.data.get(attrName);
+        final JsonNode json = this.data().get(attrName);
         if (json == null) {
             return defaultValue;
         }
         try {
-            return this.objectMapper.readValue(json.traverse(), type);
+            return this.readers.read(json, type);
         } catch (final IOException ex) {
             throw new ConfigException(ex);
         }
@@ -108,7 +147,7 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
 
     @Override
     public <E> List<E> getListOf(final Class<E> type, final String attrName) {
-        final JsonNode json = this.data.get(attrName);
+        final JsonNode json = this.data().get(attrName);
         if (json == null) {
             throw new ConfigException("Attribute " + attrName + " is required but not set.");
         }
@@ -119,7 +158,7 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
         final ArrayList<E> list = new ArrayList<>();
         for (final JsonNode element : json) {  // |json| should be ArrayNode.
             try {
-                list.add(this.objectMapper.readValue(element.traverse(), type));
+                list.add(this.readers.read(element, type));
             } catch (final IOException ex) {
                 throw new ConfigException(ex);
             }
@@ -130,41 +169,41 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
 
     @Override
     public DataSourceImpl getNested(final String attrName) {
-        final JsonNode json = this.data.get(attrName);
+        final JsonNode json = this.data().get(attrName);
         if (json == null) {
             throw new ConfigException("Attribute " + attrName + " is required but not set.");
         }
         if (!json.isObject()) {
             throw new ConfigException("Attribute " + attrName + " must be an object.");
         }
-        return new DataSourceImpl((ObjectNode) json, this.objectMapper);
+        return this.newNested(attrName);
     }
 
     @Override
     public DataSourceImpl getNestedOrSetEmpty(final String attrName) {
-        final JsonNode json = this.data.get(attrName);
+        final JsonNode json = this.data().get(attrName);
         if (json == null) {
-            final ObjectNode object = this.data.objectNode();
+            final ObjectNode object = this.data().objectNode();
             object.set(attrName, json);
-            return new DataSourceImpl(object, this.objectMapper);
+            return new DataSourceImpl(object, this.objectMapper, this.readers);
         }
         if (!json.isObject()) {
             throw new ConfigException("Attribute " + attrName + " must be an object.");
         }
-        return new DataSourceImpl((ObjectNode) json, this.objectMapper);
+        return this.newNested(attrName);
     }
 
     @Override
     public DataSourceImpl getNestedOrGetEmpty(final String attrName) {
-        final JsonNode json = this.data.get(attrName);
+        final JsonNode json = this.data().get(attrName);
         if (json == null) {
-            final ObjectNode object = this.data.objectNode();
-            return new DataSourceImpl(object, this.objectMapper);
+            final ObjectNode object = this.data().objectNode();
+            return new DataSourceImpl(object, this.objectMapper, this.readers);
         }
         if (!json.isObject()) {
             throw new ConfigException("Attribute " + attrName + " must be an object.");
         }
-        return new DataSourceImpl((ObjectNode) json, this.objectMapper);
+        return this.newNested(attrName);
     }
 
     @Override
@@ -172,7 +211,7 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
         if (v == null) {
             this.remove(attrName);
         } else {
-            this.data.set(attrName, this.objectMapper.valueToTree(v));
+            this.writableData().set(attrName, this.objectMapper.valueToTree(v));
         }
         return this;
     }
@@ -180,27 +219,9 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
     @Override
     public DataSourceImpl setNested(final String attrName, final DataSource v) {
         if (v == null) {
-            this.data.set(attrName, null);
+            this.writableData().set(attrName, null);
         } else {
-            final String vJsonStringified;
-            try {
-                vJsonStringified = Compat.toJson(v);  // TODO: DataSource#toJson
-            } catch (final IOException ex) {
-                throw new ConfigException("Unexpected failure in stringifying DataSource as JSON.", ex);
-            }
-            if (vJsonStringified == null) {
-                throw new ConfigException(new NullPointerException("DataSource#setNested accepts only valid DataSource."));
-            }
-            final JsonNode vJsonNode;
-            try {
-                vJsonNode = this.objectMapper.readValue(vJsonStringified, JsonNode.class);
-            } catch (final IOException ex) {
-                throw new ConfigException(ex);
-            }
-            if (!vJsonNode.isObject()) {
-                throw new ConfigException(new ClassCastException("DataSource#setNested accepts only valid JSON object."));
-            }
-            this.data.set(attrName, (ObjectNode) vJsonNode);
+            this.writableData().set(attrName, this.copyObjectNodeFrom(v, "setNested"));
         }
         return this;
     }
@@ -210,40 +231,24 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
         if (other == null) {
             throw new ConfigException(new NullPointerException("DataSource#setAll accepts only non-null value."));
         }
-        final String otherJsonStringified;
-        try {
-            otherJsonStringified = Compat.toJson(other);  // TODO: DataSource#toJson
-        } catch (final IOException ex) {
-            throw new ConfigException("Unexpected failure in stringifying DataSource as JSON.", ex);
-        }
-        if (otherJsonStringified == null) {
-            throw new ConfigException(new NullPointerException("DataSource#setAll accepts only valid DataSource."));
-        }
-        final JsonNode otherJsonNode;
-        try {
-            otherJsonNode = this.objectMapper.readValue(otherJsonStringified, JsonNode.class);
-        } catch (final IOException ex) {
-            throw new ConfigException(ex);
-        }
-        if (!otherJsonNode.isObject()) {
-            throw new ConfigException(new ClassCastException("DataSource#setAll accepts only valid JSON object."));
-        }
-        final ObjectNode otherObjectNode = (ObjectNode) otherJsonNode;
+        final ObjectNode otherObjectNode = this.copyObjectNodeFrom(other, "setAll");
+        final ObjectNode data = this.writableData();
         for (final Map.Entry<String, JsonNode> field : (Iterable<Map.Entry<String, JsonNode>>) () -> otherObjectNode.fields()) {
-            this.data.set(field.getKey(), field.getValue());
+            data.set(field.getKey(), field.getValue());
         }
         return this;
     }
 
     @Override
     public DataSourceImpl remove(final String attrName) {
-        this.data.remove(attrName);
+        this.writableData().remove(attrName);
         return this;
     }
 
     @Override
     public DataSourceImpl deepCopy() {
-        return new DataSourceImpl(this.data.deepCopy(), this.objectMapper);
+        final ObjectNode copied = this.copyData();
+        return new DataSourceImpl(new Tree(copied, copied == this.data()), this.objectMapper, this.readers, null, null);
     }
 
     @Override
@@ -251,25 +256,12 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
         if (other == null) {
             throw new ConfigException(new NullPointerException("DataSource#merge accepts only non-null value."));
         }
-        final String otherJsonStringified;
-        try {
-            otherJsonStringified = Compat.toJson(other);  // DataSource#toJson
-        } catch (final IOException ex) {
-            throw new ConfigException("Unexpected failure in stringifying DataSource as JSON.", ex);
-        }
-        if (otherJsonStringified == null) {
-            throw new ConfigException(new NullPointerException("DataSource#merge accepts only valid DataSource."));
-        }
-        final JsonNode otherJsonNode;
-        try {
-            otherJsonNode = this.objectMapper.readValue(otherJsonStringified, JsonNode.class);
-        } catch (final IOException ex) {
-            throw new ConfigException(ex);
-        }
-        if (!otherJsonNode.isObject()) {
-            throw new ConfigException(new ClassCastException("DataSource#setAll accepts only valid JSON object."));
+        final Object event = FlightRecorderEvent.DATA_SOURCE_MERGE.begin();
+        final ObjectNode otherObjectNode = this.copyObjectNodeFrom(other, "merge");
+        JsonNodes.merge(this.writableData(), otherObjectNode, JsonNodes.maximumDepthOf(this.objectMapper), this.tree::writable);
+        if (FlightRecorderEvent.DATA_SOURCE_MERGE.end(event)) {
+            FlightRecorderEvent.DATA_SOURCE_MERGE.commit(event, other.getClass().getName(), otherObjectNode.size());
         }
-        mergeJsonObject(data, (ObjectNode) otherJsonNode);
         return this;
     }
 
@@ -281,20 +273,70 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
     @Override
     public String toJson() {
         try {
-            return this.objectMapper.writeValueAsString(this.data);
+            return this.objectMapper.writeValueAsString(this.data());
         } catch (final JsonProcessingException ex) {
             throw new ConfigException(ex);
         }
     }
 
+    /**
+     * Writes the JSON representation into an {@link java.io.OutputStream} in UTF-8, without building a {@link String}.
+     *
+     * <p>The stream is flushed, but not closed.
+     *
+     * @param out  the stream to write into
+     * @throws IOException  if failing to write into the stream
+     */
+    public void writeJson(final OutputStream out) throws IOException {
+        this.jsonWriter().writeValue(out, this.data());
+    }
+
+    /**
+     * Writes the JSON representation into a {@link java.io.Writer}, without building a {@link String}.
+     *
+     * <p>The writer is flushed, but not closed.
+     *
+     * @param writer  the writer to write into
+     * @throws IOException  if failing to write into the writer
+     */
+    public void writeJson(final Writer writer) throws IOException {
+        this.jsonWriter().writeValue(writer, this.data());
+    }
+
+    /**
+     * Writes the JSON representation into a {@link java.nio.ByteBuffer} in UTF-8 from its current position.
+     *
+     * <p>It is for a caller pooling its {@link java.nio.ByteBuffer}s. The position of the buffer is advanced by the number
+     * of bytes written. If the buffer does not have enough space, its position is restored, and
+     * {@link java.nio.BufferOverflowException} is thrown so that the caller can retry with a larger buffer.
+     *
+     * @param buffer  the buffer to write into
+     * @throws java.nio.BufferOverflowException  if the buffer does not have enough space
+     * @throws ConfigException  if failing to generate JSON
+     */
+    public void writeJson(final ByteBuffer buffer) {
+        final int position = buffer.position();
+        try {
+            this.jsonWriter().writeValue(new ByteBufferBackedOutputStream(buffer), this.data());
+        } catch (final BufferOverflowException ex) {
+            buffer.position(position);
+            throw ex;
+        } catch (final IOException ex) {
+            buffer.position(position);
+            throw new ConfigException(ex);
+        }
+    }
+
     /**
      * Implements {@code DataSource#toMap} for Embulk v0.10.41+.
      *
      * <p>Embulk v0.10.40 or earlier does not have {@code DataSource#toMap}.
+     *
+     * <p>It returns a read-only view of a copy-on-write copy, which converts values only when they are accessed.
      */
     @Override
     public Map<String, Object> toMap() {
-        return nodeToMap(this.data);
+        return nodeToMap(this.copyData());
     }
 
     /**
@@ -315,7 +357,7 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
     // @Override
     public <T> T loadTask(final Class<T> taskType) {
         try {
-            return this.objectMapper.readValue(this.data.traverse(), taskType);
+            return this.objectMapper.readValue(this.data().traverse(), taskType);
         } catch (final IOException ex) {
             throw new ConfigException(ex);
         }
@@ -377,12 +419,23 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
     // TODO: Remove this implementation after most users drop Embulk v0.9.23.
     @Deprecated
     public ObjectNode getObjectNode() {
-        return this.data;
+        // The returned ObjectNode can be modified outside. The tree is no longer shared with copies.
+        this.tree.escape();
+        return this.writableData();
+    }
+
+    /**
+     * Returns the internal {@code ObjectNode} for {@link Compat} to read it without going through a stringified JSON.
+     *
+     * <p>The returned {@code ObjectNode} must not be modified as it may be shared with copies.
+     */
+    ObjectNode getInternalObjectNode() {
+        return this.data();
     }
 
     @Override
     public String toString() {
-        return this.data.toString();
+        return this.data().toString();
     }
 
     @Override
@@ -393,6 +446,11 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
         if (!(other instanceof DataSource)) {
             return false;
         }
+        if (other instanceof DataSourceImpl) {
+            // The other is embulk-util-config's own DataSourceImpl loaded by the same class loader. Its ObjectNode is
+            // compared directly, without going through a stringified JSON.
+            return JsonNodes.equalsAsJson(this.data(), ((DataSourceImpl) other).data());
+        }
         final DataSource otherDataSource = (DataSource) other;
         final String otherJsonStringified;
         try {
@@ -412,90 +470,192 @@ public final class DataSourceImpl implements ConfigSource, TaskSource, TaskRepor
         if (!otherJsonNode.isObject()) {
             return false;
         }
-        return this.data.equals((ObjectNode) otherJsonNode);
+        return JsonNodes.equalsAsJson(this.data(), (ObjectNode) otherJsonNode);
     }
 
     @Override
     public int hashCode() {
-        return this.data.hashCode();
+        // Consistent with equals comparing numbers by their values.
+        return JsonNodes.hashCodeAsJson(this.data());
     }
 
-    private static void mergeJsonObject(final ObjectNode src, final ObjectNode other) {
-        final Iterator<Map.Entry<String, JsonNode>> it = other.fields();
-        while (it.hasNext()) {
-            final Map.Entry<String, JsonNode> pair = it.next();
-            final JsonNode s = src.get(pair.getKey());
-            final JsonNode v = pair.getValue();
+    /**
+     * Returns a JSON object copied from another {@code DataSource} to be set into this {@link DataSourceImpl}.
+     *
+     * <p>If the other is embulk-util-config's own {@link DataSourceImpl} loaded by the same class loader, its
+     * {@code ObjectNode} is copied directly. Otherwise, for example, embulk-core's {@code DataSourceImpl}, or
+     * embulk-util-config's {@link DataSourceImpl} loaded by another plugin's class loader, it goes through a stringified JSON.
+     */
+    private ObjectNode copyObjectNodeFrom(final DataSource other, final String methodName) {
+        if (other instanceof DataSourceImpl) {
+            return ((DataSourceImpl) other).data().deepCopy();
+        }
 
-            if (v.isObject() && s != null && s.isObject()) {
-                mergeJsonObject((ObjectNode) s, (ObjectNode) v);
-            } else if (v.isArray() && s != null && s.isArray()) {
-                mergeJsonArray((ArrayNode) s, (ArrayNode) v);
-            } else {
-                src.replace(pair.getKey(), v);
-            }
+        final String otherJsonStringified;
+        try {
+            otherJsonStringified = Compat.toJson(other);  // DataSource#toJson
+        } catch (final IOException ex) {
+            throw new ConfigException("Unexpected failure in stringifying DataSource as JSON.", ex);
+        }
+        if (otherJsonStringified == null) {
+            throw new ConfigException(new NullPointerException("DataSource#" + methodName + " accepts only valid DataSource."));
         }
+        final JsonNode otherJsonNode;
+        try {
+            otherJsonNode = this.objectMapper.readValue(otherJsonStringified, JsonNode.class);
+        } catch (final IOException ex) {
+            throw new ConfigException(ex);
+        }
+        if (!otherJsonNode.isObject()) {
+            throw new ConfigException(new ClassCastException("DataSource#" + methodName + " accepts only valid JSON object."));
+        }
+        return (ObjectNode) otherJsonNode;
     }
 
-    private static void mergeJsonArray(final ArrayNode src, final ArrayNode other) {
-        for (int i = 0; i < other.size(); i++) {
-            JsonNode s = src.get(i);
-            JsonNode v = other.get(i);
-            if (s == null) {
-                src.add(v);
-            } else if (v.isObject() && s.isObject()) {
-                mergeJsonObject((ObjectNode) s, (ObjectNode) v);
-            } else if (v.isArray() && s.isArray()) {
-                mergeJsonArray((ArrayNode) s, (ArrayNode) v);
-            } else {
-                src.remove(i);
-                src.insert(i, v);
-            }
+    private ObjectWriter jsonWriter() {
+        return this.objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Returns the tree to be shared with a copy, or copies the tree if it cannot be shared.
+     */
+    private ObjectNode copyData() {
+        if (this.tree.isEscaped()) {
+            return this.data().deepCopy();
+        }
+        this.tree.share();
+        return this.data();
+    }
+
+    private DataSourceImpl newNested(final String attrName) {
+        return new DataSourceImpl(this.tree, this.objectMapper, this.readers, this, attrName);
+    }
+
+    /**
+     * Returns the object of this {@link DataSourceImpl} to read, without modifying anything.
+     */
+    private ObjectNode data() {
+        if (this.parent == null) {
+            return this.tree.root;
+        }
+        final JsonNode json = this.parent.data().get(this.attrNameInParent);
+        if (json == null || !json.isObject()) {
+            // The attribute has been removed, or replaced with a non-object, in the parent after this view was created.
+            return this.tree.root.objectNode();
+        }
+        return (ObjectNode) json;
+    }
+
+    /**
+     * Returns the object of this {@link DataSourceImpl} to modify, after copying the objects on the path from the root if shared.
+     */
+    private ObjectNode writableData() {
+        if (this.parent == null) {
+            return this.tree.writableRoot();
         }
+        final ObjectNode parentData = this.parent.writableData();
+        final JsonNode json = parentData.get(this.attrNameInParent);
+        if (json == null) {
+            return parentData.putObject(this.attrNameInParent);
+        }
+        if (!json.isObject()) {
+            throw new ConfigException("Attribute " + this.attrNameInParent + " must be an object.");
+        }
+        final JsonNode written = this.tree.writable(json);
+        if (written != json) {
+            parentData.set(this.attrNameInParent, written);
+        }
+        return (ObjectNode) written;
     }
 
     // Not private for Compat.toMap.
     static Map<String, Object> nodeToMap(final ObjectNode object) {
-        final LinkedHashMap<String, Object> map = new LinkedHashMap<>();
-        for (final Map.Entry<String, JsonNode> field : (Iterable<Map.Entry<String, JsonNode>>) () -> object.fields()) {
-            map.put(field.getKey(), nodeToJavaObject(field.getValue()));
-        }
-        return Collections.unmodifiableMap(map);
+        return JsonNodes.toMap(object);
     }
 
-    private static List<Object> nodeToList(final ArrayNode array) {
-        final ArrayList<Object> list = new ArrayList<>();
-        for (final JsonNode element : (Iterable<JsonNode>) () -> array.elements()) {
-            list.add(nodeToJavaObject(element));
+    /**
+     * The tree of {@link DataSourceImpl}, shared among a {@link DataSourceImpl} and its nested views.
+     *
+     * <p>Objects and arrays in the tree are shared with copies unless they are copied into this tree after the last share.
+     * The copied ones are tracked by their identities. Value nodes are immutable, and they are always shared.
+     */
+    private static final class Tree {
+        private Tree(final ObjectNode root, final boolean shared) {
+            this.root = root;
+            this.written = shared ? NOTHING_WRITTEN : null;
+            this.escaped = false;
+        }
+
+        /**
+         * Marks all the nodes in the tree as shared so that none of them is modified in place later.
+         */
+        private void share() {
+            this.written = NOTHING_WRITTEN;
+        }
+
+        /**
+         * Copies the tree once for the root object to be modified outside, and stops sharing the tree.
+         */
+        private void escape() {
+            if (this.written != null) {
+                this.root = this.root.deepCopy();
+                this.written = null;
+            }
+            this.escaped = true;
         }
-        return Collections.unmodifiableList(list);
+
+        private boolean isEscaped() {
+            return this.escaped;
+        }
+
+        private ObjectNode writableRoot() {
+            this.root = (ObjectNode) this.writable(this.root);
+            return this.root;
+        }
+
+        /**
+         * Returns the object or the array itself if it can be modified, or its shallow copy if it may be shared.
+         */
+        private JsonNode writable(final JsonNode node) {
+            final Set<JsonNode> written = this.written;
+            if (written == null || written.contains(node)) {
+                return node;
+            }
+            final JsonNode copy;
+            if (node.isObject()) {
+                final ObjectNode object = ((ObjectNode) node).objectNode();
+                object.setAll((ObjectNode) node);
+                copy = object;
+            } else if (node.isArray()) {
+                final ArrayNode array = ((ArrayNode) node).arrayNode(node.size());
+                array.addAll((ArrayNode) node);
+                copy = array;
+            } else {
+                return node;
+            }
+            if (written == NOTHING_WRITTEN) {
+                this.written = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+            this.written.add(copy);
+            return copy;
+        }
+
+        private static final Set<JsonNode> NOTHING_WRITTEN = Collections.emptySet();
+
+        private ObjectNode root;
+
+        // It is null unless the tree has been shared. Nodes copied after the last share are in the Set.
+        // It is volatile as deepCopy() shares the tree even while other threads only read the tree.
+        private volatile Set<JsonNode> written;
+
+        private boolean escaped;
     }
 
-    private static Object nodeToJavaObject(final JsonNode json) {
-        switch (json.getNodeType()) {
-            case ARRAY:
-                return nodeToList((ArrayNode) json);
-            case BINARY:
-                return json.asText();
-            case BOOLEAN:
-                return json.booleanValue();
-            case MISSING:
-                throw new ConfigException("Unexpected JSON node type MISSING in DataSouce.");
-            case NULL:
-                return null;  // LinkedHashMap accepts null as a value.
-            case NUMBER:
-                return json.numberValue();
-            case OBJECT:
-                return nodeToMap((ObjectNode) json);
-            case POJO:
-                throw new ConfigException("Unexpected JSON node type POJO in DataSouce.");
-            case STRING:
-                return json.asText();
-            default:
-                throw new ConfigException("Unknown JSON node type in DataSouce.");
-        }
-    }
-
-    private final ObjectNode data;
     private final ObjectMapper objectMapper;
+    private final ObjectReaderCache readers;
+    private final Tree tree;
+
+    // It is null unless this DataSourceImpl is a nested view from getNested.
+    private final DataSourceImpl parent;
+    private final String attrNameInParent;
 }
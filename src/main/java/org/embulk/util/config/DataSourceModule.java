@@ -24,28 +24,28 @@ import org.embulk.config.TaskReport;
 import org.embulk.config.TaskSource;
 
 final class DataSourceModule extends SimpleModule {
-    DataSourceModule(final ObjectMapper nestedObjectMapper) {
+    DataSourceModule(final ObjectMapper nestedObjectMapper, final ObjectReaderCache readers) {
         super(DataSourceModule.class.getCanonicalName(), Version.JACKSON_MODULE_VERSION);
 
         // DataSourceImpl -- disabled for now. Is it really needed?
         // TODO: Revisit it to reconsider its necessity.
         // addSerializer(DataSourceImpl.class, new DataSourceSerializer<DataSourceImpl>(nestedObjectMapper));
-        // addDeserializer(DataSourceImpl.class, new DataSourceDeserializer<DataSourceImpl>(nestedObjectMapper));
+        // addDeserializer(DataSourceImpl.class, new DataSourceDeserializer<DataSourceImpl>(nestedObjectMapper, readers));
 
         // ConfigSource
         this.addSerializer(ConfigSource.class, new DataSourceSerializer<ConfigSource>(nestedObjectMapper));
-        this.addDeserializer(ConfigSource.class, new DataSourceDeserializer<ConfigSource>(nestedObjectMapper));
+        this.addDeserializer(ConfigSource.class, new DataSourceDeserializer<ConfigSource>(nestedObjectMapper, readers));
 
         // TaskSource
         this.addSerializer(TaskSource.class, new DataSourceSerializer<TaskSource>(nestedObjectMapper));
-        this.addDeserializer(TaskSource.class, new DataSourceDeserializer<TaskSource>(nestedObjectMapper));
+        this.addDeserializer(TaskSource.class, new DataSourceDeserializer<TaskSource>(nestedObjectMapper, readers));
 
         // TaskReport
         this.addSerializer(TaskReport.class, new DataSourceSerializer<TaskReport>(nestedObjectMapper));
-        this.addDeserializer(TaskReport.class, new DataSourceDeserializer<TaskReport>(nestedObjectMapper));
+        this.addDeserializer(TaskReport.class, new DataSourceDeserializer<TaskReport>(nestedObjectMapper, readers));
 
         // ConfigDiff
         this.addSerializer(ConfigDiff.class, new DataSourceSerializer<ConfigDiff>(nestedObjectMapper));
-        this.addDeserializer(ConfigDiff.class, new DataSourceDeserializer<ConfigDiff>(nestedObjectMapper));
+        this.addDeserializer(ConfigDiff.class, new DataSourceDeserializer<ConfigDiff>(nestedObjectMapper, readers));
     }
 }
@@ -41,6 +41,11 @@ final class DataSourceSerializer<T extends DataSource> extends JsonSerializer<T>
             throw new JsonGenerationException(new NullPointerException(
                     "DataSourceSerializer#serialize accepts only non-null value."));
         }
+        if (value instanceof DataSourceImpl) {
+            // embulk-util-config's own DataSourceImpl loaded by the same class loader is streamed from its ObjectNode directly.
+            ((DataSourceImpl) value).getInternalObjectNode().serialize(jsonGenerator, serializerProvider);
+            return;
+        }
         final String valueJsonStringified;
         try {
             valueJsonStringified = Compat.toJson(value);  // TODO: DataSource#toJson
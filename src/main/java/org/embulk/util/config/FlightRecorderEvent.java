@@ -0,0 +1,295 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Emits a custom event of Java Flight Recorder, defined by {@code jdk.jfr.EventFactory} through reflection.
+ *
+ * <p>embulk-util-config is built for Java 8, where {@code jdk.jfr} is not always available. Its event classes cannot be
+ * extended at compile time, then events are defined dynamically when this class is initialized. If {@code jdk.jfr} is not
+ * available, or failing to define the events, every method here does nothing.
+ *
+ * <p>It is used as below. Values are set only if the event is committed, so that values costly to compute, such as the
+ * size of a source in bytes, are computed only while recording.
+ *
+ * <pre>{@code final Object event = FlightRecorderEvent.TASK_MAPPING.begin();
+ * // ... work to be measured ...
+ * if (FlightRecorderEvent.TASK_MAPPING.end(event)) {
+ *     FlightRecorderEvent.TASK_MAPPING.commit(event, "ConfigMapper", taskType.getName(), fieldCount, inputBytes);
+ * }}</pre>
+ */
+final class FlightRecorderEvent {
+    private FlightRecorderEvent(final String name, final Handles handles) {
+        this.name = name;
+        this.handles = handles;
+    }
+
+    /**
+     * Returns {@code true} if the event is defined in Java Flight Recorder.
+     */
+    boolean isAvailable() {
+        return this.handles != null;
+    }
+
+    /**
+     * Begins a new event, or returns {@code null} if the event is not available, or not enabled in any recording.
+     */
+    Object begin() {
+        final Handles handles = this.handles;
+        if (handles == null) {
+            return null;
+        }
+        try {
+            if (!(boolean) handles.isEnabled.invokeExact()) {
+                return null;
+            }
+            final Object event = (Object) handles.newEvent.invokeExact();
+            handles.begin.invokeExact(event);
+            return event;
+        } catch (final Throwable ex) {
+            this.logFailure(ex);
+            return null;
+        }
+    }
+
+    /**
+     * Ends the event, and returns {@code true} if the event should be committed, for example, it lasts beyond its threshold.
+     */
+    boolean end(final Object event) {
+        if (event == null) {
+            return false;
+        }
+        try {
+            this.handles.end.invokeExact(event);
+            return (boolean) this.handles.shouldCommit.invokeExact(event);
+        } catch (final Throwable ex) {
+            this.logFailure(ex);
+            return false;
+        }
+    }
+
+    /**
+     * Sets the values of the fields of the event in the order defined, and commits the event.
+     */
+    void commit(final Object event, final Object... values) {
+        if (event == null) {
+            return;
+        }
+        try {
+            for (int i = 0; i < values.length; i++) {
+                this.handles.set.invokeExact(event, i, values[i]);
+            }
+            this.handles.commit.invokeExact(event);
+        } catch (final Throwable ex) {
+            this.logFailure(ex);
+        }
+    }
+
+    private void logFailure(final Throwable ex) {
+        if (ex instanceof VirtualMachineError) {
+            throw (VirtualMachineError) ex;
+        }
+        logger.warn("Failed to emit a JFR event: {}", this.name, ex);
+    }
+
+    private static FlightRecorderEvent define(final String name, final String label, final String description, final Field... fields) {
+        Handles handles = null;
+        if (JFR != null) {
+            try {
+                handles = JFR.define(name, label, description, Arrays.asList(fields));
+            } catch (final ReflectiveOperationException | RuntimeException ex) {
+                logger.debug("JFR event {} is not defined.", name, ex);
+            }
+        }
+        return new FlightRecorderEvent(name, handles);
+    }
+
+    private static Field field(final Class<?> type, final String name, final String label) {
+        return new Field(type, name, label);
+    }
+
+    private static Jfr loadJfr() {
+        try {
+            return new Jfr();
+        } catch (final ReflectiveOperationException | LinkageError | RuntimeException ex) {
+            logger.debug("JFR is not available. JFR events are not emitted from embulk-util-config.", ex);
+            return null;
+        }
+    }
+
+    private static final class Field {
+        Field(final Class<?> type, final String name, final String label) {
+            this.type = type;
+            this.name = name;
+            this.label = label;
+        }
+
+        private final Class<?> type;
+        private final String name;
+        private final String label;
+    }
+
+    /**
+     * Method handles on an event type defined by {@code jdk.jfr.EventFactory}.
+     */
+    private static final class Handles {
+        Handles(final MethodHandle isEnabled, final MethodHandle newEvent, final Jfr jfr) {
+            this.isEnabled = isEnabled;
+            this.newEvent = newEvent;
+            this.begin = jfr.begin;
+            this.end = jfr.end;
+            this.shouldCommit = jfr.shouldCommit;
+            this.set = jfr.set;
+            this.commit = jfr.commit;
+        }
+
+        private final MethodHandle isEnabled;  // () boolean
+        private final MethodHandle newEvent;  // () Object
+        private final MethodHandle begin;  // (Object) void
+        private final MethodHandle end;  // (Object) void
+        private final MethodHandle shouldCommit;  // (Object) boolean
+        private final MethodHandle set;  // (Object, int, Object) void
+        private final MethodHandle commit;  // (Object) void
+    }
+
+    /**
+     * Classes and methods of {@code jdk.jfr} looked up through reflection.
+     */
+    private static final class Jfr {
+        Jfr() throws ReflectiveOperationException {
+            final ClassLoader loader = ClassLoader.getSystemClassLoader();
+            final Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement", false, loader);
+            final Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor", false, loader);
+            this.eventFactoryClass = Class.forName("jdk.jfr.EventFactory", false, loader);
+            this.nameClass = Class.forName("jdk.jfr.Name", false, loader).asSubclass(Annotation.class);
+            this.labelClass = Class.forName("jdk.jfr.Label", false, loader).asSubclass(Annotation.class);
+            this.descriptionClass = Class.forName("jdk.jfr.Description", false, loader).asSubclass(Annotation.class);
+            this.categoryClass = Class.forName("jdk.jfr.Category", false, loader).asSubclass(Annotation.class);
+            this.annotationElementConstructor = annotationElementClass.getConstructor(Class.class, Object.class);
+            this.valueDescriptorConstructor = valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+
+            final Class<?> eventClass = Class.forName("jdk.jfr.Event", false, loader);
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final MethodType toVoid = MethodType.methodType(void.class, Object.class);
+            this.begin = lookup.unreflect(eventClass.getMethod("begin")).asType(toVoid);
+            this.end = lookup.unreflect(eventClass.getMethod("end")).asType(toVoid);
+            this.shouldCommit = lookup.unreflect(eventClass.getMethod("shouldCommit")).asType(MethodType.methodType(boolean.class, Object.class));
+            this.set = lookup.unreflect(eventClass.getMethod("set", int.class, Object.class))
+                    .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+            this.commit = lookup.unreflect(eventClass.getMethod("commit")).asType(toVoid);
+        }
+
+        Handles define(final String name, final String label, final String description, final List<Field> fields)
+                throws ReflectiveOperationException {
+            final List<Object> annotations = new ArrayList<>();
+            annotations.add(this.annotationElementConstructor.newInstance(this.nameClass, name));
+            annotations.add(this.annotationElementConstructor.newInstance(this.labelClass, label));
+            annotations.add(this.annotationElementConstructor.newInstance(this.descriptionClass, description));
+            annotations.add(this.annotationElementConstructor.newInstance(this.categoryClass, CATEGORY.clone()));
+
+            final List<Object> valueDescriptors = new ArrayList<>();
+            for (final Field field : fields) {
+                valueDescriptors.add(this.valueDescriptorConstructor.newInstance(
+                        field.type,
+                        field.name,
+                        Collections.singletonList(this.annotationElementConstructor.newInstance(this.labelClass, field.label))));
+            }
+
+            final Object factory = this.eventFactoryClass.getMethod("create", List.class, List.class).invoke(null, annotations, valueDescriptors);
+
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Object eventType = this.eventFactoryClass.getMethod("getEventType").invoke(factory);
+            final MethodHandle isEnabled = lookup.unreflect(eventType.getClass().getMethod("isEnabled"))
+                    .bindTo(eventType)
+                    .asType(MethodType.methodType(boolean.class));
+            final MethodHandle newEvent = lookup.unreflect(this.eventFactoryClass.getMethod("newEvent"))
+                    .bindTo(factory)
+                    .asType(MethodType.methodType(Object.class));
+            return new Handles(isEnabled, newEvent, this);
+        }
+
+        private final Class<?> eventFactoryClass;
+        private final Class<? extends Annotation> nameClass;
+        private final Class<? extends Annotation> labelClass;
+        private final Class<? extends Annotation> descriptionClass;
+        private final Class<? extends Annotation> categoryClass;
+        private final Constructor<?> annotationElementConstructor;
+        private final Constructor<?> valueDescriptorConstructor;
+
+        private final MethodHandle begin;
+        private final MethodHandle end;
+        private final MethodHandle shouldCommit;
+        private final MethodHandle set;
+        private final MethodHandle commit;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderEvent.class);
+
+    private static final String[] CATEGORY = { "Embulk", "embulk-util-config" };
+
+    private static final Jfr JFR = loadJfr();
+
+    /**
+     * Mapping a {@code DataSource} into a task-defining interface by {@link ConfigMapper} or {@link TaskMapper}.
+     */
+    static final FlightRecorderEvent TASK_MAPPING = define(
+            "org.embulk.util.config.TaskMapping",
+            "Task Mapping",
+            "Mapping a DataSource into a task-defining interface",
+            field(String.class, "mapper", "Mapper"),
+            field(String.class, "taskType", "Task Type"),
+            field(int.class, "fieldCount", "Field Count"),
+            field(long.class, "inputBytes", "Input Size"));
+
+    /**
+     * Rebuilding a Jackson {@code ObjectNode} on plugin's side from a {@code DataSource}.
+     */
+    static final FlightRecorderEvent OBJECT_NODE_REBUILD = define(
+            "org.embulk.util.config.ObjectNodeRebuild",
+            "ObjectNode Rebuild",
+            "Rebuilding a Jackson ObjectNode from a DataSource, through the path of toJson, toMap, getObjectNode, or a copy",
+            field(String.class, "path", "Path"),
+            field(String.class, "sourceClass", "Source Class"),
+            field(long.class, "inputBytes", "Input Size"));
+
+    /**
+     * Merging a {@code DataSource} into {@link DataSourceImpl}.
+     */
+    static final FlightRecorderEvent DATA_SOURCE_MERGE = define(
+            "org.embulk.util.config.DataSourceMerge",
+            "DataSource Merge",
+            "Merging a DataSource into DataSourceImpl of embulk-util-config",
+            field(String.class, "sourceClass", "Source Class"),
+            field(int.class, "fieldCount", "Field Count"));
+
+    private final String name;
+
+    // It is null if the event is not available.
+    private final Handles handles;
+}
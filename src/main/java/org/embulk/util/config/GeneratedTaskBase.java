@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.embulk.config.TaskSource;
+
+/**
+ * A base class of {@link Task} classes generated by {@link TaskClassGenerator}.
+ *
+ * <p>It is public only because generated classes are defined in their own {@link java.lang.ClassLoader}s, and they need
+ * to extend this class from another runtime package. It is not for plugins. Plugins should not refer this class.
+ *
+ * <p>A generated class has a field for every slot in its {@link TaskLayout}, and implements getters and setters of its
+ * task-defining interface with the fields. This base class implements the common methods with the same behavior as
+ * {@link TaskInvocationHandler} so that a generated task is compatible with a task implemented with {@link java.lang.reflect.Proxy}.
+ */
+public abstract class GeneratedTaskBase implements Task {
+    /**
+     * Constructs a generated task.
+     *
+     * @param context  {@link Context}, which is passed as {@link java.lang.Object} so that a generated class does not
+     *     refer Jackson and other classes in its constructor
+     */
+    protected GeneratedTaskBase(final Object context) {
+        this.context = (Context) context;
+    }
+
+    /**
+     * Returns values of the fields in the order of slots, which is implemented in a generated class.
+     */
+    protected abstract Object[] readSlots();
+
+    @Override
+    public final void validate() {
+        if (this.context.validator != null) {
+            final Set<ConstraintViolation<Object>> violations = this.context.validator.validate(this);
+            if (!violations.isEmpty()) {
+                throw new TaskValidationException(violations);
+            }
+        }
+    }
+
+    @Deprecated
+    @Override
+    public final TaskSource dump() {
+        return this.toTaskSource();
+    }
+
+    @Override
+    public final TaskSource toTaskSource() {
+        return (TaskSource) (new DataSourceImpl(this.toObjectNode(), this.context.objectMapper, this.context.readers));
+    }
+
+    @Override
+    public final ObjectNode toObjectNode() {
+        final ObjectMapper objectMapper = this.context.objectMapper;
+        final ObjectNode objectNode = objectMapper.createObjectNode();
+        for (final Map.Entry<String, Object> pair : this.toBackingObjects().entrySet()) {
+            objectNode.set(pair.getKey(), objectMapper.valueToTree(pair.getValue()));
+        }
+        return objectNode;
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(this.context.taskInterface.getName());
+        builder.append(this.toBackingObjects());
+        return builder.toString();
+    }
+
+    /**
+     * Returns the same hash code as {@link java.util.Map#hashCode()} of its backing objects, as {@link TaskInvocationHandler} does.
+     */
+    @Override
+    public final int hashCode() {
+        return this.context.layout.hashCodeOf(this.readSlots());
+    }
+
+    @Override
+    public final boolean equals(final Object otherObject) {
+        if (!(otherObject instanceof GeneratedTaskBase)) {
+            return false;
+        }
+        final GeneratedTaskBase other = (GeneratedTaskBase) otherObject;
+        if (this.getClass() == other.getClass()) {
+            return Arrays.equals(this.readSlots(), other.readSlots());
+        }
+        return this.toBackingObjects().equals(other.toBackingObjects());
+    }
+
+    final TaskLayout getLayout() {
+        return this.context.layout;
+    }
+
+    private ConcurrentHashMap<String, Object> toBackingObjects() {
+        return this.context.layout.toMap(this.readSlots());
+    }
+
+    /**
+     * Holds things shared among tasks of the same generated class, mapped by the same {@link com.fasterxml.jackson.databind.ObjectMapper}.
+     */
+    static final class Context {
+        Context(
+                final Class<? extends Task> taskInterface,
+                final Constructor<?> constructor,
+                final ObjectMapper objectMapper,
+                final ObjectReaderCache readers,
+                final Validator validator) {
+            this.taskInterface = taskInterface;
+            this.layout = TaskLayout.of(taskInterface);
+            this.constructor = constructor;
+            this.objectMapper = objectMapper;
+            this.readers = readers;
+            this.validator = validator;
+        }
+
+        Object newInstance(final Map<String, Object> taskBackingObjects) {
+            try {
+                return this.constructor.newInstance(this, this.layout.toSlots(taskBackingObjects));
+            } catch (final InvocationTargetException ex) {
+                throw new IllegalStateException("Failed to instantiate a generated class for " + this.taskInterface, ex.getCause());
+            } catch (final ReflectiveOperationException ex) {
+                throw new IllegalStateException("Failed to instantiate a generated class for " + this.taskInterface, ex);
+            }
+        }
+
+        private final Class<? extends Task> taskInterface;
+        private final TaskLayout layout;
+        private final Constructor<?> constructor;
+        private final ObjectMapper objectMapper;
+        private final ObjectReaderCache readers;
+        private final Validator validator;
+    }
+
+    private final Context context;
+}
@@ -0,0 +1,420 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import org.embulk.config.ConfigException;
+
+/**
+ * Traverses JSON trees of {@link DataSourceImpl} without recursion.
+ *
+ * <p>A deeply nested {@link DataSourceImpl} does not cause {@link java.lang.StackOverflowError} in merging, comparing, nor
+ * hashing with an explicit stack. The stack in merging is bounded by the maximum depth so that a pathological tree fails with
+ * {@link org.embulk.config.ConfigException}. A {@link java.util.Map} view of a JSON tree converts its values only when
+ * accessed, then it does not traverse the tree at all.
+ */
+final class JsonNodes {
+    private JsonNodes() {
+        // No instantiation.
+    }
+
+    /**
+     * Returns the maximum depth of nested JSON objects and arrays, including the root, which {@code mapper} accepts.
+     *
+     * <p>It is the maximum nesting depth of {@link com.fasterxml.jackson.core.StreamReadConstraints} of {@code mapper}, 1000
+     * by default, so that a JSON processed without recursion here can be parsed again by {@code mapper}. Jackson's own
+     * serialization and {@code JsonNode#deepCopy} are still recursive.
+     */
+    static int maximumDepthOf(final ObjectMapper mapper) {
+        return mapper.getFactory().streamReadConstraints().getMaxNestingDepth();
+    }
+
+    /**
+     * Merges {@code other} into {@code src} in the same way as {@code DataSourceImpl#merge}.
+     *
+     * <p>Objects are merged per key, and arrays are merged per index. Any other value in {@code other} replaces the value in
+     * {@code src}. Nodes from {@code other} are set into {@code src} without copying.
+     *
+     * <p>{@code writable} is applied to an object or an array in {@code src} before merging into it. It returns the node
+     * itself if the node can be modified, or its copy to be set in place of the node if it may be shared.
+     */
+    static void merge(final ObjectNode src, final ObjectNode other, final int maximumDepth, final UnaryOperator<JsonNode> writable) {
+        final ArrayDeque<MergeFrame> stack = new ArrayDeque<>();
+        stack.push(new MergeFrame(src, other));
+        while (!stack.isEmpty()) {
+            final MergeFrame frame = stack.peek();
+            if (frame.srcObject != null) {
+                if (!frame.otherFields.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                final Map.Entry<String, JsonNode> pair = frame.otherFields.next();
+                final JsonNode s = frame.srcObject.get(pair.getKey());
+                final JsonNode v = pair.getValue();
+
+                if (v.isObject() && s != null && s.isObject()) {
+                    push(stack, new MergeFrame((ObjectNode) writable(frame.srcObject, pair.getKey(), s, writable), (ObjectNode) v), maximumDepth);
+                } else if (v.isArray() && s != null && s.isArray()) {
+                    push(stack, new MergeFrame((ArrayNode) writable(frame.srcObject, pair.getKey(), s, writable), (ArrayNode) v), maximumDepth);
+                } else {
+                    frame.srcObject.replace(pair.getKey(), v);
+                }
+            } else {
+                final int i = frame.index;
+                if (i >= frame.otherArray.size()) {
+                    stack.pop();
+                    continue;
+                }
+                frame.index++;
+                final JsonNode s = frame.srcArray.get(i);
+                final JsonNode v = frame.otherArray.get(i);
+                if (s == null) {
+                    frame.srcArray.add(v);
+                } else if (v.isObject() && s.isObject()) {
+                    push(stack, new MergeFrame((ObjectNode) writable(frame.srcArray, i, s, writable), (ObjectNode) v), maximumDepth);
+                } else if (v.isArray() && s.isArray()) {
+                    push(stack, new MergeFrame((ArrayNode) writable(frame.srcArray, i, s, writable), (ArrayNode) v), maximumDepth);
+                } else {
+                    frame.srcArray.remove(i);
+                    frame.srcArray.insert(i, v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a read-only {@link java.util.Map} view of a JSON object, which converts its values into plain Java objects.
+     *
+     * <p>JSON objects are viewed as read-only {@link java.util.Map}s, and JSON arrays are viewed as read-only
+     * {@link java.util.List}s. JSON {@code null} is converted into {@code null}. Values are converted only when accessed.
+     * The JSON object must not be modified while the view is in use.
+     */
+    static Map<String, Object> toMap(final ObjectNode object) {
+        return new ObjectNodeMap(object);
+    }
+
+    /**
+     * Compares two JSON objects as they would be compared after going through a stringified JSON.
+     *
+     * <p>Numbers are compared by their values, not by their node types. For example, {@code IntNode(1)} and
+     * {@code LongNode(1)} are equal as they are the same {@code 1} in a stringified JSON. Binary values are compared as
+     * their Base64 strings in the same way. It is consistent with {@link #hashCodeAsJson(ObjectNode)}.
+     */
+    static boolean equalsAsJson(final ObjectNode object, final ObjectNode other) {
+        // Pairs of nodes to compare are pushed one after another.
+        final ArrayDeque<JsonNode> stack = new ArrayDeque<>();
+        stack.push(object);
+        stack.push(other);
+        while (!stack.isEmpty()) {
+            final JsonNode b = stack.pop();
+            final JsonNode a = stack.pop();
+            if (a == b) {
+                continue;
+            }
+            if (a.isObject()) {
+                if (!b.isObject() || a.size() != b.size()) {
+                    return false;
+                }
+                for (final Iterator<Map.Entry<String, JsonNode>> it = a.fields(); it.hasNext(); ) {
+                    final Map.Entry<String, JsonNode> field = it.next();
+                    final JsonNode value = b.get(field.getKey());
+                    if (value == null) {
+                        return false;
+                    }
+                    stack.push(field.getValue());
+                    stack.push(value);
+                }
+            } else if (a.isArray()) {
+                if (!b.isArray() || a.size() != b.size()) {
+                    return false;
+                }
+                for (int i = 0; i < a.size(); i++) {
+                    stack.push(a.get(i));
+                    stack.push(b.get(i));
+                }
+            } else if (!equalsValueAsJson(a, b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code of a JSON object consistent with {@link #equalsAsJson(ObjectNode, ObjectNode)}.
+     *
+     * <p>Hashes of all the nodes are summed up with seeds from their paths, so that the order of fields in objects does not
+     * matter, and the tree is traversed in any order without recursion.
+     */
+    static int hashCodeAsJson(final ObjectNode object) {
+        int hash = 0;
+        final ArrayDeque<HashFrame> stack = new ArrayDeque<>();
+        stack.push(new HashFrame(object, 0));
+        while (!stack.isEmpty()) {
+            final HashFrame frame = stack.pop();
+            final JsonNode node = frame.node;
+            if (node.isObject()) {
+                hash += mix(frame.seed * 31 + OBJECT_HASH);
+                for (final Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                    final Map.Entry<String, JsonNode> field = it.next();
+                    stack.push(new HashFrame(field.getValue(), mix(frame.seed * 31 + field.getKey().hashCode())));
+                }
+            } else if (node.isArray()) {
+                hash += mix(frame.seed * 31 + ARRAY_HASH);
+                for (int i = 0; i < node.size(); i++) {
+                    stack.push(new HashFrame(node.get(i), mix(frame.seed * 31 + i + 1)));
+                }
+            } else {
+                hash += mix(frame.seed * 31 + hashCodeOfValueAsJson(node));
+            }
+        }
+        return hash;
+    }
+
+    private static Object toJavaObject(final JsonNode json) {
+        switch (json.getNodeType()) {
+            case ARRAY:
+                return new ArrayNodeList((ArrayNode) json);
+            case BINARY:
+                return json.asText();
+            case BOOLEAN:
+                return json.booleanValue();
+            case MISSING:
+                throw new ConfigException("Unexpected JSON node type MISSING in DataSouce.");
+            case NULL:
+                return null;
+            case NUMBER:
+                return json.numberValue();
+            case OBJECT:
+                return new ObjectNodeMap((ObjectNode) json);
+            case POJO:
+                throw new ConfigException("Unexpected JSON node type POJO in DataSouce.");
+            case STRING:
+                return json.asText();
+            default:
+                throw new ConfigException("Unknown JSON node type in DataSouce.");
+        }
+    }
+
+    private static JsonNode writable(final ObjectNode parent, final String key, final JsonNode node, final UnaryOperator<JsonNode> writable) {
+        final JsonNode written = writable.apply(node);
+        if (written != node) {
+            parent.set(key, written);
+        }
+        return written;
+    }
+
+    private static JsonNode writable(final ArrayNode parent, final int index, final JsonNode node, final UnaryOperator<JsonNode> writable) {
+        final JsonNode written = writable.apply(node);
+        if (written != node) {
+            parent.set(index, written);
+        }
+        return written;
+    }
+
+    private static <T> void push(final ArrayDeque<T> stack, final T frame, final int maximumDepth) {
+        if (stack.size() >= maximumDepth) {
+            throw new ConfigException("JSON in DataSource is nested deeper than the maximum depth: " + maximumDepth);
+        }
+        stack.push(frame);
+    }
+
+    /**
+     * A pair of JSON objects, or a pair of JSON arrays, being merged.
+     */
+    private static final class MergeFrame {
+        private MergeFrame(final ObjectNode src, final ObjectNode other) {
+            this.srcObject = src;
+            this.otherFields = other.fields();
+            this.srcArray = null;
+            this.otherArray = null;
+        }
+
+        private MergeFrame(final ArrayNode src, final ArrayNode other) {
+            this.srcObject = null;
+            this.otherFields = null;
+            this.srcArray = src;
+            this.otherArray = other;
+        }
+
+        private final ObjectNode srcObject;
+        private final Iterator<Map.Entry<String, JsonNode>> otherFields;
+        private final ArrayNode srcArray;
+        private final ArrayNode otherArray;
+        private int index;
+    }
+
+    /**
+     * A read-only {@link java.util.Map} view of a JSON object.
+     */
+    private static final class ObjectNodeMap extends AbstractMap<String, Object> {
+        private ObjectNodeMap(final ObjectNode object) {
+            this.object = object;
+        }
+
+        @Override
+        public int size() {
+            return this.object.size();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof String && this.object.has((String) key);
+        }
+
+        @Override
+        public Object get(final Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            final JsonNode value = this.object.get((String) key);
+            if (value == null) {
+                return null;
+            }
+            return toJavaObject(value);
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Object>>() {
+                @Override
+                public int size() {
+                    return ObjectNodeMap.this.object.size();
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    final Iterator<Map.Entry<String, JsonNode>> fields = ObjectNodeMap.this.object.fields();
+                    return new Iterator<Map.Entry<String, Object>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return fields.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, Object> next() {
+                            final Map.Entry<String, JsonNode> field = fields.next();
+                            return new AbstractMap.SimpleImmutableEntry<>(field.getKey(), toJavaObject(field.getValue()));
+                        }
+                    };
+                }
+            };
+        }
+
+        private final ObjectNode object;
+    }
+
+    /**
+     * A read-only {@link java.util.List} view of a JSON array.
+     */
+    private static final class ArrayNodeList extends AbstractList<Object> implements RandomAccess {
+        private ArrayNodeList(final ArrayNode array) {
+            this.array = array;
+        }
+
+        @Override
+        public int size() {
+            return this.array.size();
+        }
+
+        @Override
+        public Object get(final int index) {
+            final JsonNode element = this.array.get(index);
+            if (element == null) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.array.size());
+            }
+            return toJavaObject(element);
+        }
+
+        private final ArrayNode array;
+    }
+
+    private static boolean equalsValueAsJson(final JsonNode node, final JsonNode other) {
+        if (node.isNumber() && other.isNumber()) {
+            return compareNumberValues(node, other) == 0;
+        }
+        if ((node.isTextual() || node.isBinary()) && (other.isTextual() || other.isBinary())) {
+            return node.asText().equals(other.asText());
+        }
+        return node.equals(other);
+    }
+
+    private static int hashCodeOfValueAsJson(final JsonNode node) {
+        if (node.isIntegralNumber()) {
+            return node.canConvertToLong() ? Long.hashCode(node.longValue()) : node.bigIntegerValue().hashCode();
+        }
+        if (node.isFloatingPointNumber()) {
+            return Double.hashCode(node.doubleValue());
+        }
+        if (node.isTextual() || node.isBinary()) {
+            return node.asText().hashCode();
+        }
+        return node.hashCode();
+    }
+
+    // The finalizer of MurmurHash3 not to cancel out hashes of nodes summed up.
+    private static int mix(final int value) {
+        int h = value;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * A JSON node to be hashed, with the seed from its path.
+     */
+    private static final class HashFrame {
+        private HashFrame(final JsonNode node, final int seed) {
+            this.node = node;
+            this.seed = seed;
+        }
+
+        private final JsonNode node;
+        private final int seed;
+    }
+
+    private static int compareNumberValues(final JsonNode node, final JsonNode other) {
+        if (node.equals(other)) {
+            return 0;
+        }
+        if (node.isIntegralNumber() && other.isIntegralNumber()) {
+            return node.bigIntegerValue().compareTo(other.bigIntegerValue());
+        }
+        if (node.isFloatingPointNumber() && other.isFloatingPointNumber()) {
+            return Double.compare(node.doubleValue(), other.doubleValue());
+        }
+        return 1;
+    }
+
+    private static final int OBJECT_HASH = 0x7b;
+    private static final int ARRAY_HASH = 0x5b;
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import org.embulk.config.ConfigException;
+
+/**
+ * Keeps the JSON value of a task field unconverted, in a slot of a task mapped with lazy task fields.
+ *
+ * <p>It is replaced with the converted value when the getter of the field is called first. The JSON value is never
+ * {@code null} nor {@link com.fasterxml.jackson.databind.node.NullNode}, which is converted when the task is mapped.
+ */
+final class LazyTaskFieldValue {
+    LazyTaskFieldValue(final TaskFieldBinding binding, final JsonNode node) {
+        this.binding = binding;
+        this.node = node;
+    }
+
+    /**
+     * Converts the JSON value into the type of the field.
+     *
+     * @throws org.embulk.config.ConfigException  if failing to convert, or if converted into {@code null}
+     */
+    Object convert() {
+        final Object value;
+        try {
+            value = this.binding.getReader().readValue(this.node);
+        } catch (final IOException ex) {
+            throw new ConfigException("Failed to convert field '" + this.binding.getKey() + "' for "
+                    + this.binding.getTaskField().getGetterMethod().toString() + ": " + ex.getMessage(), ex);
+        }
+        if (value == null) {
+            throw new ConfigException(this.binding.newNullException());
+        }
+        return value;
+    }
+
+    /**
+     * Returns a string for debugging. A task is stringified after its fields are all converted.
+     */
+    @Override
+    public String toString() {
+        return "(unconverted) " + this.node.toString();
+    }
+
+    private final TaskFieldBinding binding;
+    private final JsonNode node;
+}
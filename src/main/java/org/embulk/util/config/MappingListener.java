@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+/**
+ * Listens to mapping by {@link ConfigMapper} and {@link TaskMapper}, registered by
+ * {@link ConfigMapperFactory.Builder#addListener(MappingListener)}.
+ *
+ * <p>All the methods do nothing by default. Implement only the methods of interest. They are called synchronously in the
+ * thread mapping a task, then they should return quickly, and they must be thread-safe. An exception thrown from them is
+ * logged, and does not fail the mapping.
+ *
+ * <p>Nothing is measured, and no method is called, if no listener is registered to the {@link ConfigMapperFactory}.
+ */
+public interface MappingListener {
+    /**
+     * Phases of mapping a task.
+     */
+    enum Phase {
+        /**
+         * Rebuilding a Jackson tree from a {@code DataSource} given to {@link ConfigMapper} or {@link TaskMapper}.
+         */
+        REBUILD,
+
+        /**
+         * Binding values in the tree to fields of a task, including nested tasks.
+         */
+        BIND,
+
+        /**
+         * Setting {@code @ConfigDefault} values to fields not given in the tree.
+         */
+        DEFAULTS,
+
+        /**
+         * Validating a mapped task with {@link javax.validation.Validator}.
+         */
+        VALIDATE,
+    }
+
+    /**
+     * Called when a phase of mapping a task is finished.
+     *
+     * <p>{@link Phase#BIND} and {@link Phase#DEFAULTS} are called also for a nested task, with its own task-defining interface.
+     *
+     * @param taskType  the task-defining interface
+     * @param phase  the phase finished
+     * @param elapsedNanos  the time elapsed in the phase, in nanoseconds
+     */
+    default void onPhase(final Class<? extends Task> taskType, final Phase phase, final long elapsedNanos) {
+    }
+
+    /**
+     * Called when a value is deserialized into a field of a task.
+     *
+     * <p>It is called per field, then more than once for a key mapped to multiple fields. It is not called for a field whose
+     * value is kept unconverted by {@link ConfigMapperFactory.Builder#withLazyTaskFields()}, nor for a default value.
+     *
+     * @param taskType  the task-defining interface
+     * @param key  the key in the source JSON, for example, the value of {@code @Config}
+     * @param elapsedNanos  the time elapsed in deserializing the value, in nanoseconds
+     */
+    default void onFieldDeserialized(final Class<? extends Task> taskType, final String key, final long elapsedNanos) {
+    }
+
+    /**
+     * Called when a task is mapped successfully by {@link ConfigMapper} or {@link TaskMapper}.
+     *
+     * <p>{@code sourceBytes} is counted only if any listener registered returns {@code true} from
+     * {@link #needsSourceBytes()}, or the JFR event of mapping is recorded, as it serializes the whole source again.
+     *
+     * @param taskType  the task-defining interface
+     * @param sourceBytes  the size of the source {@code DataSource} in bytes as UTF-8 JSON, or {@code -1} if not counted
+     * @param elapsedNanos  the time elapsed in mapping the task through all the phases, in nanoseconds
+     */
+    default void onTaskMapped(final Class<? extends Task> taskType, final long sourceBytes, final long elapsedNanos) {
+    }
+
+    /**
+     * Returns {@code true} if the listener needs {@code sourceBytes} in {@link #onTaskMapped(Class, long, long)}.
+     *
+     * <p>It is {@code false} by default. Counting the size serializes the whole source again after mapping, which costs
+     * about as much as mapping itself for a large source. The size is counted just once per mapping for all the listeners.
+     *
+     * @return {@code true} if the listener needs {@code sourceBytes}
+     */
+    default boolean needsSourceBytes() {
+        return false;
+    }
+
+    /**
+     * Called when the binding plan of a task-defining interface is looked up in the cache of its {@link ConfigMapperFactory}.
+     *
+     * <p>A binding plan is built by reflection on the task-defining interface on a cache miss. It is looked up when Jackson
+     * resolves a deserializer for the task-defining interface, not on every mapping, as Jackson caches deserializers as well.
+     *
+     * @param taskType  the task-defining interface
+     * @param hit  {@code true} if the binding plan is found in the cache
+     */
+    default void onBindingPlanLookup(final Class<? extends Task> taskType, final boolean hit) {
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches events to {@link MappingListener}s registered to a {@link ConfigMapperFactory}.
+ *
+ * <p>An exception thrown from a listener is logged, and does not propagate into mapping. It is {@code null}, instead of an
+ * empty instance, when no listener is registered so that callers skip even measuring time with a single {@code null} check.
+ */
+final class MappingListeners implements MappingListener {
+    private MappingListeners(final List<MappingListener> listeners) {
+        this.listeners = Collections.unmodifiableList(new ArrayList<>(listeners));
+        this.needsSourceBytes = listeners.stream().anyMatch(MappingListener::needsSourceBytes);
+    }
+
+    /**
+     * Returns {@link MappingListeners} dispatching to {@code listeners}, or {@code null} if {@code listeners} is empty.
+     */
+    static MappingListeners of(final List<MappingListener> listeners) {
+        if (listeners.isEmpty()) {
+            return null;
+        }
+        return new MappingListeners(listeners);
+    }
+
+    /**
+     * Counts the size of {@code node} in bytes as UTF-8 JSON, without keeping the JSON.
+     *
+     * <p>It serializes the whole {@code node}. Mappers call it at most once per mapping, only when the size is used.
+     */
+    static long sizeOf(final ObjectMapper objectMapper, final JsonNode node) {
+        final CountingOutputStream counter = new CountingOutputStream();
+        try {
+            objectMapper.writeValue(counter, node);
+        } catch (final IOException | RuntimeException ex) {
+            logger.warn("Failed to count the size of a source JSON.", ex);
+            return -1L;
+        }
+        return counter.count;
+    }
+
+    @Override
+    public void onPhase(final Class<? extends Task> taskType, final Phase phase, final long elapsedNanos) {
+        for (final MappingListener listener : this.listeners) {
+            try {
+                listener.onPhase(taskType, phase, elapsedNanos);
+            } catch (final RuntimeException ex) {
+                logFailure(listener, ex);
+            }
+        }
+    }
+
+    @Override
+    public void onFieldDeserialized(final Class<? extends Task> taskType, final String key, final long elapsedNanos) {
+        for (final MappingListener listener : this.listeners) {
+            try {
+                listener.onFieldDeserialized(taskType, key, elapsedNanos);
+            } catch (final RuntimeException ex) {
+                logFailure(listener, ex);
+            }
+        }
+    }
+
+    @Override
+    public void onTaskMapped(final Class<? extends Task> taskType, final long sourceBytes, final long elapsedNanos) {
+        for (final MappingListener listener : this.listeners) {
+            try {
+                listener.onTaskMapped(taskType, sourceBytes, elapsedNanos);
+            } catch (final RuntimeException ex) {
+                logFailure(listener, ex);
+            }
+        }
+    }
+
+    @Override
+    public boolean needsSourceBytes() {
+        return this.needsSourceBytes;
+    }
+
+    @Override
+    public void onBindingPlanLookup(final Class<? extends Task> taskType, final boolean hit) {
+        for (final MappingListener listener : this.listeners) {
+            try {
+                listener.onBindingPlanLookup(taskType, hit);
+            } catch (final RuntimeException ex) {
+                logFailure(listener, ex);
+            }
+        }
+    }
+
+    private static void logFailure(final MappingListener listener, final RuntimeException ex) {
+        logger.warn("MappingListener {} threw an exception. Ignored.", listener.getClass().getName(), ex);
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        @Override
+        public void write(final int b) {
+            this.count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            this.count += len;
+        }
+
+        private long count;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(MappingListeners.class);
+
+    private final List<MappingListener> listeners;
+    private final boolean needsSourceBytes;
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+/**
+ * A snapshot of statistics of a {@link ConfigMapperFactory} built with {@link ConfigMapperFactory.Builder#withStatistics()}.
+ *
+ * <p>Counts are cumulative since the {@link ConfigMapperFactory} is built. Latencies are of successful mappings by
+ * {@link ConfigMapper} and {@link TaskMapper}, including {@code mapAll}.
+ *
+ * <p>Binding plans are compiled per task-defining interface on the first mapping. ObjectReaders are resolved per type to
+ * read values by {@code DataSource#get}.
+ */
+public final class MappingStatistics {
+    MappingStatistics(
+            final long mapsPerformed,
+            final long mappingFailures,
+            final long totalLatencyNanos,
+            final long[] latencyBuckets,
+            final int bindingPlanCacheSize,
+            final long bindingPlanCacheHits,
+            final long bindingPlanCacheMisses,
+            final long bindingPlanCacheEvictions,
+            final int objectReaderCacheSize,
+            final long objectReaderCacheHits,
+            final long objectReaderCacheMisses) {
+        this.mapsPerformed = mapsPerformed;
+        this.mappingFailures = mappingFailures;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.latencyBuckets = latencyBuckets;
+        this.bindingPlanCacheSize = bindingPlanCacheSize;
+        this.bindingPlanCacheHits = bindingPlanCacheHits;
+        this.bindingPlanCacheMisses = bindingPlanCacheMisses;
+        this.bindingPlanCacheEvictions = bindingPlanCacheEvictions;
+        this.objectReaderCacheSize = objectReaderCacheSize;
+        this.objectReaderCacheHits = objectReaderCacheHits;
+        this.objectReaderCacheMisses = objectReaderCacheMisses;
+    }
+
+    /**
+     * Returns the number of tasks mapped successfully.
+     */
+    public long getMapsPerformed() {
+        return this.mapsPerformed;
+    }
+
+    /**
+     * Returns the number of failures in mapping tasks.
+     */
+    public long getMappingFailures() {
+        return this.mappingFailures;
+    }
+
+    /**
+     * Returns the average latency of mapping a task in nanoseconds, or {@code 0.0} if no task is mapped.
+     */
+    public double getAverageLatencyNanos() {
+        if (this.mapsPerformed == 0L) {
+            return 0.0;
+        }
+        return (double) this.totalLatencyNanos / this.mapsPerformed;
+    }
+
+    /**
+     * Returns the latency of mapping a task at the percentile in nanoseconds, or {@code 0} if no task is mapped.
+     *
+     * <p>It is approximated by the upper bound of a bucket of a histogram, which is larger than the exact latency by 25% at most.
+     *
+     * @param percentile  the percentile, larger than {@code 0.0}, and up to {@code 100.0}
+     * @return the latency at the percentile in nanoseconds
+     * @throws IllegalArgumentException  if {@code percentile} is out of range
+     */
+    public long getLatencyPercentileNanos(final double percentile) {
+        if (!(percentile > 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException("percentile must be in (0.0, 100.0]: " + percentile);
+        }
+        long total = 0L;
+        for (final long count : this.latencyBuckets) {
+            total += count;
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+
+        final long rank = (long) Math.ceil(total * percentile / 100.0);
+        long cumulative = 0L;
+        for (int i = 0; i < this.latencyBuckets.length; i++) {
+            cumulative += this.latencyBuckets[i];
+            if (cumulative >= rank) {
+                return MappingStatisticsRecorder.upperBoundOf(i);
+            }
+        }
+        return MappingStatisticsRecorder.upperBoundOf(this.latencyBuckets.length - 1);
+    }
+
+    public int getBindingPlanCacheSize() {
+        return this.bindingPlanCacheSize;
+    }
+
+    public long getBindingPlanCacheHits() {
+        return this.bindingPlanCacheHits;
+    }
+
+    public long getBindingPlanCacheMisses() {
+        return this.bindingPlanCacheMisses;
+    }
+
+    /**
+     * Returns the ratio of hits in lookups of binding plans, or {@code 0.0} if never looked up.
+     */
+    public double getBindingPlanCacheHitRate() {
+        return hitRate(this.bindingPlanCacheHits, this.bindingPlanCacheMisses);
+    }
+
+    /**
+     * Returns the number of binding plans evicted because the cache is full.
+     */
+    public long getBindingPlanCacheEvictions() {
+        return this.bindingPlanCacheEvictions;
+    }
+
+    public int getObjectReaderCacheSize() {
+        return this.objectReaderCacheSize;
+    }
+
+    public long getObjectReaderCacheHits() {
+        return this.objectReaderCacheHits;
+    }
+
+    public long getObjectReaderCacheMisses() {
+        return this.objectReaderCacheMisses;
+    }
+
+    /**
+     * Returns the ratio of hits in lookups of ObjectReaders, or {@code 0.0} if never looked up.
+     */
+    public double getObjectReaderCacheHitRate() {
+        return hitRate(this.objectReaderCacheHits, this.objectReaderCacheMisses);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "MappingStatistics{maps=%d, failures=%d, averageNanos=%.1f, p50Nanos=%d, p99Nanos=%d, "
+                + "bindingPlans={size=%d, hits=%d, misses=%d, evictions=%d}, objectReaders={size=%d, hits=%d, misses=%d}}",
+                this.mapsPerformed,
+                this.mappingFailures,
+                this.getAverageLatencyNanos(),
+                this.getLatencyPercentileNanos(50.0),
+                this.getLatencyPercentileNanos(99.0),
+                this.bindingPlanCacheSize,
+                this.bindingPlanCacheHits,
+                this.bindingPlanCacheMisses,
+                this.bindingPlanCacheEvictions,
+                this.objectReaderCacheSize,
+                this.objectReaderCacheHits,
+                this.objectReaderCacheMisses);
+    }
+
+    private static double hitRate(final long hits, final long misses) {
+        final long lookups = hits + misses;
+        if (lookups == 0L) {
+            return 0.0;
+        }
+        return (double) hits / lookups;
+    }
+
+    private final long mapsPerformed;
+    private final long mappingFailures;
+    private final long totalLatencyNanos;
+    private final long[] latencyBuckets;
+
+    private final int bindingPlanCacheSize;
+    private final long bindingPlanCacheHits;
+    private final long bindingPlanCacheMisses;
+    private final long bindingPlanCacheEvictions;
+
+    private final int objectReaderCacheSize;
+    private final long objectReaderCacheHits;
+    private final long objectReaderCacheMisses;
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+/**
+ * A JMX MXBean of statistics of a {@link ConfigMapperFactory}, registered by
+ * {@link ConfigMapperFactory.Builder#withStatisticsMBean(String)}.
+ *
+ * <p>Its attributes are the same as {@link MappingStatistics}. Each attribute is read from a new snapshot.
+ */
+public interface MappingStatisticsMXBean {
+    long getMapsPerformed();
+
+    long getMappingFailures();
+
+    double getAverageLatencyNanos();
+
+    long getLatency50thPercentileNanos();
+
+    long getLatency90thPercentileNanos();
+
+    long getLatency99thPercentileNanos();
+
+    int getBindingPlanCacheSize();
+
+    long getBindingPlanCacheHits();
+
+    long getBindingPlanCacheMisses();
+
+    double getBindingPlanCacheHitRate();
+
+    long getBindingPlanCacheEvictions();
+
+    int getObjectReaderCacheSize();
+
+    long getObjectReaderCacheHits();
+
+    long getObjectReaderCacheMisses();
+
+    double getObjectReaderCacheHitRate();
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records statistics of mapping by {@link ConfigMapper} and {@link TaskMapper} created from a {@link ConfigMapperFactory}.
+ *
+ * <p>Its counters are {@link java.util.concurrent.atomic.LongAdder}s so that recording does not contend among threads
+ * mapping in parallel. Latencies are counted in a histogram of buckets in log-linear scale, four buckets per power of two,
+ * so that a percentile is approximated within 25% without keeping each latency.
+ *
+ * <p>It is also the implementation of {@link MappingStatisticsMXBean}, whose attributes are read from a new snapshot.
+ */
+final class MappingStatisticsRecorder implements MappingStatisticsMXBean {
+    MappingStatisticsRecorder(final List<TaskObjectsRetrieverCache> bindingPlanCaches, final List<ObjectReaderCache> objectReaderCaches) {
+        this.bindingPlanCaches = bindingPlanCaches;
+        this.objectReaderCaches = objectReaderCaches;
+        this.mapped = new LongAdder();
+        this.failed = new LongAdder();
+        this.totalLatencyNanos = new LongAdder();
+        this.latencyBuckets = new LongAdder[NUMBER_OF_BUCKETS];
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            this.latencyBuckets[i] = new LongAdder();
+        }
+    }
+
+    void recordMapped(final long latencyNanos) {
+        final long latency = Math.max(latencyNanos, 0L);
+        this.mapped.increment();
+        this.totalLatencyNanos.add(latency);
+        this.latencyBuckets[bucketOf(latency)].increment();
+    }
+
+    void recordFailed() {
+        this.failed.increment();
+    }
+
+    /**
+     * Takes a snapshot of the statistics.
+     *
+     * <p>Counters are read one by one while they may be updated. The snapshot is not atomic as a whole, but every counter in
+     * it is monotonic.
+     */
+    MappingStatistics snapshot() {
+        final long[] buckets = new long[NUMBER_OF_BUCKETS];
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            buckets[i] = this.latencyBuckets[i].sum();
+        }
+
+        int bindingPlanCacheSize = 0;
+        long bindingPlanCacheHits = 0L;
+        long bindingPlanCacheMisses = 0L;
+        long bindingPlanCacheEvictions = 0L;
+        for (final TaskObjectsRetrieverCache cache : this.bindingPlanCaches) {
+            bindingPlanCacheSize += cache.size();
+            bindingPlanCacheHits += cache.getHits();
+            bindingPlanCacheMisses += cache.getMisses();
+            bindingPlanCacheEvictions += cache.getEvictions();
+        }
+
+        int objectReaderCacheSize = 0;
+        long objectReaderCacheHits = 0L;
+        long objectReaderCacheMisses = 0L;
+        for (final ObjectReaderCache cache : this.objectReaderCaches) {
+            objectReaderCacheSize += cache.size();
+            objectReaderCacheHits += cache.getHits();
+            objectReaderCacheMisses += cache.getMisses();
+        }
+
+        return new MappingStatistics(
+                this.mapped.sum(),
+                this.failed.sum(),
+                this.totalLatencyNanos.sum(),
+                buckets,
+                bindingPlanCacheSize,
+                bindingPlanCacheHits,
+                bindingPlanCacheMisses,
+                bindingPlanCacheEvictions,
+                objectReaderCacheSize,
+                objectReaderCacheHits,
+                objectReaderCacheMisses);
+    }
+
+    @Override
+    public long getMapsPerformed() {
+        return this.snapshot().getMapsPerformed();
+    }
+
+    @Override
+    public long getMappingFailures() {
+        return this.snapshot().getMappingFailures();
+    }
+
+    @Override
+    public double getAverageLatencyNanos() {
+        return this.snapshot().getAverageLatencyNanos();
+    }
+
+    @Override
+    public long getLatency50thPercentileNanos() {
+        return this.snapshot().getLatencyPercentileNanos(50.0);
+    }
+
+    @Override
+    public long getLatency90thPercentileNanos() {
+        return this.snapshot().getLatencyPercentileNanos(90.0);
+    }
+
+    @Override
+    public long getLatency99thPercentileNanos() {
+        return this.snapshot().getLatencyPercentileNanos(99.0);
+    }
+
+    @Override
+    public int getBindingPlanCacheSize() {
+        return this.snapshot().getBindingPlanCacheSize();
+    }
+
+    @Override
+    public long getBindingPlanCacheHits() {
+        return this.snapshot().getBindingPlanCacheHits();
+    }
+
+    @Override
+    public long getBindingPlanCacheMisses() {
+        return this.snapshot().getBindingPlanCacheMisses();
+    }
+
+    @Override
+    public double getBindingPlanCacheHitRate() {
+        return this.snapshot().getBindingPlanCacheHitRate();
+    }
+
+    @Override
+    public long getBindingPlanCacheEvictions() {
+        return this.snapshot().getBindingPlanCacheEvictions();
+    }
+
+    @Override
+    public int getObjectReaderCacheSize() {
+        return this.snapshot().getObjectReaderCacheSize();
+    }
+
+    @Override
+    public long getObjectReaderCacheHits() {
+        return this.snapshot().getObjectReaderCacheHits();
+    }
+
+    @Override
+    public long getObjectReaderCacheMisses() {
+        return this.snapshot().getObjectReaderCacheMisses();
+    }
+
+    @Override
+    public double getObjectReaderCacheHitRate() {
+        return this.snapshot().getObjectReaderCacheHitRate();
+    }
+
+    /**
+     * Returns the index of the bucket for a non-negative latency.
+     *
+     * <p>Latencies under 4 have their own buckets. Then, each range of {@code [2^e, 2^(e+1))} is split into four buckets.
+     */
+    static int bucketOf(final long latency) {
+        if (latency < SUB_BUCKETS) {
+            return (int) latency;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(latency);
+        final int subBucket = (int) (latency >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS * (exponent - 1) + subBucket;
+    }
+
+    /**
+     * Returns the smallest latency counted in the bucket.
+     */
+    static long lowerBoundOf(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = bucket / SUB_BUCKETS + 1;
+        return ((long) (SUB_BUCKETS + bucket % SUB_BUCKETS)) << (exponent - 2);
+    }
+
+    /**
+     * Returns the largest latency counted in the bucket.
+     */
+    static long upperBoundOf(final int bucket) {
+        if (bucket >= NUMBER_OF_BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        return lowerBoundOf(bucket + 1) - 1;
+    }
+
+    private static final int SUB_BUCKETS = 4;
+
+    // Up to the bucket of Long.MAX_VALUE, whose exponent is 62.
+    static final int NUMBER_OF_BUCKETS = SUB_BUCKETS * 62;
+
+    private final List<TaskObjectsRetrieverCache> bindingPlanCaches;
+    private final List<ObjectReaderCache> objectReaderCaches;
+
+    private final LongAdder mapped;
+    private final LongAdder failed;
+    private final LongAdder totalLatencyNanos;
+    private final LongAdder[] latencyBuckets;
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reads values in {@link DataSourceImpl} with {@link com.fasterxml.jackson.databind.ObjectReader}s cached per target type.
+ *
+ * <p>A cache is built for each {@link com.fasterxml.jackson.databind.ObjectMapper} in {@link ConfigMapperFactory}, and
+ * shared among {@link DataSourceImpl}s built by the {@link ConfigMapperFactory}. It is not registered anywhere globally.
+ * It is garbage-collected with the {@link ConfigMapperFactory} and its {@link DataSourceImpl}s.
+ *
+ * <p>Textual, boolean, and integral or floating-point number nodes read exactly as {@code String}, {@code Boolean},
+ * {@code Integer}, {@code Long}, or {@code Double} are converted directly from the node, without a parser. Any other
+ * combination is read through the {@link com.fasterxml.jackson.databind.ObjectReader} to keep Jackson's coercion rules.
+ */
+final class ObjectReaderCache {
+    ObjectReaderCache(final ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.readers = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    @SuppressWarnings("unchecked")
+    <E> E read(final JsonNode json, final Class<E> type) throws IOException {
+        final Object scalar = readScalar(json, type);
+        if (scalar != null) {
+            return (E) scalar;  // Not Class#cast for primitive types, such as int.class.
+        }
+        return this.readerFor(type).readValue(json);
+    }
+
+    private ObjectReader readerFor(final Class<?> type) {
+        final ObjectReader reader = this.readers.get(type);
+        if (reader != null) {
+            this.hits.increment();
+            return reader;
+        }
+        this.misses.increment();
+        return this.readers.computeIfAbsent(type, this.mapper::readerFor);
+    }
+
+    int size() {
+        return this.readers.size();
+    }
+
+    long getHits() {
+        return this.hits.sum();
+    }
+
+    long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Converts a scalar node directly if the conversion is trivial, or returns {@code null} otherwise.
+     */
+    private static Object readScalar(final JsonNode json, final Class<?> type) {
+        if (type == String.class) {
+            return json.isTextual() ? json.textValue() : null;
+        } else if (type == Integer.class || type == int.class) {
+            return json.isInt() ? Integer.valueOf(json.intValue()) : null;
+        } else if (type == Long.class || type == long.class) {
+            return (json.isInt() || json.isLong()) ? Long.valueOf(json.longValue()) : null;
+        } else if (type == Boolean.class || type == boolean.class) {
+            return json.isBoolean() ? Boolean.valueOf(json.booleanValue()) : null;
+        } else if (type == Double.class || type == double.class) {
+            return json.isDouble() ? Double.valueOf(json.doubleValue()) : null;
+        }
+        return null;
+    }
+
+    private final ObjectMapper mapper;
+    private final ConcurrentHashMap<Class<?>, ObjectReader> readers;
+
+    // Counted without locks so that counting does not contend among threads reading DataSources in parallel.
+    private final LongAdder hits;
+    private final LongAdder misses;
+}
@@ -64,7 +64,9 @@ import org.embulk.config.TaskSource;
  * <h3>For core developers</h3>
  *
  * <p>The {@link Task} object generated by {@link ConfigMapper} and {@link TaskMapper} is implemented
- * with {@link java.lang.reflect.Proxy}, the dynamic proxy mechanism with reflection.
+ * with {@link java.lang.reflect.Proxy}, the dynamic proxy mechanism with reflection. It is implemented with a class
+ * generated for the task-defining interface instead if {@link ConfigMapperFactory.Builder#withGeneratedTaskClasses()}
+ * is enabled.
  */
 public interface Task {
     /**
@@ -0,0 +1,472 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+
+/**
+ * Writes a Java class file of a {@link Task} class that extends {@link GeneratedTaskBase} with fields for its {@link TaskLayout}.
+ *
+ * <p>It writes a class file of version 52 (Java 8). Every method written is straight-line code without any branch nor
+ * exception handler so that the class file does not need {@code StackMapTable} to be verified.
+ *
+ * <p>For example, it writes a class equivalent to the following Java code for {@code getFoo()} and {@code setFoo(int)}.
+ *
+ * <pre>{@code public final class PluginTask$$GeneratedTask extends GeneratedTaskBase implements PluginTask {
+ *     public PluginTask$$GeneratedTask(Object context, Object[] slots) {
+ *         super(context);
+ *         this.slot0 = slots[0];
+ *     }
+ *
+ *     protected Object[] readSlots() {
+ *         return new Object[] { this.slot0 };
+ *     }
+ *
+ *     public int getFoo() {
+ *         return ((Integer) this.slot0).intValue();
+ *     }
+ *
+ *     public void setFoo(int value) {
+ *         this.slot0 = Integer.valueOf(value);
+ *     }
+ *
+ *     private volatile Object slot0;  // It would be "private final Object slot0;" if it had no setter.
+ * }}</pre>
+ *
+ * <p>A field is final if no setter is for the field, so that its getter is as fast as a hand-written getter. A field
+ * with a setter is volatile to keep the visibility among threads as {@link TaskInvocationHandler} does with
+ * {@link java.util.concurrent.ConcurrentHashMap}.
+ */
+final class TaskClassFileWriter {
+    private TaskClassFileWriter(final String internalClassName) {
+        this.internalClassName = internalClassName;
+        this.constantPool = new ByteArrayOutputStream();
+        this.constantPoolOut = new DataOutputStream(this.constantPool);
+        this.constantPoolIndices = new HashMap<>();
+        this.constantPoolCount = 1;
+        this.methods = new ArrayList<>();
+    }
+
+    /**
+     * Writes a class file.
+     *
+     * @param className  the binary name of the class to write
+     * @param layout  the layout of the task-defining interface
+     * @return the class file in bytes
+     */
+    static byte[] write(final String className, final TaskLayout layout) {
+        try {
+            return new TaskClassFileWriter(className.replace('.', '/')).writeClass(layout);
+        } catch (final IOException ex) {
+            // ByteArrayOutputStream never throws IOException.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private byte[] writeClass(final TaskLayout layout) throws IOException {
+        final int thisClass = this.classConstant(this.internalClassName);
+        final int superClass = this.classConstant(BASE);
+        final int taskInterface = this.classConstant(internalNameOf(layout.getTaskInterface()));
+
+        final int[][] fields = new int[layout.size()][];
+        for (int slot = 0; slot < layout.size(); slot++) {
+            fields[slot] = new int[] { this.utf8Constant("slot" + slot), this.utf8Constant("Ljava/lang/Object;") };
+        }
+
+        this.writeConstructor(layout);
+        this.writeReadSlots(layout);
+
+        // Methods of the same name and the same descriptor may come from multiple super-interfaces. They are written just once.
+        final LinkedHashMap<String, Method> getters = new LinkedHashMap<>();
+        for (final Method getter : layout.getGetterSlots().keySet()) {
+            getters.putIfAbsent(getter.getName() + descriptorOf(getter), getter);
+        }
+        for (final Method getter : getters.values()) {
+            this.writeGetter(getter, layout.getGetterSlots().get(getter));
+        }
+        final LinkedHashMap<String, Method> setters = new LinkedHashMap<>();
+        for (final Method setter : layout.getSetterSlots().keySet()) {
+            setters.putIfAbsent(setter.getName() + descriptorOf(setter), setter);
+        }
+        for (final Method setter : setters.values()) {
+            this.writeSetter(setter, layout.getSetterSlots().get(setter));
+        }
+
+        final int codeAttribute = this.utf8Constant("Code");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xcafebabe);
+        out.writeShort(0);  // minor_version
+        out.writeShort(52);  // major_version: Java 8
+        out.writeShort(this.constantPoolCount);
+        this.constantPoolOut.flush();
+        this.constantPool.writeTo(out);
+        out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(1);  // interfaces_count
+        out.writeShort(taskInterface);
+
+        final HashSet<Integer> slotsWithSetters = new HashSet<>(layout.getSetterSlots().values());
+        out.writeShort(fields.length);
+        for (int slot = 0; slot < fields.length; slot++) {
+            final int[] field = fields[slot];
+            if (slotsWithSetters.contains(slot)) {
+                out.writeShort(ACC_PRIVATE | ACC_VOLATILE | ACC_SYNTHETIC);
+            } else {
+                out.writeShort(ACC_PRIVATE | ACC_FINAL | ACC_SYNTHETIC);
+            }
+            out.writeShort(field[0]);
+            out.writeShort(field[1]);
+            out.writeShort(0);  // attributes_count
+        }
+
+        out.writeShort(this.methods.size());
+        for (final MethodCode method : this.methods) {
+            out.writeShort(method.access);
+            out.writeShort(method.name);
+            out.writeShort(method.descriptor);
+            out.writeShort(1);  // attributes_count
+            out.writeShort(codeAttribute);
+            final byte[] code = method.code.toByteArray();
+            out.writeInt(2 + 2 + 4 + code.length + 2 + 2);
+            out.writeShort(method.maxStack);
+            out.writeShort(method.maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0);  // exception_table_length
+            out.writeShort(0);  // attributes_count
+        }
+
+        out.writeShort(0);  // attributes_count
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void writeConstructor(final TaskLayout layout) {
+        final MethodCode method = this.newMethod(ACC_PUBLIC, "<init>", "(Ljava/lang/Object;[Ljava/lang/Object;)V", 3, 3);
+        method.code.write(ALOAD_0);
+        method.code.write(ALOAD_1);
+        method.writeU1U2(INVOKESPECIAL, this.methodConstant(BASE, "<init>", "(Ljava/lang/Object;)V"));
+        for (int slot = 0; slot < layout.size(); slot++) {
+            method.code.write(ALOAD_0);
+            method.code.write(ALOAD_2);
+            method.writeInt(slot);
+            method.code.write(AALOAD);
+            method.writeU1U2(PUTFIELD, this.slotConstant(slot));
+        }
+        method.code.write(RETURN);
+    }
+
+    private void writeReadSlots(final TaskLayout layout) {
+        final MethodCode method = this.newMethod(ACC_PROTECTED, "readSlots", "()[Ljava/lang/Object;", 4, 1);
+        method.writeInt(layout.size());
+        method.writeU1U2(ANEWARRAY, this.classConstant("java/lang/Object"));
+        for (int slot = 0; slot < layout.size(); slot++) {
+            method.code.write(DUP);
+            method.writeInt(slot);
+            method.code.write(ALOAD_0);
+            method.writeU1U2(GETFIELD, this.slotConstant(slot));
+            method.code.write(AASTORE);
+        }
+        method.code.write(ARETURN);
+    }
+
+    private void writeGetter(final Method getter, final int slot) {
+        final Class<?> returnType = getter.getReturnType();
+        final MethodCode method = this.newMethod(ACC_PUBLIC, getter.getName(), descriptorOf(getter), 2, 1);
+        method.code.write(ALOAD_0);
+        method.writeU1U2(GETFIELD, this.slotConstant(slot));
+        if (returnType.isPrimitive()) {
+            // It throws NullPointerException for null, and ClassCastException for another type, as Proxy does.
+            final Primitive primitive = Primitive.of(returnType);
+            method.writeU1U2(CHECKCAST, this.classConstant(primitive.boxInternalName));
+            method.writeU1U2(INVOKEVIRTUAL, this.methodConstant(primitive.boxInternalName, primitive.unboxMethod, "()" + primitive.descriptor));
+            method.code.write(primitive.returnOpcode);
+        } else {
+            if (returnType != Object.class) {
+                method.writeU1U2(CHECKCAST, this.classConstant(internalNameOf(returnType)));
+            }
+            method.code.write(ARETURN);
+        }
+    }
+
+    private void writeSetter(final Method setter, final int slot) {
+        final Class<?> parameterType = setter.getParameterTypes()[0];
+        final MethodCode method = this.newMethod(ACC_PUBLIC, setter.getName(), descriptorOf(setter), 3, 3);
+        method.code.write(ALOAD_0);
+        if (parameterType.isPrimitive()) {
+            final Primitive primitive = Primitive.of(parameterType);
+            method.code.write(primitive.loadOpcode);
+            method.code.write(1);
+            method.writeU1U2(INVOKESTATIC, this.methodConstant(
+                    primitive.boxInternalName, "valueOf", "(" + primitive.descriptor + ")L" + primitive.boxInternalName + ";"));
+        } else {
+            method.code.write(ALOAD_1);
+        }
+        method.writeU1U2(PUTFIELD, this.slotConstant(slot));
+        method.code.write(RETURN);
+    }
+
+    private MethodCode newMethod(final int access, final String name, final String descriptor, final int maxStack, final int maxLocals) {
+        final MethodCode method = new MethodCode(access, this.utf8Constant(name), this.utf8Constant(descriptor), maxStack, maxLocals);
+        this.methods.add(method);
+        return method;
+    }
+
+    private int slotConstant(final int slot) {
+        return this.fieldConstant(this.internalClassName, "slot" + slot, "Ljava/lang/Object;");
+    }
+
+    private int utf8Constant(final String value) {
+        return this.constant("Utf8:" + value, out -> {
+            out.writeByte(CONSTANT_UTF8);
+            out.writeUTF(value);
+        });
+    }
+
+    private int classConstant(final String internalName) {
+        final int name = this.utf8Constant(internalName);
+        return this.constant("Class:" + internalName, out -> {
+            out.writeByte(CONSTANT_CLASS);
+            out.writeShort(name);
+        });
+    }
+
+    private int nameAndTypeConstant(final String name, final String descriptor) {
+        final int nameIndex = this.utf8Constant(name);
+        final int descriptorIndex = this.utf8Constant(descriptor);
+        return this.constant("NameAndType:" + name + ":" + descriptor, out -> {
+            out.writeByte(CONSTANT_NAME_AND_TYPE);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        });
+    }
+
+    private int fieldConstant(final String owner, final String name, final String descriptor) {
+        final int ownerIndex = this.classConstant(owner);
+        final int nameAndType = this.nameAndTypeConstant(name, descriptor);
+        return this.constant("Field:" + owner + "." + name + ":" + descriptor, out -> {
+            out.writeByte(CONSTANT_FIELDREF);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    private int methodConstant(final String owner, final String name, final String descriptor) {
+        final int ownerIndex = this.classConstant(owner);
+        final int nameAndType = this.nameAndTypeConstant(name, descriptor);
+        return this.constant("Method:" + owner + "." + name + ":" + descriptor, out -> {
+            out.writeByte(CONSTANT_METHODREF);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    private int constant(final String key, final ConstantWriter writer) {
+        final Integer existing = this.constantPoolIndices.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (this.constantPoolCount >= 0xffff) {
+            throw new IllegalStateException("Too many constants in a generated class.");
+        }
+        try {
+            writer.write(this.constantPoolOut);
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        final int index = this.constantPoolCount;
+        this.constantPoolCount++;
+        this.constantPoolIndices.put(key, index);
+        return index;
+    }
+
+    static String internalNameOf(final Class<?> clazz) {
+        if (clazz.isArray()) {
+            return descriptorOf(clazz);
+        }
+        return clazz.getName().replace('.', '/');
+    }
+
+    static String descriptorOf(final Method method) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append('(');
+        for (final Class<?> parameterType : method.getParameterTypes()) {
+            builder.append(descriptorOf(parameterType));
+        }
+        builder.append(')');
+        builder.append(descriptorOf(method.getReturnType()));
+        return builder.toString();
+    }
+
+    static String descriptorOf(final Class<?> clazz) {
+        if (clazz.isArray()) {
+            return clazz.getName().replace('.', '/');
+        }
+        if (clazz == void.class) {
+            return "V";
+        }
+        if (clazz.isPrimitive()) {
+            return Primitive.of(clazz).descriptor;
+        }
+        return "L" + clazz.getName().replace('.', '/') + ";";
+    }
+
+    @FunctionalInterface
+    private interface ConstantWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static final class MethodCode {
+        MethodCode(final int access, final int name, final int descriptor, final int maxStack, final int maxLocals) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+            this.code = new ByteArrayOutputStream();
+        }
+
+        void writeU1U2(final int opcode, final int operand) {
+            this.code.write(opcode);
+            this.code.write((operand >> 8) & 0xff);
+            this.code.write(operand & 0xff);
+        }
+
+        void writeInt(final int value) {
+            if (value <= 5) {
+                this.code.write(ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                this.code.write(BIPUSH);
+                this.code.write(value);
+            } else if (value <= Short.MAX_VALUE) {
+                this.writeU1U2(SIPUSH, value);
+            } else {
+                throw new IllegalStateException("Too many fields in a generated class.");
+            }
+        }
+
+        final int access;
+        final int name;
+        final int descriptor;
+        final int maxStack;
+        final int maxLocals;
+        final ByteArrayOutputStream code;
+    }
+
+    private enum Primitive {
+        BOOLEAN(boolean.class, "Z", "java/lang/Boolean", "booleanValue", ILOAD, IRETURN),
+        BYTE(byte.class, "B", "java/lang/Byte", "byteValue", ILOAD, IRETURN),
+        CHAR(char.class, "C", "java/lang/Character", "charValue", ILOAD, IRETURN),
+        SHORT(short.class, "S", "java/lang/Short", "shortValue", ILOAD, IRETURN),
+        INT(int.class, "I", "java/lang/Integer", "intValue", ILOAD, IRETURN),
+        LONG(long.class, "J", "java/lang/Long", "longValue", LLOAD, LRETURN),
+        FLOAT(float.class, "F", "java/lang/Float", "floatValue", FLOAD, FRETURN),
+        DOUBLE(double.class, "D", "java/lang/Double", "doubleValue", DLOAD, DRETURN),
+        ;
+
+        Primitive(
+                final Class<?> type,
+                final String descriptor,
+                final String boxInternalName,
+                final String unboxMethod,
+                final int loadOpcode,
+                final int returnOpcode) {
+            this.type = type;
+            this.descriptor = descriptor;
+            this.boxInternalName = boxInternalName;
+            this.unboxMethod = unboxMethod;
+            this.loadOpcode = loadOpcode;
+            this.returnOpcode = returnOpcode;
+        }
+
+        static Primitive of(final Class<?> type) {
+            for (final Primitive primitive : values()) {
+                if (primitive.type == type) {
+                    return primitive;
+                }
+            }
+            throw new IllegalArgumentException("Not a primitive type: " + type);
+        }
+
+        private final Class<?> type;
+        private final String descriptor;
+        private final String boxInternalName;
+        private final String unboxMethod;
+        private final int loadOpcode;
+        private final int returnOpcode;
+    }
+
+    private static final String BASE = internalNameOf(GeneratedTaskBase.class);
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_PROTECTED = 0x0004;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_VOLATILE = 0x0040;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int ILOAD = 0x15;
+    private static final int LLOAD = 0x16;
+    private static final int FLOAD = 0x17;
+    private static final int DLOAD = 0x18;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int AALOAD = 0x32;
+    private static final int AASTORE = 0x53;
+    private static final int DUP = 0x59;
+    private static final int IRETURN = 0xac;
+    private static final int LRETURN = 0xad;
+    private static final int FRETURN = 0xae;
+    private static final int DRETURN = 0xaf;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int ANEWARRAY = 0xbd;
+    private static final int CHECKCAST = 0xc0;
+
+    private final String internalClassName;
+    private final ByteArrayOutputStream constantPool;
+    private final DataOutputStream constantPoolOut;
+    private final HashMap<String, Integer> constantPoolIndices;
+    private int constantPoolCount;
+    private final ArrayList<MethodCode> methods;
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates a concrete {@link Task} class for a task-defining interface, instead of {@link java.lang.reflect.Proxy}.
+ *
+ * <p>A generated class has real fields, and its getters and setters access the fields directly without reflection. It
+ * is enabled by {@link ConfigMapperFactory.Builder#withGeneratedTaskClasses()}.
+ *
+ * <p>A class is generated just once per task-defining interface, and defined in its own {@link java.lang.ClassLoader}
+ * whose parent is the {@link java.lang.ClassLoader} of the task-defining interface. It is not generated for some
+ * task-defining interfaces, for example, a non-public interface, or an interface that has a method which is neither a
+ * getter nor a setter. Such a task-defining interface falls back to {@link java.lang.reflect.Proxy}.
+ */
+final class TaskClassGenerator {
+    private TaskClassGenerator() {
+        // No instantiation.
+    }
+
+    /**
+     * Returns a {@link GeneratedTaskBase.Context} to instantiate a generated class, or {@code null} if not generated.
+     */
+    static GeneratedTaskBase.Context contextFor(
+            final Class<? extends Task> taskInterface,
+            final ObjectMapper objectMapper,
+            final ObjectReaderCache readers,
+            final Validator validator) {
+        final Constructor<?> constructor = CONSTRUCTORS.get(taskInterface).constructor;
+        if (constructor == null) {
+            return null;
+        }
+        return new GeneratedTaskBase.Context(taskInterface, constructor, objectMapper, readers, validator);
+    }
+
+    private static Generated generate(final Class<?> taskInterface) {
+        final String reason = findReasonNotToGenerate(taskInterface);
+        if (reason != null) {
+            logger.debug("Task class is not generated for {}, and it falls back to java.lang.reflect.Proxy: {}", taskInterface, reason);
+            return new Generated(null);
+        }
+
+        final TaskLayout layout = TaskLayout.of(taskInterface.asSubclass(Task.class));
+        final String className = taskInterface.getName() + "$$GeneratedTask";
+        try {
+            final byte[] classFile = TaskClassFileWriter.write(className, layout);
+            final Class<?> generated = new GeneratedTaskClassLoader(taskInterface.getClassLoader()).define(className, classFile);
+            return new Generated(generated.getConstructor(Object.class, Object[].class));
+        } catch (final LinkageError | ReflectiveOperationException | RuntimeException ex) {
+            logger.warn("Failed to generate a Task class for {}, and it falls back to java.lang.reflect.Proxy.", taskInterface, ex);
+            return new Generated(null);
+        }
+    }
+
+    private static String findReasonNotToGenerate(final Class<?> taskInterface) {
+        if (!isAccessible(taskInterface)) {
+            return "the interface is not public.";
+        }
+        final TaskLayout layout = TaskLayout.of(taskInterface.asSubclass(Task.class));
+        if (!layout.getUnsupportedMethods().isEmpty()) {
+            return "the interface has methods which are neither getters nor setters: " + layout.getUnsupportedMethods();
+        }
+        if (layout.size() > MAXIMUM_FIELDS) {
+            return "the interface has too many fields: " + layout.size();
+        }
+        for (final Method getter : layout.getGetterSlots().keySet()) {
+            if (getter.getReturnType() == void.class) {
+                return "the getter returns void: " + getter;
+            }
+            if (!isAccessible(getter.getReturnType())) {
+                return "the getter returns a non-public type: " + getter;
+            }
+        }
+        for (final Method setter : layout.getSetterSlots().keySet()) {
+            // TaskInvocationHandler returns itself from a setter, which works only for a setter that returns void.
+            if (setter.getReturnType() != void.class) {
+                return "the setter does not return void: " + setter;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAccessible(final Class<?> clazz) {
+        Class<?> type = clazz;
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.isPrimitive() || Modifier.isPublic(type.getModifiers());
+    }
+
+    /**
+     * Defines a generated class. It loads {@link GeneratedTaskBase} from {@code embulk-util-config} itself, and other
+     * classes from the {@link java.lang.ClassLoader} of the task-defining interface.
+     */
+    private static final class GeneratedTaskClassLoader extends ClassLoader {
+        GeneratedTaskClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(final String name, final byte[] classFile) {
+            return this.defineClass(name, classFile, 0, classFile.length);
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (GeneratedTaskBase.class.getName().equals(name)) {
+                return GeneratedTaskBase.class;
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+
+    private static final class Generated {
+        Generated(final Constructor<?> constructor) {
+            this.constructor = constructor;
+        }
+
+        private final Constructor<?> constructor;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskClassGenerator.class);
+
+    // The generated class has a field per slot, and its constructor has a few bytecodes per slot.
+    private static final int MAXIMUM_FIELDS = 4096;
+
+    private static final ClassValue<Generated> CONSTRUCTORS = new ClassValue<Generated>() {
+        @Override
+        protected Generated computeValue(final Class<?> type) {
+            return generate(type);
+        }
+    };
+}
@@ -52,11 +52,13 @@ final class TaskField {
             final Method getterMethod,
             final String name,
             final Type returnType,
-            final String defaultValueInJsonString) {
+            final String defaultValueInJsonString,
+            final String fieldNameMappedFromConfigSourceJson) {
         this.getterMethod = getterMethod;
         this.name = name;
         this.returnType = returnType;
         this.defaultValueInJsonString = defaultValueInJsonString;
+        this.fieldNameMappedFromConfigSourceJson = fieldNameMappedFromConfigSourceJson;
     }
 
     static TaskField of(final Method getterMethod) {
@@ -71,11 +73,14 @@ final class TaskField {
 
         final Type returnType = getterMethod.getGenericReturnType();
 
+        final Config annotationConfig = getterMethod.getAnnotation(Config.class);
+        final String fieldNameMappedFromConfigSourceJson = (annotationConfig != null) ? annotationConfig.value() : null;
+
         final ConfigDefault annotationConfigDefault = getterMethod.getAnnotation(ConfigDefault.class);
         if (annotationConfigDefault != null && !annotationConfigDefault.value().isEmpty()) {
-            return new TaskField(getterMethod, name.get(), returnType, annotationConfigDefault.value());
+            return new TaskField(getterMethod, name.get(), returnType, annotationConfigDefault.value(), fieldNameMappedFromConfigSourceJson);
         } else {
-            return new TaskField(getterMethod, name.get(), returnType, null);
+            return new TaskField(getterMethod, name.get(), returnType, null, fieldNameMappedFromConfigSourceJson);
         }
     }
 
@@ -96,11 +101,7 @@ final class TaskField {
     }
 
     String getFieldNameMappedFromConfigSourceJson() {
-        final Config annotationConfig = this.getterMethod.getAnnotation(Config.class);
-        if (annotationConfig != null) {
-            return annotationConfig.value();
-        }
-        return null;
+        return this.fieldNameMappedFromConfigSourceJson;
     }
 
     String getFieldNameMappedFromTaskSourceJson() {
@@ -128,4 +129,7 @@ final class TaskField {
     private final String name;
     private final Type returnType;
     private final String defaultValueInJsonString;
+
+    // The value of @Config, which is read just once when built.
+    private final String fieldNameMappedFromConfigSourceJson;
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Binds one {@link TaskField} to a key in a source JSON, with its Jackson {@link com.fasterxml.jackson.databind.JavaType}
+ * resolved on a specific {@link com.fasterxml.jackson.databind.ObjectMapper}.
+ *
+ * <p>Its {@link com.fasterxml.jackson.databind.ObjectReader} is resolved on the first use, not when it is built. Resolving
+ * a deserializer of a task field may need the binding of the task-defining interface itself recursively, for example,
+ * {@code Optional<PluginTask> getChild()} in {@code PluginTask}.
+ *
+ * <p>Its {@code @ConfigDefault} is parsed into a {@link com.fasterxml.jackson.databind.JsonNode} just once when it is
+ * built. A malformed default is kept as its parse error, and it fails only when the default is actually needed for a
+ * missing field, as it did before the default was parsed in advance. The value converted from the default is cached, and shared across mappings, only if its type is known to be
+ * immutable, such as {@code String}, boxed primitives, enums, and {@code Optional} of them. A default of any other type,
+ * such as {@code List<String>}, is converted from the cached tree on every mapping so that a mapped task never shares
+ * a mutable object with another.
+ */
+final class TaskFieldBinding {
+    TaskFieldBinding(
+            final int index,
+            final String key,
+            final TaskField taskField,
+            final boolean useDefault,
+            final ObjectMapper nestedObjectMapper) {
+        this.index = index;
+        this.key = key;
+        this.taskField = taskField;
+        this.javaType = nestedObjectMapper.getTypeFactory().constructType(taskField.getReturnType());
+        this.nestedObjectMapper = nestedObjectMapper;
+        this.reader = null;
+
+        // @ConfigDefault works (only) in Configs.
+        JsonNode defaultValueNode = null;
+        JsonProcessingException defaultValueError = null;
+        if (useDefault && taskField.getDefaultValueInJsonString().isPresent()) {
+            try {
+                defaultValueNode = nestedObjectMapper.readTree(taskField.getDefaultValueInJsonString().get());
+            } catch (final JsonProcessingException ex) {
+                defaultValueError = ex;
+            }
+        }
+        this.defaultValueNode = defaultValueNode;
+        this.defaultValueError = defaultValueError;
+        this.isDefaultValueShareable = isImmutable(this.javaType);
+        this.sharedDefaultValue = null;
+    }
+
+    /**
+     * Returns the index of this binding in its task-defining interface, which is unique in the interface.
+     */
+    int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Returns the key in a source JSON, for example, the value of {@code @Config} for a {@code ConfigSource}.
+     */
+    String getKey() {
+        return this.key;
+    }
+
+    TaskField getTaskField() {
+        return this.taskField;
+    }
+
+    JavaType getJavaType() {
+        return this.javaType;
+    }
+
+    ObjectReader getReader() {
+        final ObjectReader reader = this.reader;
+        if (reader != null) {
+            return reader;
+        }
+        // It may be resolved more than once by racing threads, but it is harmless as ObjectReader is immutable.
+        final ObjectReader resolved = this.nestedObjectMapper.readerFor(this.javaType);
+        this.reader = resolved;
+        return resolved;
+    }
+
+    boolean hasDefaultValue() {
+        return this.defaultValueNode != null || this.defaultValueError != null;
+    }
+
+    /**
+     * Returns a value converted from its {@code @ConfigDefault}, which may be {@code null} for {@code @ConfigDefault("null")}.
+     */
+    Object readDefaultValue() throws IOException {
+        if (this.defaultValueError != null) {
+            throw new JsonMappingException(
+                    null,
+                    "Invalid @ConfigDefault for '" + this.key + "' at " + this.taskField.getGetterMethod().toString()
+                            + ": " + this.defaultValueError.getOriginalMessage(),
+                    this.defaultValueError);
+        }
+        final Object shared = this.sharedDefaultValue;
+        if (shared != null) {
+            return shared;
+        }
+        final Object value = this.getReader().readValue(this.defaultValueNode);
+        if (this.isDefaultValueShareable && value != null) {
+            this.sharedDefaultValue = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns an exception for {@code null} converted for the field, which is allowed only for {@code Optional}.
+     */
+    NullPointerException newNullException() {
+        return new NullPointerException(
+                "Setting null to a task field is not allowed: " + this.key + ". "
+                + this.taskField.getGetterMethod().getName()
+                + "() has to use java.util.Optional<T> to represent null.");
+    }
+
+    private static boolean isImmutable(final JavaType type) {
+        if (type.isPrimitive() || type.isEnumType()) {
+            return true;
+        }
+        final Class<?> rawClass = type.getRawClass();
+        if (IMMUTABLE_CLASSES.contains(rawClass) || ZoneId.class.isAssignableFrom(rawClass) || Charset.class.isAssignableFrom(rawClass)) {
+            return true;
+        }
+        if (rawClass == Optional.class && type.getContentType() != null) {
+            return isImmutable(type.getContentType());
+        }
+        return false;
+    }
+
+    private static final Set<Class<?>> IMMUTABLE_CLASSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            String.class,
+            Boolean.class,
+            Byte.class,
+            Character.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            BigInteger.class,
+            BigDecimal.class,
+            OptionalInt.class,
+            OptionalLong.class,
+            OptionalDouble.class)));
+
+    private final int index;
+    private final String key;
+    private final TaskField taskField;
+    private final JavaType javaType;
+    private final ObjectMapper nestedObjectMapper;
+
+    private final JsonNode defaultValueNode;
+    // It is null unless its @ConfigDefault is malformed.
+    private final JsonProcessingException defaultValueError;
+    private final boolean isDefaultValueShareable;
+
+    private volatile ObjectReader reader;
+    private volatile Object sharedDefaultValue;
+}
@@ -21,10 +21,10 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 import org.embulk.config.TaskSource;
@@ -37,15 +37,29 @@ final class TaskInvocationHandler implements InvocationHandler {
             final Class<? extends Task> taskInterface,
             final Map<String, Object> taskBackingObjects,
             final ObjectMapper objectMapper,
+            final ObjectReaderCache readers,
             final Validator validator) {
         this.taskInterface = taskInterface;
-        this.taskBackingObjects = new ConcurrentHashMap<>(taskBackingObjects);
+        this.layout = TaskLayout.of(taskInterface);
+        this.slots = new AtomicReferenceArray<>(this.layout.toSlots(taskBackingObjects));
         this.objectMapper = objectMapper;
+        this.readers = readers;
         this.validator = validator;
     }
 
     @Override
     public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        // Getters and setters are dispatched with the table shared per task-defining interface, without parsing the method name.
+        final TaskLayout.Accessor accessor = this.layout.getAccessor(method);
+        if (accessor != null) {
+            if (accessor.isSetter()) {
+                // null is set to remove the field.
+                this.slots.set(accessor.getSlot(), args[0]);
+                return this;
+            }
+            return this.readSlot(accessor.getSlot());
+        }
+
         final String methodName = method.getName();
 
         switch (methodName) {
@@ -85,64 +99,52 @@ final class TaskInvocationHandler implements InvocationHandler {
                 return false;
 
             default:
+                // Getters and setters with the expected number of parameters have been dispatched above.
                 if (methodName.startsWith("get")) {
-                    return this.invokeGetter(proxy, method);
+                    Tasks.assertParameters(method, 0);
                 } else if (methodName.startsWith("set")) {
                     Tasks.assertParameters(method, 1);
-                    this.invokeSetter(method, args[0]);
-                    return this;
-                } else {
-                    throw new IllegalArgumentException(String.format("Undefined method '%s'", methodName));
                 }
+                throw new IllegalArgumentException(String.format("Undefined method '%s'", methodName));
         }
     }
 
-    private Object invokeGetter(final Object proxy, final Method method) {
-        final String methodName = method.getName();
-        final Optional<String> fieldName = Tasks.getFieldNameFromGetter(methodName);
-        if (!fieldName.isPresent()) {
-            throw new IllegalArgumentException("Tried to run a getter " + methodName + ", but the method name is invalid.");
-        }
-
-        Tasks.assertParameters(method, 0);
-        return this.taskBackingObjects.get(fieldName.get());
+    TaskLayout getLayout() {
+        return this.layout;
     }
 
-    private void invokeSetter(final Method method, final Object arg) {
-        final String methodName = method.getName();
-        final Optional<String> fieldName = Tasks.getFieldNameFromSetter(methodName);
-        if (!fieldName.isPresent()) {
-            throw new IllegalArgumentException("Tried to run a setter " + methodName + ", but the method name is invalid.");
-        }
-
-        if (arg == null) {
-            this.taskBackingObjects.remove(fieldName.get());
-        } else {
-            this.taskBackingObjects.put(fieldName.get(), arg);
+    /**
+     * Copies values in slots as they are, without converting a {@link LazyTaskFieldValue}.
+     */
+    Object[] copySlots() {
+        final Object[] values = new Object[this.slots.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.slots.get(i);
         }
+        return values;
     }
 
     private ObjectNode invokeToObjectNode() {
         final ObjectNode objectNode = this.objectMapper.createObjectNode();
-        for (final Map.Entry<String, Object> pair : this.taskBackingObjects.entrySet()) {
+        for (final Map.Entry<String, Object> pair : this.layout.toMap(this.readSlots()).entrySet()) {
             objectNode.set(pair.getKey(), this.objectMapper.valueToTree(pair.getValue()));
         }
         return objectNode;
     }
 
     private TaskSource invokeToTaskSource() {
-        return (TaskSource) (new DataSourceImpl(this.invokeToObjectNode(), this.objectMapper));
+        return (TaskSource) (new DataSourceImpl(this.invokeToObjectNode(), this.objectMapper, this.readers));
     }
 
     private String invokeToString() {
         final StringBuilder builder = new StringBuilder();
         builder.append(this.taskInterface.getName());
-        builder.append(this.taskBackingObjects);
+        builder.append(this.layout.toMap(this.readSlots()));
         return builder.toString();
     }
 
     private int invokeHashCode() {
-        return this.taskBackingObjects.hashCode();
+        return this.layout.hashCodeOf(this.readSlots());
     }
 
     private boolean invokeEquals(final Object otherObject) {
@@ -150,16 +152,50 @@ final class TaskInvocationHandler implements InvocationHandler {
             return false;
         }
         final TaskInvocationHandler other = (TaskInvocationHandler) otherObject;
-        return this.taskBackingObjects.equals(other.taskBackingObjects);
+        if (this.layout == other.layout) {
+            return Arrays.equals(this.readSlots(), other.readSlots());
+        }
+        return this.layout.toMap(this.readSlots()).equals(other.layout.toMap(other.readSlots()));
+    }
+
+    private Object[] readSlots() {
+        final Object[] values = new Object[this.slots.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.readSlot(i);
+        }
+        return values;
+    }
+
+    /**
+     * Reads a slot, converting its value if it is still a {@link LazyTaskFieldValue}.
+     */
+    private Object readSlot(final int slot) {
+        while (true) {
+            final Object value = this.slots.get(slot);
+            if (!(value instanceof LazyTaskFieldValue)) {
+                return value;
+            }
+            final Object converted = ((LazyTaskFieldValue) value).convert();
+            // It may be converted, or set by a setter, by another thread meanwhile. Then, it reads the slot again.
+            if (this.slots.compareAndSet(slot, value, converted)) {
+                return converted;
+            }
+        }
     }
 
     private final Class<? extends Task> taskInterface;
 
+    private final TaskLayout layout;
+
     /**
-     * Objects backing behind a {@link Task} that are wrapped by getter (and setter) methods.
+     * Objects backing behind a {@link Task} that are wrapped by getter (and setter) methods, indexed by slots in {@link TaskLayout}.
+     *
+     * <p>{@code null} is for an absent field. It keeps the visibility among threads as {@link java.util.concurrent.ConcurrentHashMap} did.
+     * A {@link LazyTaskFieldValue} is for a field which is not converted yet.
      */
-    private final ConcurrentHashMap<String, Object> taskBackingObjects;
+    private final AtomicReferenceArray<Object> slots;
 
     private final ObjectMapper objectMapper;
+    private final ObjectReaderCache readers;
     private final Validator validator;
 }
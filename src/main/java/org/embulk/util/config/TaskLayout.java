@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lays out fields of a task-defining interface into slots, which are indexed from {@code 0} in the order of field names.
+ *
+ * <p>A field is named from its getter, or its setter, in the same way as {@link TaskInvocationHandler}. For example,
+ * both {@code getFoo()} and {@code setFoo(String)} are for the field {@code "Foo"}.
+ *
+ * <p>A {@link TaskLayout} is built just once per task-defining interface, and shared.
+ */
+final class TaskLayout {
+    private TaskLayout(
+            final Class<?> taskInterface,
+            final List<String> fieldNames,
+            final Map<String, Integer> slotsFromFieldName,
+            final Map<Method, Integer> getterSlots,
+            final Map<Method, Integer> setterSlots,
+            final HashMap<Method, Accessor> accessors,
+            final List<Method> unsupportedMethods) {
+        this.taskInterface = taskInterface;
+        this.fieldNames = fieldNames;
+        this.slotsFromFieldName = slotsFromFieldName;
+        this.getterSlots = getterSlots;
+        this.setterSlots = setterSlots;
+        this.accessors = accessors;
+        this.unsupportedMethods = unsupportedMethods;
+    }
+
+    static TaskLayout of(final Class<? extends Task> taskInterface) {
+        return LAYOUTS.get(taskInterface);
+    }
+
+    Class<?> getTaskInterface() {
+        return this.taskInterface;
+    }
+
+    int size() {
+        return this.fieldNames.size();
+    }
+
+    String getFieldName(final int slot) {
+        return this.fieldNames.get(slot);
+    }
+
+    /**
+     * Returns the slot of the field name, or {@code -1} if the field is not in the task-defining interface.
+     */
+    int getSlot(final String fieldName) {
+        final Integer slot = this.slotsFromFieldName.get(fieldName);
+        return (slot == null) ? -1 : slot;
+    }
+
+    /**
+     * Returns getter methods, which are public abstract (or default) methods named {@code "get*"} with no parameters.
+     */
+    Map<Method, Integer> getGetterSlots() {
+        return this.getterSlots;
+    }
+
+    /**
+     * Returns setter methods, which are public abstract (or default) methods named {@code "set*"} with one parameter.
+     */
+    Map<Method, Integer> getSetterSlots() {
+        return this.setterSlots;
+    }
+
+    /**
+     * Returns the {@link Accessor} of a getter or a setter, or {@code null} if the method is neither a getter nor a setter.
+     */
+    Accessor getAccessor(final Method method) {
+        return this.accessors.get(method);
+    }
+
+    /**
+     * Returns methods which are neither getters, setters, nor the methods of {@link Task} and {@link java.lang.Object}.
+     *
+     * <p>They are still callable through {@link TaskInvocationHandler}, which throws an exception from such a method.
+     */
+    List<Method> getUnsupportedMethods() {
+        return this.unsupportedMethods;
+    }
+
+    /**
+     * Returns {@code true} if the method is just one of the methods implemented commonly for all tasks, such as
+     * {@link Task#toObjectNode()} and {@link java.lang.Object#hashCode()}.
+     */
+    static boolean isCommonMethod(final Method method) {
+        for (final Method common : COMMON_METHODS) {
+            if (common.getName().equals(method.getName())
+                    && common.getReturnType().equals(method.getReturnType())
+                    && Arrays.equals(common.getParameterTypes(), method.getParameterTypes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a {@link java.util.concurrent.ConcurrentHashMap} from values in slots, where {@code null} is for an absent field.
+     *
+     * <p>It is copied into {@link java.util.concurrent.ConcurrentHashMap} in the same way as {@link TaskInvocationHandler}
+     * did with {@link java.util.concurrent.ConcurrentHashMap} so that it is iterated in the same order.
+     */
+    ConcurrentHashMap<String, Object> toMap(final Object[] slots) {
+        final HashMap<String, Object> taskBackingObjects = new HashMap<>();
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null) {
+                taskBackingObjects.put(this.fieldNames.get(i), slots[i]);
+            }
+        }
+        return new ConcurrentHashMap<>(taskBackingObjects);
+    }
+
+    /**
+     * Builds values in slots from a {@link java.util.Map}.
+     *
+     * @throws IllegalArgumentException  if the {@link java.util.Map} has a field which is not in the task-defining interface
+     */
+    Object[] toSlots(final Map<String, Object> taskBackingObjects) {
+        final Object[] slots = new Object[this.fieldNames.size()];
+        for (final Map.Entry<String, Object> pair : taskBackingObjects.entrySet()) {
+            final int slot = this.getSlot(pair.getKey());
+            if (slot < 0) {
+                throw new IllegalArgumentException(
+                        "FATAL: Expected to be a bug in embulk-util-config. Field '" + pair.getKey() + "' is not in " + this.taskInterface);
+            }
+            slots[slot] = pair.getValue();
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the same hash code as {@link java.util.Map#hashCode()} of the {@link java.util.Map} built by {@link #toMap(Object[])}.
+     */
+    int hashCodeOf(final Object[] slots) {
+        int hash = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null) {
+                hash += this.fieldNames.get(i).hashCode() ^ slots[i].hashCode();
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Accesses a slot from a getter or a setter.
+     */
+    static final class Accessor {
+        private Accessor(final int slot, final boolean isSetter) {
+            this.slot = slot;
+            this.isSetter = isSetter;
+        }
+
+        int getSlot() {
+            return this.slot;
+        }
+
+        boolean isSetter() {
+            return this.isSetter;
+        }
+
+        private final int slot;
+        private final boolean isSetter;
+    }
+
+    private static TaskLayout build(final Class<?> taskInterface) {
+        final TreeSet<String> fieldNames = new TreeSet<>();
+        final ArrayList<Method> getters = new ArrayList<>();
+        final ArrayList<Method> setters = new ArrayList<>();
+        final ArrayList<Method> unsupportedMethods = new ArrayList<>();
+
+        for (final Method method : taskInterface.getMethods()) {
+            if (isCommonMethod(method)) {
+                continue;
+            }
+            final int parameterCount = method.getParameterTypes().length;
+            final Optional<String> getterFieldName = Tasks.getFieldNameFromGetter(method.getName());
+            final Optional<String> setterFieldName = Tasks.getFieldNameFromSetter(method.getName());
+            if (Modifier.isStatic(method.getModifiers())) {
+                // A static getter is never called through a task, but TaskObjectsRetriever may still retrieve a value for it.
+                if (getterFieldName.isPresent() && parameterCount == 0) {
+                    fieldNames.add(getterFieldName.get());
+                }
+                continue;
+            }
+            if (getterFieldName.isPresent() && parameterCount == 0) {
+                fieldNames.add(getterFieldName.get());
+                getters.add(method);
+            } else if (setterFieldName.isPresent() && parameterCount == 1) {
+                fieldNames.add(setterFieldName.get());
+                setters.add(method);
+            } else {
+                unsupportedMethods.add(method);
+            }
+        }
+
+        final List<String> fieldNamesList = Collections.unmodifiableList(new ArrayList<>(fieldNames));
+        final HashMap<String, Integer> slotsFromFieldName = new HashMap<>();
+        for (int i = 0; i < fieldNamesList.size(); i++) {
+            slotsFromFieldName.put(fieldNamesList.get(i), i);
+        }
+
+        final HashMap<Method, Integer> getterSlots = new HashMap<>();
+        final HashMap<Method, Accessor> accessors = new HashMap<>();
+        for (final Method getter : getters) {
+            final int slot = slotsFromFieldName.get(Tasks.getFieldNameFromGetter(getter.getName()).get());
+            getterSlots.put(getter, slot);
+            accessors.put(getter, new Accessor(slot, false));
+        }
+        final HashMap<Method, Integer> setterSlots = new HashMap<>();
+        for (final Method setter : setters) {
+            final int slot = slotsFromFieldName.get(Tasks.getFieldNameFromSetter(setter.getName()).get());
+            setterSlots.put(setter, slot);
+            accessors.put(setter, new Accessor(slot, true));
+        }
+
+        return new TaskLayout(
+                taskInterface,
+                fieldNamesList,
+                Collections.unmodifiableMap(slotsFromFieldName),
+                Collections.unmodifiableMap(getterSlots),
+                Collections.unmodifiableMap(setterSlots),
+                accessors,  // Not wrapped with unmodifiableMap as it is looked up on every call of a getter.
+                Collections.unmodifiableList(unsupportedMethods));
+    }
+
+    private static List<Method> getCommonMethods() {
+        try {
+            return Collections.unmodifiableList(Arrays.asList(
+                    Task.class.getMethod("validate"),
+                    Task.class.getMethod("dump"),
+                    Task.class.getMethod("toTaskSource"),
+                    Task.class.getMethod("toObjectNode"),
+                    Object.class.getMethod("toString"),
+                    Object.class.getMethod("hashCode"),
+                    Object.class.getMethod("equals", Object.class)));
+        } catch (final NoSuchMethodException ex) {
+            throw new LinkageError("FATAL: Expected to be a bug in embulk-util-config. Task methods are not found.", ex);
+        }
+    }
+
+    private static final List<Method> COMMON_METHODS = getCommonMethods();
+
+    // A ClassValue does not prevent the task-defining interface from being unloaded as the value is held by the interface.
+    private static final ClassValue<TaskLayout> LAYOUTS = new ClassValue<TaskLayout>() {
+        @Override
+        protected TaskLayout computeValue(final Class<?> type) {
+            return build(type);
+        }
+    };
+
+    private final Class<?> taskInterface;
+    private final List<String> fieldNames;
+    private final Map<String, Integer> slotsFromFieldName;
+    private final Map<Method, Integer> getterSlots;
+    private final Map<Method, Integer> setterSlots;
+    private final HashMap<Method, Accessor> accessors;
+    private final List<Method> unsupportedMethods;
+}
@@ -20,9 +20,13 @@ import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 import org.embulk.config.TaskSource;
 
 /**
@@ -55,8 +59,10 @@ import org.embulk.config.TaskSource;
  * }}</pre>
  */
 public final class TaskMapper {
-    TaskMapper(final ObjectMapper objectMapper) {
+    TaskMapper(final ObjectMapper objectMapper, final MappingListener listener, final MappingStatisticsRecorder statistics) {
         this.objectMapper = objectMapper;
+        this.listener = listener;
+        this.statistics = statistics;
     }
 
     /**
@@ -68,17 +74,106 @@ public final class TaskMapper {
      * @return a mapped task instance
      */
     public <T extends Task> T map(final TaskSource task, final Class<T> taskType) {
+        // A single map does not build ObjectReader, which ObjectMapper#readValue does not allocate.
+        return this.map(task, taskType, null);
+    }
+
+    /**
+     * Maps {@code org.embulk.config.TaskSource}s into a task-defining interface that inherits {@link Task}, one by one.
+     *
+     * <p>It resolves the binding plan of the task-defining interface just once for all the {@code TaskSource}s. It maps all the
+     * {@code TaskSource}s even if some of them fail, and then throws {@link TaskMappingException} with the failures.
+     *
+     * @param <T>  the task-defining interface
+     * @param tasks  {@code org.embulk.config.TaskSource}s to map from
+     * @param taskType  {@link java.lang.Class} of the task-defining interface
+     * @return mapped task instances in the order of the {@code TaskSource}s
+     * @throws TaskMappingException  if failing to map some of the {@code TaskSource}s
+     */
+    public <T extends Task> List<T> mapAll(final List<? extends TaskSource> tasks, final Class<T> taskType) {
+        final ObjectReader reader = this.objectMapper.readerFor(taskType);
+        return BatchMapping.mapAll(tasks, task -> this.map(task, taskType, reader), taskType);
+    }
+
+    /**
+     * Maps {@code org.embulk.config.TaskSource}s into a task-defining interface that inherits {@link Task}, in parallel by the
+     * {@link java.util.concurrent.Executor}.
+     *
+     * <p>The {@code TaskSource}s are split into chunks, a few per processor, and each chunk is mapped in a task run by the
+     * {@link java.util.concurrent.Executor}, for example, a {@link java.util.concurrent.ForkJoinPool}, or an
+     * {@link java.util.concurrent.ExecutorService} of virtual threads on Java 21 or later. It blocks until all are mapped.
+     *
+     * @param <T>  the task-defining interface
+     * @param tasks  {@code org.embulk.config.TaskSource}s to map from
+     * @param taskType  {@link java.lang.Class} of the task-defining interface
+     * @param executor  {@link java.util.concurrent.Executor} to map in
+     * @return mapped task instances in the order of the {@code TaskSource}s
+     * @throws TaskMappingException  if failing to map some of the {@code TaskSource}s
+     */
+    public <T extends Task> List<T> mapAll(final List<? extends TaskSource> tasks, final Class<T> taskType, final Executor executor) {
+        final ObjectReader reader = this.objectMapper.readerFor(taskType);
+        return BatchMapping.mapAll(tasks, task -> this.map(task, taskType, reader), taskType, executor);
+    }
+
+    /**
+     * Maps {@code org.embulk.config.TaskSource}s from {@link java.util.stream.Stream} into a task-defining interface that inherits
+     * {@link Task}.
+     *
+     * <p>They are mapped in parallel if the {@link java.util.stream.Stream} is parallel, in the
+     * {@link java.util.concurrent.ForkJoinPool} where it is called, or in the common pool.
+     *
+     * @param <T>  the task-defining interface
+     * @param tasks  {@code org.embulk.config.TaskSource}s to map from
+     * @param taskType  {@link java.lang.Class} of the task-defining interface
+     * @return mapped task instances in the order of the {@code TaskSource}s
+     * @throws TaskMappingException  if failing to map some of the {@code TaskSource}s
+     */
+    public <T extends Task> List<T> mapAll(final Stream<? extends TaskSource> tasks, final Class<T> taskType) {
+        final ObjectReader reader = this.objectMapper.readerFor(taskType);
+        return BatchMapping.mapAll(tasks, task -> this.map(task, taskType, reader), taskType);
+    }
+
+    // The reader is shared only in mapAll. It is null for a single map.
+    private <T extends Task> T map(final TaskSource task, final Class<T> taskType, final ObjectReader reader) {
+        if (this.statistics == null) {
+            return this.mapAndNotify(task, taskType, reader);
+        }
+        final long started = System.nanoTime();
+        final T value;
+        try {
+            value = this.mapAndNotify(task, taskType, reader);
+        } catch (final RuntimeException ex) {
+            this.statistics.recordFailed();
+            throw ex;
+        }
+        this.statistics.recordMapped(System.nanoTime() - started);
+        return value;
+    }
+
+    private <T extends Task> T mapAndNotify(final TaskSource task, final Class<T> taskType, final ObjectReader reader) {
+        final MappingListener listener = this.listener;
+        final long started = (listener != null) ? System.nanoTime() : 0L;
+        final Object event = FlightRecorderEvent.TASK_MAPPING.begin();
+
         final ObjectNode objectNode;
         try {
-            objectNode = Compat.rebuildObjectNode(task);
+            // It is only read to map into a task below. It can be the internal ObjectNode of DataSourceImpl without copying.
+            objectNode = Compat.readObjectNode(task);
         } catch (final IOException ex) {
             // It should happen only from DataSource#toJson(), not from rebuilding ObjectNode.
             throw new UncheckedIOException("org.embulk.config.TaskSource#toJson() returned an invalid JSON.", ex);
         }
+        if (listener != null) {
+            listener.onPhase(taskType, MappingListener.Phase.REBUILD, System.nanoTime() - started);
+        }
 
         final T value;
         try {
-            value = this.objectMapper.readValue(objectNode.traverse(), taskType);
+            if (reader != null) {
+                value = reader.readValue(objectNode.traverse());
+            } else {
+                value = this.objectMapper.readValue(objectNode.traverse(), taskType);
+            }
         } catch (final JsonMappingException ex) {
             throw new UncheckedIOException("Failed to map a JSON value into some object.", ex);
         } catch (final JsonParseException ex) {
@@ -88,8 +183,32 @@ public final class TaskMapper {
         } catch (final IOException ex) {
             throw new UncheckedIOException("Unexpected I/O error in ObjectNode rebuilt from org.embulk.config.TaskSource.", ex);
         }
+
+        final long elapsed = (listener != null) ? System.nanoTime() - started : 0L;
+        final boolean recorded = FlightRecorderEvent.TASK_MAPPING.end(event);
+
+        // The size is counted just once, only if it is used, and out of the elapsed time, as it serializes the whole source again.
+        final long sourceBytes;
+        if (recorded || (listener != null && listener.needsSourceBytes())) {
+            sourceBytes = MappingListeners.sizeOf(this.objectMapper, objectNode);
+        } else {
+            sourceBytes = -1L;
+        }
+
+        if (recorded) {
+            FlightRecorderEvent.TASK_MAPPING.commit(event, "TaskMapper", taskType.getName(), TaskLayout.of(taskType).size(), sourceBytes);
+        }
+        if (listener != null) {
+            listener.onTaskMapped(taskType, sourceBytes, elapsed);
+        }
         return value;
     }
 
     private final ObjectMapper objectMapper;
+
+    // It is null unless a MappingListener is registered.
+    private final MappingListener listener;
+
+    // It is null unless the ConfigMapperFactory is built with statistics.
+    private final MappingStatisticsRecorder statistics;
 }
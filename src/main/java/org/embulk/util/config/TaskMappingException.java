@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.embulk.config.ConfigException;
+
+/**
+ * {@link java.lang.Exception} that represents failure(s) in mapping some of sources by {@code mapAll} of {@link ConfigMapper}
+ * and {@link TaskMapper}.
+ *
+ * <p>Its cause is the failure of the first source failed. Failures of the other sources failed are suppressed.
+ */
+public class TaskMappingException extends ConfigException {
+    TaskMappingException(final Class<?> taskType, final int numberOfSources, final Map<Integer, RuntimeException> failures) {
+        this(taskType, numberOfSources, Collections.unmodifiableSortedMap(new TreeMap<>(failures)));
+    }
+
+    private TaskMappingException(final Class<?> taskType, final int numberOfSources, final SortedMap<Integer, RuntimeException> failures) {
+        super(formatMessage(taskType, numberOfSources, failures), failures.get(failures.firstKey()));
+        this.failures = failures;
+        for (final Map.Entry<Integer, RuntimeException> failure : failures.tailMap(failures.firstKey() + 1).entrySet()) {
+            this.addSuppressed(failure.getValue());
+        }
+    }
+
+    /**
+     * Returns failures indexed by the positions of their sources, in the order of the positions.
+     *
+     * @return failures indexed by the positions of their sources
+     */
+    public SortedMap<Integer, RuntimeException> getFailures() {
+        return this.failures;
+    }
+
+    private static String formatMessage(final Class<?> taskType, final int numberOfSources, final SortedMap<Integer, RuntimeException> failures) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("Failed to map ");
+        builder.append(failures.size());
+        builder.append(" of ");
+        builder.append(numberOfSources);
+        builder.append(" sources to ");
+        builder.append(taskType.getName());
+        builder.append(". The first failure at index ");
+        builder.append(failures.firstKey());
+        final String firstMessage = failures.get(failures.firstKey()).getMessage();
+        if (firstMessage != null) {
+            builder.append(": ");
+            builder.append(firstMessage);
+        } else {
+            builder.append(".");
+        }
+        return builder.toString();
+    }
+
+    private final SortedMap<Integer, RuntimeException> failures;
+}
@@ -21,49 +21,54 @@ import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import org.embulk.config.ConfigException;
 
 /**
  * Retrieves actual user configuration values from JSON, and builds a {@link java.util.Map} of {@link java.lang.Object}s backing behind a {@link Task}.
+ *
+ * <p>It is an immutable "binding plan" compiled for a task-defining interface on a specific {@link ObjectMapper}. Its
+ * reflection on the task-defining interface is done just once when it is built. It is expected to be cached by
+ * {@link TaskObjectsRetrieverCache}, and reused for mapping the same task-defining interface many times.
  */
 final class TaskObjectsRetriever {
     private TaskObjectsRetriever(
             final Class<? extends Task> taskInterface,
-            final Map<String, List<TaskField>> taskFieldsFromJsonFieldName,
-            final boolean useDefault,
+            final Map<String, List<TaskFieldBinding>> bindingsFromJsonFieldName,
+            final List<TaskFieldBinding> bindings,
             final ObjectMapper nestedObjectMapper) {
         this.taskInterface = taskInterface;
-        this.taskFieldsFromJsonFieldName = taskFieldsFromJsonFieldName;
-        this.useDefault = useDefault;
+        this.bindingsFromJsonFieldName = bindingsFromJsonFieldName;
+        this.bindings = bindings;
         this.nestedObjectMapper = nestedObjectMapper;
     }
 
     static final TaskObjectsRetriever forConfig(
             final Class<? extends Task> taskInterface,
-            final ObjectMapper nestedObjectMapper) {
-        return new TaskObjectsRetriever(
-                taskInterface,
-                mapTaskFieldsFromJsonFieldName(taskInterface, taskField -> taskField.getFieldNameMappedFromConfigSourceJson()),
-                true,
-                nestedObjectMapper);
+            final ObjectMapper nestedObjectMapper)
+            throws JsonMappingException {
+        return build(taskInterface, taskField -> taskField.getFieldNameMappedFromConfigSourceJson(), true, nestedObjectMapper);
     }
 
     static final TaskObjectsRetriever forTask(
             final Class<? extends Task> taskInterface,
-            final ObjectMapper nestedObjectMapper) {
-        return new TaskObjectsRetriever(
-                taskInterface,
-                mapTaskFieldsFromJsonFieldName(taskInterface, taskField -> taskField.getFieldNameMappedFromTaskSourceJson()),
-                false,
-                nestedObjectMapper);
+            final ObjectMapper nestedObjectMapper)
+            throws JsonMappingException {
+        return build(taskInterface, taskField -> taskField.getFieldNameMappedFromTaskSourceJson(), false, nestedObjectMapper);
+    }
+
+    Class<? extends Task> getTaskInterface() {
+        return this.taskInterface;
     }
 
     /**
@@ -85,39 +90,44 @@ final class TaskObjectsRetriever {
      *
      * <p>For that case, the built {@link java.util.Map} is like {@code { "ConfigAsString": "1234", "ConfigAsInteger": 1234, "Someone": "any"}}.
      *
+     * <p>If {@code lazily} is {@code true}, a value in JSON is not converted, but kept as {@link LazyTaskFieldValue} in the
+     * built {@link java.util.Map}. A {@code null} in JSON is still converted so that it is checked in the same way, for
+     * example, {@code null} for {@code Optional<String>} is converted into {@code Optional.empty()}. Default values are
+     * always converted.
+     *
      * @param parser  {@link com.fasterxml.jackson.core.JsonParser} from {@link com.fasterxml.jackson.databind.JsonDeserializer}
      *        as a source of the backing {@link java.lang.Object}s, whose "current token" should already be the first token
+     * @param lazily  {@code true} to keep values in JSON unconverted
+     * @param listener  {@link MappingListener} to be notified of timings, or {@code null} not to measure anything
      * @return {@link java.util.Map} of backing {@link java.lang.Object}s
-     * @throws IOException  hoge
+     * @throws IOException  if failing in reading the JSON, or in converting its values
      */
-    final ConcurrentHashMap<String, Object> buildTaskBackingObjects(final JsonParser parser) throws IOException {
-        final HashMap<TaskField, String> unfilledTaskFields = new HashMap<>();
-        for (final Map.Entry<String, List<TaskField>> sourceJsonKeyAndTaskFields : this.taskFieldsFromJsonFieldName.entrySet()) {
-            final String sourceJsonKey = sourceJsonKeyAndTaskFields.getKey();
-            for (final TaskField taskField : sourceJsonKeyAndTaskFields.getValue()) {
-                unfilledTaskFields.put(taskField, sourceJsonKey);
-            }
-        }
+    final ConcurrentHashMap<String, Object> buildTaskBackingObjects(
+            final JsonParser parser,
+            final boolean lazily,
+            final MappingListener listener)
+            throws IOException {
+        final long started = (listener != null) ? System.nanoTime() : 0L;
+        final boolean[] filled = new boolean[this.bindings.size()];
 
         final ArrayList<NullPointerException> nullExceptions = new ArrayList<>();
         final ConcurrentHashMap<String, Object> taskBackingObjects =
-                buildTaskBackingObjectsOnlyAvailableInJson(parser, unfilledTaskFields, nullExceptions);
+                buildTaskBackingObjectsOnlyAvailableInJson(parser, lazily, filled, nullExceptions, listener);
+        final long bound = (listener != null) ? System.nanoTime() : 0L;
 
         // Set default values.
-        for (final Map.Entry<TaskField, String> unfilledTaskFieldAndKey : unfilledTaskFields.entrySet()) {
-            final TaskField unfilledTaskField = unfilledTaskFieldAndKey.getKey();
-            final String key = unfilledTaskFieldAndKey.getValue();
-
-            // @ConfigDefault works (only) in Configs.
-            if (this.useDefault && unfilledTaskField.getDefaultValueInJsonString().isPresent()) {
-                final Object value = this.nestedObjectMapper.readValue(
-                        unfilledTaskField.getDefaultValueInJsonString().get(),
-                        new GenericTypeReference(unfilledTaskField.getReturnType()));
+        for (final TaskFieldBinding binding : this.bindings) {
+            if (filled[binding.getIndex()]) {
+                continue;
+            }
+            final TaskField unfilledTaskField = binding.getTaskField();
+            final String key = binding.getKey();
+
+            // @ConfigDefault works (only) in Configs, and it is prepared only in the binding plan for Configs.
+            if (binding.hasDefaultValue()) {
+                final Object value = binding.readDefaultValue();
                 if (value == null) {
-                    nullExceptions.add(new NullPointerException(
-                            "Setting null to a task field is not allowed: " + key + ". "
-                            + unfilledTaskField.getGetterMethod().getName()
-                            + "() has to use java.util.Optional<T> to represent null."));
+                    nullExceptions.add(binding.newNullException());
                 } else {
                     taskBackingObjects.put(unfilledTaskField.getName(), value);
                 }
@@ -127,21 +137,73 @@ final class TaskObjectsRetriever {
             }
         }
 
-        if (!nullExceptions.isEmpty()) {
-            final JsonMappingException ex = new JsonMappingException("Setting null to a task field is not allowed.");
-            for (final NullPointerException inner : nullExceptions) {
-                ex.addSuppressed(inner);
-            }
-            throw ex;
+        if (listener != null) {
+            listener.onPhase(this.taskInterface, MappingListener.Phase.BIND, bound - started);
+            listener.onPhase(this.taskInterface, MappingListener.Phase.DEFAULTS, System.nanoTime() - bound);
         }
 
+        throwIfNullExceptions(nullExceptions);
         return taskBackingObjects;
     }
 
+    /**
+     * Puts values converted from {@code delta} into backing objects of an existing {@link Task}, only for fields mapped from
+     * keys in {@code delta}.
+     *
+     * <p>A scalar value in {@code delta} replaces the value of the field, as {@code DataSource#merge} does. A JSON object or
+     * array in {@code delta} is rejected for any key mapped to a field before converting anything, whether fields are
+     * converted lazily or not, as {@code DataSource#merge} would merge it into the JSON value that the field was converted
+     * from, which is not kept. Fields mapped from keys not in {@code delta} are kept as-is in the backing objects.
+     *
+     * @param taskBackingObjects  backing objects of an existing {@link Task}, to be updated
+     * @param delta  a JSON object of keys to update
+     * @param lazily  {@code true} to keep values in {@code delta} unconverted, as {@link #buildTaskBackingObjects(JsonParser, boolean, MappingListener)}
+     * @throws IOException  if failing in converting values
+     * @throws org.embulk.config.ConfigException  if {@code delta} has a JSON object or array for a key mapped to a field
+     */
+    final void putTaskBackingObjectsFromDelta(
+            final ConcurrentHashMap<String, Object> taskBackingObjects,
+            final ObjectNode delta,
+            final boolean lazily)
+            throws IOException {
+        for (final Iterator<Map.Entry<String, JsonNode>> fields = delta.fields(); fields.hasNext(); ) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final List<TaskFieldBinding> bindingsForKey = this.bindingsFromJsonFieldName.get(field.getKey());
+            if (bindingsForKey != null && !bindingsForKey.isEmpty() && (field.getValue().isObject() || field.getValue().isArray())) {
+                throw new ConfigException("Attribute '" + field.getKey() + "' is a JSON object or array, which cannot be merged into "
+                        + "a task by remapping. Map the whole merged ConfigSource instead.");
+            }
+        }
+
+        final ArrayList<NullPointerException> nullExceptions = new ArrayList<>();
+        for (final Iterator<Map.Entry<String, JsonNode>> fields = delta.fields(); fields.hasNext(); ) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final List<TaskFieldBinding> bindingsForKey = this.bindingsFromJsonFieldName.get(field.getKey());
+            if (bindingsForKey == null || bindingsForKey.isEmpty()) {
+                continue;
+            }
+
+            // A scalar node is immutable. It is kept as-is even if it is kept unconverted.
+            final JsonNode node = field.getValue();
+            for (final TaskFieldBinding binding : bindingsForKey) {
+                final Object value = (lazily && !node.isNull()) ? new LazyTaskFieldValue(binding, node) : binding.getReader().readValue(node);
+                if (value == null) {
+                    nullExceptions.add(binding.newNullException());
+                } else {
+                    taskBackingObjects.put(binding.getTaskField().getName(), value);
+                }
+            }
+        }
+
+        throwIfNullExceptions(nullExceptions);
+    }
+
     private ConcurrentHashMap<String, Object> buildTaskBackingObjectsOnlyAvailableInJson(
             final JsonParser parser,
-            final HashMap<TaskField, String> unfilledTaskFields,
-            final ArrayList<NullPointerException> nullExceptions)
+            final boolean lazily,
+            final boolean[] filled,
+            final ArrayList<NullPointerException> nullExceptions,
+            final MappingListener listener)
             throws IOException {
         final ConcurrentHashMap<String, Object> taskBackingObjects = new ConcurrentHashMap<>();
 
@@ -156,44 +218,96 @@ final class TaskObjectsRetriever {
         for (String key = firstKey; key != null; key = parser.nextFieldName()) {
             final JsonToken dummy = parser.nextToken();  // Skip the next token to get the value.
 
-            final List<TaskField> taskFieldsForKey = this.taskFieldsFromJsonFieldName.get(key);
-            if (taskFieldsForKey == null || taskFieldsForKey.isEmpty()) {
+            final List<TaskFieldBinding> bindingsForKey = this.bindingsFromJsonFieldName.get(key);
+            if (bindingsForKey == null || bindingsForKey.isEmpty()) {
                 parser.skipChildren();
                 continue;
             }
 
-            final JsonNode children = this.nestedObjectMapper.readValue(parser, JsonNode.class);
-            for (final TaskField taskField : taskFieldsForKey) {
-                final Object value = this.nestedObjectMapper.convertValue(
-                        children, new GenericTypeReference(taskField.getReturnType()));
-                if (value == null) {
-                    nullExceptions.add(new NullPointerException(
-                            "Setting null to a task field is not allowed: " + key + ". "
-                            + taskField.getGetterMethod().getName()
-                            + "() has to use java.util.Optional<T> to represent null."));
-                } else {
-                    taskBackingObjects.put(taskField.getName(), value);
+            if (lazily) {
+                // The tree of the value is kept for all fields mapped from the key, and converted when its getter is called.
+                final JsonNode children = this.nestedObjectMapper.readValue(parser, JsonNode.class);
+                for (final TaskFieldBinding binding : bindingsForKey) {
+                    if (children == null || children.isNull()) {
+                        this.putValue(taskBackingObjects, filled, nullExceptions, binding, binding.getReader().readValue(children));
+                    } else {
+                        this.putValue(taskBackingObjects, filled, nullExceptions, binding, new LazyTaskFieldValue(binding, children));
+                    }
                 }
+                continue;
+            }
 
-                if (!unfilledTaskFields.remove(taskField, key)) {
-                    throw new JsonMappingException(String.format(
-                            "FATAL: Expected to be a bug in embulk-util-config."
-                            + " Mapping \"%s: (%s) %s\" might have already been processed, or not in %s.",
-                            key,
-                            taskField.getReturnType().toString(),
-                            taskField.getName(),
-                            this.taskInterface.toString()));
+            if (bindingsForKey.size() == 1) {
+                // Most keys are mapped to a single field. Its value is deserialized straight from the parser.
+                final TaskFieldBinding binding = bindingsForKey.get(0);
+                final long fieldStarted = (listener != null) ? System.nanoTime() : 0L;
+                final Object value = binding.getReader().readValue(parser);
+                if (listener != null) {
+                    listener.onFieldDeserialized(this.taskInterface, key, System.nanoTime() - fieldStarted);
                 }
+                this.putValue(taskBackingObjects, filled, nullExceptions, binding, value);
+                continue;
+            }
+
+            // A tree is built only when a key is mapped to multiple fields as the parser cannot be rewound.
+            final JsonNode children = this.nestedObjectMapper.readValue(parser, JsonNode.class);
+            for (final TaskFieldBinding binding : bindingsForKey) {
+                final long fieldStarted = (listener != null) ? System.nanoTime() : 0L;
+                final Object value = binding.getReader().readValue(children);
+                if (listener != null) {
+                    listener.onFieldDeserialized(this.taskInterface, key, System.nanoTime() - fieldStarted);
+                }
+                this.putValue(taskBackingObjects, filled, nullExceptions, binding, value);
             }
         }
 
         return taskBackingObjects;
     }
 
-    private static Map<String, List<TaskField>> mapTaskFieldsFromJsonFieldName(
+    private void putValue(
+            final ConcurrentHashMap<String, Object> taskBackingObjects,
+            final boolean[] filled,
+            final ArrayList<NullPointerException> nullExceptions,
+            final TaskFieldBinding binding,
+            final Object value)
+            throws JsonMappingException {
+        final TaskField taskField = binding.getTaskField();
+        if (value == null) {
+            nullExceptions.add(binding.newNullException());
+        } else {
+            taskBackingObjects.put(taskField.getName(), value);
+        }
+
+        if (filled[binding.getIndex()]) {
+            throw new JsonMappingException(String.format(
+                    "FATAL: Expected to be a bug in embulk-util-config."
+                    + " Mapping \"%s: (%s) %s\" might have already been processed, or not in %s.",
+                    binding.getKey(),
+                    taskField.getReturnType().toString(),
+                    taskField.getName(),
+                    this.taskInterface.toString()));
+        }
+        filled[binding.getIndex()] = true;
+    }
+
+    private static void throwIfNullExceptions(final List<NullPointerException> nullExceptions) throws JsonMappingException {
+        if (!nullExceptions.isEmpty()) {
+            final JsonMappingException ex = new JsonMappingException("Setting null to a task field is not allowed.");
+            for (final NullPointerException inner : nullExceptions) {
+                ex.addSuppressed(inner);
+            }
+            throw ex;
+        }
+    }
+
+    private static TaskObjectsRetriever build(
             final Class<? extends Task> taskInterface,
-            final Function<TaskField, String> getFieldNameMappedFromSourceJson) {
-        final ConcurrentHashMap<String, List<TaskField>> taskFieldsFromJsonFieldName = new ConcurrentHashMap<>();
+            final Function<TaskField, String> getFieldNameMappedFromSourceJson,
+            final boolean useDefault,
+            final ObjectMapper nestedObjectMapper)
+            throws JsonMappingException {
+        final LinkedHashMap<String, List<TaskFieldBinding>> bindingsFromJsonFieldName = new LinkedHashMap<>();
+        final ArrayList<TaskFieldBinding> bindings = new ArrayList<>();
 
         for (final Method method : taskInterface.getMethods()) {
             final TaskField taskField = TaskField.of(method);
@@ -206,24 +320,21 @@ final class TaskObjectsRetriever {
                 continue;
             }
 
-            taskFieldsFromJsonFieldName.compute(keyExpectedInSourceJson, (key, oldValue) -> {
-                if (oldValue == null) {
-                    final ArrayList<TaskField> newValue = new ArrayList<>();
-                    newValue.add(taskField);
-                    return newValue;
-                } else {
-                    oldValue.add(taskField);
-                    return oldValue;
-                }
-            });
+            final TaskFieldBinding binding = new TaskFieldBinding(bindings.size(), keyExpectedInSourceJson, taskField, useDefault, nestedObjectMapper);
+            bindings.add(binding);
+            bindingsFromJsonFieldName.computeIfAbsent(keyExpectedInSourceJson, key -> new ArrayList<>()).add(binding);
         }
-        taskFieldsFromJsonFieldName.replaceAll((key, value) -> Collections.unmodifiableList(value));
+        bindingsFromJsonFieldName.replaceAll((key, value) -> Collections.unmodifiableList(value));
 
-        return Collections.unmodifiableMap(taskFieldsFromJsonFieldName);
+        return new TaskObjectsRetriever(
+                taskInterface,
+                Collections.unmodifiableMap(bindingsFromJsonFieldName),
+                Collections.unmodifiableList(bindings),
+                nestedObjectMapper);
     }
 
     private final Class<? extends Task> taskInterface;
-    private final Map<String, List<TaskField>> taskFieldsFromJsonFieldName;
-    private final boolean useDefault;
+    private final Map<String, List<TaskFieldBinding>> bindingsFromJsonFieldName;
+    private final List<TaskFieldBinding> bindings;
     private final ObjectMapper nestedObjectMapper;
 }
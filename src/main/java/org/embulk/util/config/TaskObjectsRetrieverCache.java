@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches {@link TaskObjectsRetriever}s per task-defining interface so that reflection on the interface is done just once.
+ *
+ * <p>Its keys are weakly referenced, and its values are softly referenced, so that it does not prevent task-defining
+ * interfaces, and their plugin class loaders, from being unloaded. It is also bounded by the number of entries.
+ *
+ * <p>It is thread-safe. A {@link TaskObjectsRetriever} may be built more than once by racing threads, but it is harmless
+ * as a {@link TaskObjectsRetriever} is immutable. It is built out of the lock so that building a nested task-defining
+ * interface does not block other threads.
+ */
+final class TaskObjectsRetrieverCache {
+    TaskObjectsRetrieverCache(
+            final boolean forConfig,
+            final ObjectMapper nestedObjectMapper,
+            final int maximumSize,
+            final MappingListener listener) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.forConfig = forConfig;
+        this.nestedObjectMapper = nestedObjectMapper;
+        this.maximumSize = maximumSize;
+        this.listener = listener;
+        this.retrievers = new WeakHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    TaskObjectsRetriever get(final Class<? extends Task> taskInterface) throws JsonMappingException {
+        final TaskObjectsRetriever cached = this.getIfPresent(taskInterface);
+        if (this.listener != null) {
+            this.listener.onBindingPlanLookup(taskInterface, cached != null);
+        }
+        if (cached != null) {
+            this.hits.increment();
+            return cached;
+        }
+        this.misses.increment();
+
+        final TaskObjectsRetriever built;
+        if (this.forConfig) {
+            built = TaskObjectsRetriever.forConfig(taskInterface, this.nestedObjectMapper);
+        } else {
+            built = TaskObjectsRetriever.forTask(taskInterface, this.nestedObjectMapper);
+        }
+
+        synchronized (this.retrievers) {
+            final SoftReference<TaskObjectsRetriever> reference = this.retrievers.get(taskInterface);
+            final TaskObjectsRetriever racing = (reference == null) ? null : reference.get();
+            if (racing != null) {
+                return racing;
+            }
+            if (this.retrievers.size() >= this.maximumSize) {
+                // Evicts an arbitrary entry. Task-defining interfaces are usually far fewer than the limit.
+                final Iterator<Class<?>> iterator = this.retrievers.keySet().iterator();
+                if (iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                    this.evictions.increment();
+                }
+            }
+            this.retrievers.put(taskInterface, new SoftReference<>(built));
+        }
+        return built;
+    }
+
+    TaskObjectsRetriever getIfPresent(final Class<? extends Task> taskInterface) {
+        synchronized (this.retrievers) {
+            final SoftReference<TaskObjectsRetriever> reference = this.retrievers.get(taskInterface);
+            return (reference == null) ? null : reference.get();
+        }
+    }
+
+    int size() {
+        synchronized (this.retrievers) {
+            return this.retrievers.size();
+        }
+    }
+
+    long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups not found, including entries softly referenced, and then cleared by GC.
+     */
+    long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted because the cache is full.
+     */
+    long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private final boolean forConfig;
+    private final ObjectMapper nestedObjectMapper;
+    private final int maximumSize;
+
+    // It is null unless a MappingListener is registered.
+    private final MappingListener listener;
+
+    // Guarded by itself.
+    private final WeakHashMap<Class<?>, SoftReference<TaskObjectsRetriever>> retrievers;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+}
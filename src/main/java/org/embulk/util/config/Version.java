@@ -16,24 +16,17 @@
 
 package org.embulk.util.config;
 
-import java.net.URL;
-import java.util.jar.Attributes;
-import java.util.jar.JarFile;
-import java.util.jar.Manifest;
-
 /**
  * A utility class defining a constant {@code JACKSON_MODULE_VERSION} of Jackson's Module version.
  *
- * <p>It retrieves the version information from {@code Implementation-Version} in Manifest of the
- * {@code embulk-util-config} library JAR. If the attribute is unavailable, typically in testing,
- * it reads the Java System Property {@code "org.embulk.embulk_util_config.version"} instead.
+ * <p>It parses the version of the {@code embulk-util-config} library in {@code BuildVersion.VERSION}, which is a constant
+ * generated from {@code build.gradle} at build time by the {@code generateBuildVersion} task. It does not read any file,
+ * such as the library JAR's Manifest, at runtime.
  *
- * <p>In case of any error ({@code Exception}) while reading and parsing the Manifest, the constant
- * {@code JACKSON_MODULE_VERSION} is set {@code com.fasterxml.jackson.core.Version.unknownVersion()}
- * without reporting any visible error.
+ * <p>In case of any error ({@code Exception}) while parsing the version, the constant {@code JACKSON_MODULE_VERSION} is
+ * set {@code com.fasterxml.jackson.core.Version.unknownVersion()} without reporting any visible error.
  *
- * <p>{@code Implementation-Version} is set in the build script ({@code build.gradle}). The version
- * number in {@code build.gradle} is tested in {@code TestVersion} to confirm the configured version
+ * <p>The version number in {@code build.gradle} is tested in {@code TestVersion} to confirm the configured version
  * number follows some required rules.
  */
 final class Version {
@@ -49,7 +42,7 @@ final class Version {
 
     private static com.fasterxml.jackson.core.Version getVersion() {
         try {
-            return parseVersion(getImplementationVersion());
+            return parseVersion(BuildVersion.VERSION);
         } catch (final Throwable any) {
             // It must not throw any Exception/Throwable out of getVersion()
             // because getVersion() is called in the class static context.
@@ -105,50 +98,6 @@ final class Version {
         }
     }
 
-    private static String getImplementationVersion() {
-        try {
-            return getManifestImplementationVersion();
-        } catch (final Throwable any) {
-            // Pass-through.
-        }
-
-        try {
-            // Trying to get a version string from system properties. It is almost just for testing.
-            return System.getProperty("org.embulk.embulk_util_config.version");
-        } catch (final Throwable any) {
-            // Pass-through.
-        }
-
-        return null;
-    }
-
-    private static String getManifestImplementationVersion() throws Exception {
-        final URL selfJarUrl = Version.class.getProtectionDomain().getCodeSource().getLocation();
-        if (selfJarUrl == null || !selfJarUrl.getProtocol().equals("file")) {
-            throw new Exception();
-        }
-
-        final String selfJarPathString = selfJarUrl.getPath();
-        if (selfJarPathString == null || selfJarPathString.isEmpty()) {
-            throw new Exception();
-        }
-
-        final Manifest manifest;
-        try (final JarFile selfJarFile = new JarFile(selfJarPathString)) {
-            manifest = selfJarFile.getManifest();
-        }
-        if (manifest == null) {
-            throw new Exception();
-        }
-
-        final Attributes mainAttributes = manifest.getMainAttributes();
-        final String implementationVersion = mainAttributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION);
-        if (implementationVersion == null) {
-            throw new Exception();
-        }
-        return implementationVersion;
-    }
-
     private static final String GROUP_ID = "org.embulk";
     private static final String ARTIFACT_ID = "embulk-util-config";
 }
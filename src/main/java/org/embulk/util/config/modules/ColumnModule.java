@@ -27,6 +27,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.deser.std.StdNodeBasedDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 import java.util.Collections;
@@ -51,7 +52,7 @@ public final class ColumnModule extends SimpleModule {
                 final JsonGenerator jsonGenerator,
                 final SerializerProvider provider)
                 throws IOException {
-            final ObjectNode object = OBJECT_MAPPER.createObjectNode();
+            final ObjectNode object = JsonNodeFactory.instance.objectNode();
             object.put("index", value.getIndex());
             object.put("name", value.getName());
             object.put("type", value.getType().getName());
@@ -73,6 +74,11 @@ public final class ColumnModule extends SimpleModule {
         }
     }
 
+    // It is built on the first Column deserialized, not when ColumnModule is loaded by ConfigMapperFactory.Builder#addDefaultModules.
+    private static final class ObjectMapperHolder {
+        private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    }
+
     static final Column convertJsonNodeToColumn(final JsonNode root, final JsonParser jsonParser) throws JsonProcessingException {
         if (root == null || !root.isObject()) {
             throw JsonMappingException.from(jsonParser, "Column expects a JSON Object node.");
@@ -86,20 +92,20 @@ public final class ColumnModule extends SimpleModule {
                         JsonMappingException.from(jsonParser, "Building Column from JSON without \"index\"."));
             index = 0;
         } else {
-            index = OBJECT_MAPPER.treeToValue(indexNode, int.class);
+            index = ObjectMapperHolder.OBJECT_MAPPER.treeToValue(indexNode, int.class);
         }
 
         final JsonNode nameNode = object.get("name");
         if (nameNode == null) {
             throw JsonMappingException.from(jsonParser, "Building Column from JSON without \"name\".");
         }
-        final String name = OBJECT_MAPPER.treeToValue(nameNode, String.class);
+        final String name = ObjectMapperHolder.OBJECT_MAPPER.treeToValue(nameNode, String.class);
 
         final JsonNode typeNode = object.get("type");
         if (typeNode == null) {
             throw JsonMappingException.from(jsonParser, "Building Column from JSON without \"type\".");
         }
-        final String typeString = OBJECT_MAPPER.treeToValue(typeNode, String.class);
+        final String typeString = ObjectMapperHolder.OBJECT_MAPPER.treeToValue(typeNode, String.class);
 
         if (!STRING_TO_TYPE.containsKey(typeString)) {
             throw JsonMappingException.from(jsonParser, "Building Column from JSON with unexpected type: " + typeString);
@@ -122,7 +128,5 @@ public final class ColumnModule extends SimpleModule {
 
     private static final Logger logger = LoggerFactory.getLogger(ColumnModule.class);
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
     private static final Map<String, Type> STRING_TO_TYPE;
 }
@@ -22,11 +22,11 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.JsonSerializer;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.deser.std.StdNodeBasedDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -47,9 +47,9 @@ public final class SchemaModule extends SimpleModule {
                 final JsonGenerator jsonGenerator,
                 final SerializerProvider provider)
                 throws IOException {
-            final ArrayNode array = OBJECT_MAPPER.createArrayNode();
+            final ArrayNode array = JsonNodeFactory.instance.arrayNode();
             for (final Column column : value.getColumns()) {
-                final ObjectNode object = OBJECT_MAPPER.createObjectNode();
+                final ObjectNode object = JsonNodeFactory.instance.objectNode();
                 object.put("index", column.getIndex());
                 object.put("name", column.getName());
                 object.put("type", column.getType().getName());
@@ -82,6 +82,4 @@ public final class SchemaModule extends SimpleModule {
             return new Schema(Collections.unmodifiableList(builder));
         }
     }
-
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 }
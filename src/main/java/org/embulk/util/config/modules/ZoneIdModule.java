@@ -64,6 +64,12 @@ public final class ZoneIdModule extends SimpleModule {
         @Override
         protected ZoneId _deserialize(final String value, final DeserializationContext context)
                 throws JsonMappingException {
+            // LegacyZones is not loaded for a tzdb region name with a slash, nor an offset, as its tables are large.
+            // None of them is a legacy name.
+            if (value.indexOf('/') >= 0 || value.startsWith("+") || value.startsWith("-")) {
+                return zoneIdOf(value, context);
+            }
+
             final Optional<String> suggestion = LegacyZones.getSuggestion(value);
             if (suggestion.isPresent()) {
                 if (this.usesLegacyNames) {
@@ -79,6 +85,10 @@ public final class ZoneIdModule extends SimpleModule {
                 return alternative.get();
             }
 
+            return zoneIdOf(value, context);
+        }
+
+        private static ZoneId zoneIdOf(final String value, final DeserializationContext context) throws JsonMappingException {
             try {
                 return ZoneId.of(value);
             } catch (final DateTimeException ex) {
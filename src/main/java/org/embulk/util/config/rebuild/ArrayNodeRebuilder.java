@@ -16,8 +16,6 @@
 
 package org.embulk.util.config.rebuild;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import java.util.Iterator;
 
@@ -26,11 +24,10 @@ final class ArrayNodeRebuilder {
         // No instantiation.
     }
 
-    static ArrayNode rebuild(final Object from, final ObjectMapper mapper) {
-        if (mapper == null) {
-            throw new NullPointerException(ArrayNodeRebuilder.class.getSimpleName() + " received null.");
-        }
-
+    /**
+     * Creates an empty {@code ArrayNode}, and pushes it onto the stack so that its elements are rebuilt later.
+     */
+    static ArrayNode rebuild(final Object from, final RebuildStack stack) {
         final Iterator<Object> elementsValue = castToObject(Util.getThroughGetter(
                 from,
                 "com.fasterxml.jackson.databind.node.ArrayNode",
@@ -38,13 +35,30 @@ final class ArrayNodeRebuilder {
                 Iterator.class,
                 ArrayNodeRebuilder.class));
 
-        final ArrayNode result = mapper.createArrayNode();
-        for (final Object element : (Iterable<Object>) () -> elementsValue) {
+        final ArrayNode result = stack.getMapper().createArrayNode();
+        stack.push(new ElementsFrame(elementsValue, result));
+        return result;
+    }
+
+    private static final class ElementsFrame extends RebuildStack.Frame {
+        private ElementsFrame(final Iterator<Object> elements, final ArrayNode result) {
+            this.elements = elements;
+            this.result = result;
+        }
+
+        @Override
+        boolean rebuildNext(final RebuildStack stack) {
+            if (!this.elements.hasNext()) {
+                return false;
+            }
+            final Object element = this.elements.next();
             final Class<?> elementClass = element.getClass();
-            final JsonNode rebuiltNode = Util.rebuildPerType(elementClass, element, mapper);
-            result.add(rebuiltNode);
+            this.result.add(Util.rebuildPerType(elementClass, element, stack));
+            return true;
         }
-        return result;
+
+        private final Iterator<Object> elements;
+        private final ArrayNode result;
     }
 
     @SuppressWarnings("unchecked")
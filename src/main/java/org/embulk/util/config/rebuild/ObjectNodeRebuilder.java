@@ -16,7 +16,6 @@
 
 package org.embulk.util.config.rebuild;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.util.Iterator;
@@ -41,20 +40,64 @@ public final class ObjectNodeRebuilder {
     /**
      * Rebuilds Jackson {@code ObjectNode} on plugin's side from core-side {@code ObjectNode}.
      *
+     * <p>It accepts {@code ObjectNode} nested up to the maximum nesting depth of
+     * {@link com.fasterxml.jackson.core.StreamReadConstraints} of {@code mapper}, 1000 by default, including the root, so
+     * that the rebuilt {@code ObjectNode} can be parsed again by {@code mapper} once stringified.
+     *
      * @throws NullPointerException  if receiving {@code null}
      * @throws ClassCastException  if the rebuilt object cannot be casted to a corresponding Jackson class on plugin's side,
      *         or core-side Jackson's getter method does not return an object of an expected class
      * @throws UnsupportedOperationException  if {@code BinaryNode} or {@code POJONode} is contained in the core-side
      *         {@code ObjectNode}
      * @throws IllegalStateException  if {@code MissingNode} or unknown {@code JsonNode} is contained in the core-side
-     *         {@code ObjectNode}, core-side Jackson's getter method throws an unexpected {@code Exception}, or core-side Jackson's
-     *         getter method does not exist unexpectedly
+     *         {@code ObjectNode}, core-side Jackson's getter method throws an unexpected {@code Exception}, core-side Jackson's
+     *         getter method does not exist unexpectedly, or the core-side {@code ObjectNode} is nested too deeply
      */
     public static ObjectNode rebuild(final Object from, final ObjectMapper mapper) {
         if (mapper == null) {
             throw new NullPointerException(ObjectNodeRebuilder.class.getSimpleName() + " received null.");
         }
+        return rebuild(from, mapper, mapper.getFactory().streamReadConstraints().getMaxNestingDepth());
+    }
 
+    /**
+     * Rebuilds Jackson {@code ObjectNode} on plugin's side from core-side {@code ObjectNode} nested up to the specified depth.
+     *
+     * <p>It rebuilds nodes with an explicit stack, not recursively. A deeply nested {@code ObjectNode} does not cause
+     * {@link java.lang.StackOverflowError}.
+     *
+     * @param from  core-side {@code ObjectNode}
+     * @param mapper  {@link com.fasterxml.jackson.databind.ObjectMapper} to create plugin-side nodes
+     * @param maximumDepth  the maximum depth of nested {@code ObjectNode} and {@code ArrayNode}, including the root
+     * @throws NullPointerException  if receiving {@code null}
+     * @throws IllegalArgumentException  if {@code maximumDepth} is not positive
+     * @throws ClassCastException  if the rebuilt object cannot be casted to a corresponding Jackson class on plugin's side,
+     *         or core-side Jackson's getter method does not return an object of an expected class
+     * @throws UnsupportedOperationException  if {@code BinaryNode} or {@code POJONode} is contained in the core-side
+     *         {@code ObjectNode}
+     * @throws IllegalStateException  if {@code MissingNode} or unknown {@code JsonNode} is contained in the core-side
+     *         {@code ObjectNode}, core-side Jackson's getter method throws an unexpected {@code Exception}, core-side Jackson's
+     *         getter method does not exist unexpectedly, or the core-side {@code ObjectNode} is nested deeper than
+     *         {@code maximumDepth}
+     */
+    public static ObjectNode rebuild(final Object from, final ObjectMapper mapper, final int maximumDepth) {
+        if (mapper == null) {
+            throw new NullPointerException(ObjectNodeRebuilder.class.getSimpleName() + " received null.");
+        }
+        if (maximumDepth <= 0) {
+            throw new IllegalArgumentException(ObjectNodeRebuilder.class.getSimpleName() + " received non-positive maximum depth.");
+        }
+
+        final RebuildStack stack = new RebuildStack(mapper, maximumDepth);
+        final ObjectNode result = rebuildNested(from, stack);
+        stack.run();
+        return result;
+    }
+
+    /**
+     * Creates an empty {@code ObjectNode}, and pushes it onto the stack so that its fields are rebuilt later.
+     */
+    static ObjectNode rebuildNested(final Object from, final RebuildStack stack) {
         final Iterator<Map.Entry<String, Object>> fieldsValue = castToMapEntry(Util.getThroughGetter(
                 from,
                 "com.fasterxml.jackson.databind.node.ObjectNode",
@@ -62,15 +105,32 @@ public final class ObjectNodeRebuilder {
                 Iterator.class,
                 ObjectNodeRebuilder.class));
 
-        final ObjectNode result = mapper.createObjectNode();
-        for (final Map.Entry<String, Object> field : (Iterable<Map.Entry<String, Object>>) () -> fieldsValue) {
+        final ObjectNode result = stack.getMapper().createObjectNode();
+        stack.push(new FieldsFrame(fieldsValue, result));
+        return result;
+    }
+
+    private static final class FieldsFrame extends RebuildStack.Frame {
+        private FieldsFrame(final Iterator<Map.Entry<String, Object>> fields, final ObjectNode result) {
+            this.fields = fields;
+            this.result = result;
+        }
+
+        @Override
+        boolean rebuildNext(final RebuildStack stack) {
+            if (!this.fields.hasNext()) {
+                return false;
+            }
+            final Map.Entry<String, Object> field = this.fields.next();
             final String key = field.getKey();
             final Object value = field.getValue();
             final Class<?> valueClazz = value.getClass();
-            final JsonNode rebuiltNode = Util.rebuildPerType(valueClazz, value, mapper);
-            result.set(key, rebuiltNode);
+            this.result.set(key, Util.rebuildPerType(valueClazz, value, stack));
+            return true;
         }
-        return result;
+
+        private final Iterator<Map.Entry<String, Object>> fields;
+        private final ObjectNode result;
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config.rebuild;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayDeque;
+
+/**
+ * An explicit stack of container nodes being rebuilt, instead of the call stack.
+ *
+ * <p>A container node, {@code ObjectNode} or {@code ArrayNode}, is created empty first when it is found. Its children are
+ * rebuilt later when it comes to the top of the stack. It rebuilds a deeply nested {@code ObjectNode} without
+ * {@link java.lang.StackOverflowError}, and its memory is bounded by the maximum depth.
+ */
+final class RebuildStack {
+    RebuildStack(final ObjectMapper mapper, final int maximumDepth) {
+        this.mapper = mapper;
+        this.maximumDepth = maximumDepth;
+        this.frames = new ArrayDeque<>();
+    }
+
+    /**
+     * A container node being rebuilt, with the remaining children of its core-side counterpart.
+     */
+    abstract static class Frame {
+        /**
+         * Rebuilds the next child into the container node.
+         *
+         * @return {@code true} if a child is rebuilt, or {@code false} if no child remains
+         */
+        abstract boolean rebuildNext(RebuildStack stack);
+    }
+
+    ObjectMapper getMapper() {
+        return this.mapper;
+    }
+
+    void push(final Frame frame) {
+        if (this.frames.size() >= this.maximumDepth) {
+            throw new IllegalStateException("Jackson JsonNode is nested deeper than the maximum depth: " + this.maximumDepth);
+        }
+        this.frames.push(frame);
+    }
+
+    void run() {
+        while (!this.frames.isEmpty()) {
+            if (!this.frames.peek().rebuildNext(this)) {
+                this.frames.pop();
+            }
+        }
+    }
+
+    private final ObjectMapper mapper;
+    private final int maximumDepth;
+    private final ArrayDeque<Frame> frames;
+}
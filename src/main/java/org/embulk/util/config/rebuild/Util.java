@@ -17,51 +17,76 @@
 package org.embulk.util.config.rebuild;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 final class Util {
     private Util() {
         // No instantiation.
     }
 
-    static JsonNode rebuildPerType(final Class clazz, final Object node, final ObjectMapper mapper) {
-        if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.ArrayNode")) {
-            return ArrayNodeRebuilder.rebuild(node, mapper);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.BigIntegerNode")) {
-            return BigIntegerNodeRebuilder.rebuild(node);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.BinaryNode")) {
-            throw new UnsupportedOperationException("com.fasterxml.jackson.databind.node.BinaryNode is not supported.");
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.BooleanNode")) {
-            return BooleanNodeRebuilder.rebuild(node);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.DecimalNode")) {
-            return DecimalNodeRebuilder.rebuild(node);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.DoubleNode")) {
-            return DoubleNodeRebuilder.rebuild(node);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.FloatNode")) {
-            return FloatNodeRebuilder.rebuild(node);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.IntNode")) {
-            return IntNodeRebuilder.rebuild(node);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.LongNode")) {
-            return LongNodeRebuilder.rebuild(node);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.MissingNode")) {
-            throw new IllegalStateException("com.fasterxml.jackson.databind.node.MissingNode should not be there.");
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.NullNode")) {
-            return NullNodeRebuilder.rebuild(node);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.ObjectNode")) {
-            return ObjectNodeRebuilder.rebuild(node, mapper);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.POJONode")) {
-            throw new UnsupportedOperationException("com.fasterxml.jackson.databind.node.POJONode is not supported.");
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.ShortNode")) {
-            return ShortNodeRebuilder.rebuild(node);
-        } else if (isSubclassOf(clazz, "com.fasterxml.jackson.databind.node.TextNode")) {
-            return TextNodeRebuilder.rebuild(node);
-        } else {
-            throw new IllegalStateException("Unknown Jackson JsonNode type: " + clazz.toString());
+    static JsonNode rebuildPerType(final Class clazz, final Object node, final RebuildStack stack) {
+        switch (nodeClassOf(clazz).getNodeType()) {
+            case ARRAY:
+                return ArrayNodeRebuilder.rebuild(node, stack);
+            case BIG_INTEGER:
+                return BigIntegerNodeRebuilder.rebuild(node);
+            case BINARY:
+                throw new UnsupportedOperationException("com.fasterxml.jackson.databind.node.BinaryNode is not supported.");
+            case BOOLEAN:
+                return BooleanNodeRebuilder.rebuild(node);
+            case DECIMAL:
+                return DecimalNodeRebuilder.rebuild(node);
+            case DOUBLE:
+                return DoubleNodeRebuilder.rebuild(node);
+            case FLOAT:
+                return FloatNodeRebuilder.rebuild(node);
+            case INT:
+                return IntNodeRebuilder.rebuild(node);
+            case LONG:
+                return LongNodeRebuilder.rebuild(node);
+            case MISSING:
+                throw new IllegalStateException("com.fasterxml.jackson.databind.node.MissingNode should not be there.");
+            case NULL:
+                return NullNodeRebuilder.rebuild(node);
+            case OBJECT:
+                return ObjectNodeRebuilder.rebuildNested(node, stack);
+            case POJO:
+                throw new UnsupportedOperationException("com.fasterxml.jackson.databind.node.POJONode is not supported.");
+            case SHORT:
+                return ShortNodeRebuilder.rebuild(node);
+            case TEXT:
+                return TextNodeRebuilder.rebuild(node);
+            default:
+                throw new IllegalStateException("Unknown Jackson JsonNode type: " + clazz.toString());
         }
     }
 
+    private static NodeClass nodeClassOf(final Class<?> clazz) {
+        synchronized (NODE_CLASSES) {
+            final SoftReference<NodeClass> reference = NODE_CLASSES.get(clazz);
+            final NodeClass cached = (reference == null) ? null : reference.get();
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // It may be built more than once by racing threads, but it is harmless as they find the same methods.
+        final NodeClass built = new NodeClass(clazz);
+        synchronized (NODE_CLASSES) {
+            NODE_CLASSES.put(clazz, new SoftReference<>(built));
+        }
+        return built;
+    }
+
     static Class<?> getClassUnder(
             final Object from,
             final String expectedAncestor,
@@ -71,7 +96,7 @@ final class Util {
         }
 
         final Class<?> fromClass = from.getClass();
-        if (!isSubclassOf(fromClass, expectedAncestor)) {
+        if (!nodeClassOf(fromClass).isSubclassOf(expectedAncestor)) {
             throw new ClassCastException("Expected " + expectedAncestor + " is actually not " + expectedAncestor + ".");
         }
         return fromClass;
@@ -85,31 +110,27 @@ final class Util {
             final Class<?> callerClass) {
         final Class<?> fromClass = getClassUnder(from, expectedAncestor, callerClass);
 
-        final Method getterMethod;
-        try {
-            getterMethod = fromClass.getMethod(getterMethodName);
-        } catch (final NoSuchMethodException ex) {
+        final Getter getter = nodeClassOf(fromClass).getGetter(getterMethodName);
+        if (getter.handle == null) {
+            if (getter.cause instanceof NoSuchMethodException) {
+                throw new IllegalStateException(
+                        fromClass.getCanonicalName() + " (" + expectedAncestor + ") does not have " + getterMethodName + "() : "
+                        + getter.cause.getMessage(), getter.cause);
+            }
             throw new IllegalStateException(
-                    fromClass.getCanonicalName() + " (" + expectedAncestor + ") does not have " + getterMethodName + "() : "
-                    + ex.getMessage(), ex);
+                    fromClass.getCanonicalName() + "#" + getterMethodName + " is not accessible.", getter.cause);
         }
 
         final Object object;
         try {
-            object = getterMethod.invoke(from);
-        } catch (final InvocationTargetException ex) {
-            final Throwable targetException = ex.getTargetException();
-            if (targetException instanceof RuntimeException) {
-                throw (RuntimeException) targetException;
-            }
-            if (targetException instanceof Error) {
-                throw (Error) targetException;
-            }
+            object = (Object) getter.handle.invokeExact(from);
+        } catch (final RuntimeException ex) {
+            throw ex;
+        } catch (final Error ex) {
+            throw ex;
+        } catch (final Throwable ex) {
             throw new IllegalStateException(
-                    fromClass.getCanonicalName() + "#" + getterMethodName + " threw unexpected Exception.", targetException);
-        } catch (final IllegalAccessException ex) {
-            throw new IllegalStateException(
-                    fromClass.getCanonicalName() + "#" + getterMethodName + " is not accessible.", ex);
+                    fromClass.getCanonicalName() + "#" + getterMethodName + " threw unexpected Exception.", ex);
         }
 
         if (object == null) {
@@ -125,12 +146,124 @@ final class Util {
         return expectedResultClass.cast(object);
     }
 
-    private static boolean isSubclassOf(final Class<?> target, final String expectedAncestor) {
-        for (Class<?> klazz = target; klazz != null; klazz = klazz.getSuperclass()) {
-            if (klazz.getCanonicalName().equals(expectedAncestor)) {
-                return true;
+    /**
+     * Types of Jackson's {@code JsonNode}, in the order to be checked against ancestors of a core-side node class.
+     */
+    private enum NodeType {
+        ARRAY("com.fasterxml.jackson.databind.node.ArrayNode"),
+        BIG_INTEGER("com.fasterxml.jackson.databind.node.BigIntegerNode"),
+        BINARY("com.fasterxml.jackson.databind.node.BinaryNode"),
+        BOOLEAN("com.fasterxml.jackson.databind.node.BooleanNode"),
+        DECIMAL("com.fasterxml.jackson.databind.node.DecimalNode"),
+        DOUBLE("com.fasterxml.jackson.databind.node.DoubleNode"),
+        FLOAT("com.fasterxml.jackson.databind.node.FloatNode"),
+        INT("com.fasterxml.jackson.databind.node.IntNode"),
+        LONG("com.fasterxml.jackson.databind.node.LongNode"),
+        MISSING("com.fasterxml.jackson.databind.node.MissingNode"),
+        NULL("com.fasterxml.jackson.databind.node.NullNode"),
+        OBJECT("com.fasterxml.jackson.databind.node.ObjectNode"),
+        POJO("com.fasterxml.jackson.databind.node.POJONode"),
+        SHORT("com.fasterxml.jackson.databind.node.ShortNode"),
+        TEXT("com.fasterxml.jackson.databind.node.TextNode"),
+        UNKNOWN(null);
+
+        NodeType(final String className) {
+            this.className = className;
+        }
+
+        private final String className;
+    }
+
+    /**
+     * A getter method of a core-side node class, resolved into a {@link java.lang.invoke.MethodHandle}.
+     *
+     * <p>It keeps the cause instead if the getter method cannot be resolved so that the same error is reported every time.
+     */
+    private static final class Getter {
+        private Getter(final MethodHandle handle, final Exception cause) {
+            this.handle = handle;
+            this.cause = cause;
+        }
+
+        private final MethodHandle handle;
+        private final Exception cause;
+    }
+
+    /**
+     * What is known about a core-side node class, resolved once per class.
+     *
+     * <p>A core-side node class is from Jackson loaded by another {@link java.lang.ClassLoader}. Its ancestors are
+     * compared by their canonical names, not by {@link java.lang.Class} instances.
+     */
+    private static final class NodeClass {
+        private NodeClass(final Class<?> clazz) {
+            this.clazz = clazz;
+
+            final HashSet<String> ancestors = new HashSet<>();
+            for (Class<?> klazz = clazz; klazz != null; klazz = klazz.getSuperclass()) {
+                final String canonicalName = klazz.getCanonicalName();
+                if (canonicalName != null) {
+                    ancestors.add(canonicalName);
+                }
+            }
+            this.ancestors = Collections.unmodifiableSet(ancestors);
+
+            NodeType nodeType = NodeType.UNKNOWN;
+            for (final NodeType candidate : NodeType.values()) {
+                if (candidate.className != null && ancestors.contains(candidate.className)) {
+                    nodeType = candidate;
+                    break;
+                }
             }
+            this.nodeType = nodeType;
+
+            this.getters = new ConcurrentHashMap<>();
+        }
+
+        private boolean isSubclassOf(final String expectedAncestor) {
+            return this.ancestors.contains(expectedAncestor);
+        }
+
+        private NodeType getNodeType() {
+            return this.nodeType;
         }
-        return false;
+
+        private Getter getGetter(final String getterMethodName) {
+            final Getter getter = this.getters.get(getterMethodName);
+            if (getter != null) {
+                return getter;
+            }
+            return this.getters.computeIfAbsent(getterMethodName, this::resolveGetter);
+        }
+
+        private Getter resolveGetter(final String getterMethodName) {
+            final Method getterMethod;
+            try {
+                getterMethod = this.clazz.getMethod(getterMethodName);
+            } catch (final NoSuchMethodException ex) {
+                return new Getter(null, ex);
+            }
+
+            try {
+                return new Getter(MethodHandles.publicLookup().unreflect(getterMethod).asType(GETTER_TYPE), null);
+            } catch (final IllegalAccessException ex) {
+                return new Getter(null, ex);
+            }
+        }
+
+        private final Class<?> clazz;
+        private final Set<String> ancestors;
+        private final NodeType nodeType;
+        private final ConcurrentHashMap<String, Getter> getters;
     }
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    // The node classes are usually of Jackson on the core side, which live as long as the JVM. They are cached in a map held
+    // by this class, not in a ClassValue, as a ClassValue would hold its values from the node classes, and then the values,
+    // which are loaded by the plugin's class loader, would prevent the plugin's class loader from being unloaded.
+    //
+    // The values are referenced softly since they reference the keys through their Methods. Otherwise, a node class loaded
+    // by another class loader, which is not of the core, would never be removed from the weak keys.
+    private static final WeakHashMap<Class<?>, SoftReference<NodeClass>> NODE_CLASSES = new WeakHashMap<>();
 }
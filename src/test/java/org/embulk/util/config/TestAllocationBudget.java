@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests bytes allocated per operation on hot paths, not to regress silently.
+ *
+ * <p>Bytes are measured by {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes} of the current thread. An
+ * operation is repeated after warming up, and the least of some rounds is taken so that a one-time allocation, such as
+ * a lazy initialization, is not counted. Budgets have some headroom over measured values on HotSpot, so that they fail
+ * by a new allocation in a loop, or by a lost cache, not by a difference of JVMs.
+ */
+public class TestAllocationBudget {
+    @BeforeEach
+    public void checkAllocationMeasurable() {
+        assumeTrue(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean, "ThreadMXBean does not measure allocations.");
+        final com.sun.management.ThreadMXBean threadMxBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        assumeTrue(threadMxBean.isThreadAllocatedMemorySupported(), "ThreadMXBean does not measure allocations.");
+        if (!threadMxBean.isThreadAllocatedMemoryEnabled()) {
+            threadMxBean.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    @Test
+    public void testGetterOfProxiedTask() {
+        final BudgetTask task = FACTORY.createConfigMapper().map(config(FACTORY), BudgetTask.class);
+        assertEquals("foo", task.getName());
+        assertWithinBudget("getter of a proxied task", GETTER_BUDGET, task::getName);
+    }
+
+    @Test
+    public void testGetterOfGeneratedTask() {
+        final BudgetTask task = GENERATED.createConfigMapper().map(config(GENERATED), BudgetTask.class);
+        assertEquals("foo", task.getName());
+        assertWithinBudget("getter of a generated task", GETTER_BUDGET, task::getName);
+    }
+
+    @Test
+    public void testTaskMapperOfWarmTaskType() {
+        final TaskSource taskSource = FACTORY.createConfigMapper().map(config(FACTORY), BudgetTask.class).toTaskSource();
+        final TaskMapper taskMapper = FACTORY.createTaskMapper();
+        assertEquals(42, taskMapper.map(taskSource, BudgetTask.class).getCount());
+        assertWithinBudget("TaskMapper#map", TASK_MAPPER_BUDGET, () -> taskMapper.map(taskSource, BudgetTask.class));
+    }
+
+    @Test
+    public void testDataSourceGetOfScalars() {
+        final ConfigSource config = config(FACTORY);
+        assertEquals("foo", config.get(String.class, "name"));
+        assertWithinBudget("DataSourceImpl#get(String)", DATA_SOURCE_GET_BUDGET, () -> config.get(String.class, "name"));
+        assertWithinBudget("DataSourceImpl#get(int)", DATA_SOURCE_GET_BUDGET, () -> config.get(int.class, "count"));
+        assertWithinBudget("DataSourceImpl#get(boolean) with a default", DATA_SOURCE_GET_BUDGET, () -> config.get(boolean.class, "missing", true));
+    }
+
+    @Test
+    public void testNewTaskReport() {
+        assertWithinBudget("ConfigMapperFactory#newTaskReport", NEW_TASK_REPORT_BUDGET, FACTORY::newTaskReport);
+    }
+
+    public interface BudgetTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("count")
+        @ConfigDefault("10")
+        int getCount();
+
+        @Config("flag")
+        @ConfigDefault("false")
+        boolean getFlag();
+    }
+
+    private static ConfigSource config(final ConfigMapperFactory factory) {
+        return factory.newConfigSource().set("name", "foo").set("count", 42);
+    }
+
+    private static void assertWithinBudget(final String operation, final long budgetBytes, final Supplier<?> supplier) {
+        final long allocated = allocatedBytesPerOperation(supplier);
+        assertTrue(allocated <= budgetBytes,
+                   operation + " allocated " + allocated + " bytes per operation over the budget of " + budgetBytes + " bytes.");
+    }
+
+    private static long allocatedBytesPerOperation(final Supplier<?> supplier) {
+        final com.sun.management.ThreadMXBean threadMxBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        final long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            sink = supplier.get();
+        }
+
+        long least = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long before = threadMxBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+                sink = supplier.get();
+            }
+            final long after = threadMxBean.getThreadAllocatedBytes(threadId);
+            least = Math.min(least, (after - before) / OPERATIONS_PER_ROUND);
+        }
+        return least;
+    }
+
+    private static final java.lang.management.ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    // A getter returns a value kept in the task, without boxing nor copying.
+    private static final long GETTER_BUDGET = 16L;
+
+    // A scalar is read from its JsonNode with a cached ObjectReader. It is measured 0 bytes on HotSpot.
+    private static final long DATA_SOURCE_GET_BUDGET = 32L;
+
+    // A task, its ObjectNode, and its field values. It is measured about 1,200 bytes on HotSpot.
+    private static final long TASK_MAPPER_BUDGET = 2048L;
+
+    // A DataSourceImpl and its empty ObjectNode. It is measured about 110 bytes on HotSpot.
+    private static final long NEW_TASK_REPORT_BUDGET = 256L;
+
+    private static final int WARMUP_OPERATIONS = 20_000;
+    private static final int OPERATIONS_PER_ROUND = 2_000;
+    private static final int ROUNDS = 5;
+
+    private static final ConfigMapperFactory FACTORY = ConfigMapperFactory.withDefault();
+    private static final ConfigMapperFactory GENERATED = ConfigMapperFactory.builder().addDefaultModules().withGeneratedTaskClasses().build();
+
+    // Keeps results alive so that the JIT compiler does not eliminate operations.
+    private static volatile Object sink;
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskSource;
+import org.junit.jupiter.api.Test;
+
+public class TestBatchMapping {
+    @Test
+    public void testMapAll() {
+        final List<TaskSource> taskSources = taskSources(1000);
+        final TaskMapper taskMapper = FACTORY.createTaskMapper();
+
+        final List<BatchTask> sequential = taskMapper.mapAll(taskSources, BatchTask.class);
+        assertMapped(sequential);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(sequential, taskMapper.mapAll(taskSources, BatchTask.class, pool));
+            assertEquals(sequential, pool.submit(() -> taskMapper.mapAll(taskSources.parallelStream(), BatchTask.class)).join());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(sequential, taskMapper.mapAll(taskSources.stream(), BatchTask.class));
+    }
+
+    @Test
+    public void testMapAllConfigs() {
+        final List<ConfigSource> configs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            configs.add(FACTORY.newConfigSource().set("index", i));
+        }
+        final ConfigMapper configMapper = FACTORY.createConfigMapper();
+
+        final List<BatchTask> tasks = configMapper.mapAll(configs, BatchTask.class);
+        assertMapped(tasks);
+        assertEquals(tasks, configMapper.mapAll(configs, BatchTask.class, ForkJoinPool.commonPool()));
+        assertEquals(tasks, configMapper.mapAll(configs.parallelStream(), BatchTask.class));
+    }
+
+    @Test
+    public void testFailuresAggregated() {
+        final List<ConfigSource> configs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            configs.add(FACTORY.newConfigSource().set("index", (i % 30 == 7) ? "invalid" : i));
+        }
+        final ConfigMapper configMapper = FACTORY.createConfigMapper();
+
+        for (final Runnable mapAll : Arrays.<Runnable>asList(
+                () -> configMapper.mapAll(configs, BatchTask.class),
+                () -> configMapper.mapAll(configs, BatchTask.class, ForkJoinPool.commonPool()),
+                () -> configMapper.mapAll(configs.parallelStream(), BatchTask.class))) {
+            final TaskMappingException ex = assertThrows(TaskMappingException.class, mapAll::run);
+            assertEquals(Arrays.asList(7, 37, 67, 97), new ArrayList<>(ex.getFailures().keySet()));
+            assertEquals(ex.getFailures().get(7), ex.getCause());
+            assertEquals(3, ex.getSuppressed().length);
+            assertTrue(ex.getMessage().startsWith("Failed to map 4 of 100 sources to " + BatchTask.class.getName() + ". The first failure at index 7: "));
+        }
+    }
+
+    private static List<TaskSource> taskSources(final int size) {
+        final List<TaskSource> taskSources = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            taskSources.add(FACTORY.newTaskSource().set("Index", i));
+        }
+        return taskSources;
+    }
+
+    private static void assertMapped(final List<BatchTask> tasks) {
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(i, tasks.get(i).getIndex());
+        }
+    }
+
+    public interface BatchTask extends Task {
+        @Config("index")
+        int getIndex();
+    }
+
+    private static final ConfigMapperFactory FACTORY = ConfigMapperFactory.withDefault();
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.embulk.config.ConfigException;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskReport;
+import org.embulk.config.TaskSource;
+import org.embulk.util.config.units.LocalFile;
+import org.junit.jupiter.api.Test;
+
+public class TestCompactBinaryCodec {
+    public interface CodecTestTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("count")
+        @ConfigDefault("10")
+        long getCount();
+
+        @Config("columns")
+        @ConfigDefault("[]")
+        List<String> getColumns();
+
+        @Config("file")
+        LocalFile getFile();
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final ObjectNode object = MAPPER.createObjectNode();
+        object.put("string", "あいう and ascii");
+        object.put("empty", "");
+        object.put("int", 42);
+        object.put("negative", -1234567);
+        object.put("long", 1L << 40);
+        object.put("minLong", Long.MIN_VALUE);
+        object.put("short", (short) 7);
+        object.put("bigInteger", new BigInteger("123456789012345678901234567890"));
+        object.put("smallBigInteger", BigInteger.valueOf(5));
+        object.put("double", 0.1);
+        object.put("float", 0.1f);
+        object.put("decimal", new BigDecimal("1.50"));
+        object.put("nan", Double.NaN);
+        object.put("true", true);
+        object.put("false", false);
+        object.putNull("null");
+        object.putObject("emptyObject");
+        object.putArray("emptyArray");
+        final ArrayNode columns = object.putArray("columns");
+        for (int i = 0; i < 3; i++) {
+            final ObjectNode column = columns.addObject();
+            column.put("name", "column" + i);
+            column.put("type", "string");
+            column.putArray("nested").add(i).addArray().add("x");
+        }
+
+        final ObjectNode decoded = CompactBinaryCodec.decode(
+                CompactBinaryCodec.encode(object, MAPPER, JsonNodes.maximumDepthOf(MAPPER)), MAPPER, JsonNodes.maximumDepthOf(MAPPER));
+
+        // Decoded just as its JSON form is read. For example, "1.50" of BigDecimal is read as a double.
+        final JsonNode readFromJson = MAPPER.readTree(MAPPER.writeValueAsString(object));
+        assertEquals(readFromJson, decoded);
+        assertEquals(MAPPER.writeValueAsString(readFromJson), MAPPER.writeValueAsString(decoded));
+    }
+
+    @Test
+    public void testBinaryAsRawBytes() throws Exception {
+        final byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        final ObjectNode object = MAPPER.createObjectNode();
+        object.putObject("file").put("base64", content);
+
+        final byte[] encoded = CompactBinaryCodec.encode(object, MAPPER, JsonNodes.maximumDepthOf(MAPPER));
+        final ObjectNode decoded = CompactBinaryCodec.decode(encoded, MAPPER, JsonNodes.maximumDepthOf(MAPPER));
+
+        // Decoded into a Base64 string as read from JSON.
+        assertTrue(decoded.get("file").get("base64").isTextual());
+        assertArrayEquals(content, decoded.get("file").get("base64").binaryValue());
+        assertEquals(MAPPER.readTree(MAPPER.writeValueAsString(object)), decoded);
+        assertTrue(encoded.length < content.length + 32);
+    }
+
+    @Test
+    public void testSmallerThanJson() throws Exception {
+        final ObjectNode object = MAPPER.createObjectNode();
+        final ArrayNode reports = object.putArray("reports");
+        for (int i = 0; i < 100; i++) {
+            final ObjectNode report = reports.addObject();
+            report.put("file_name", "/data/input/part-" + i + ".csv");
+            report.put("record_count", 1000000L + i);
+            report.put("last_modified_epoch_millis", 1760000000000L + i);
+        }
+
+        final byte[] encoded = CompactBinaryCodec.encode(object, MAPPER, JsonNodes.maximumDepthOf(MAPPER));
+
+        assertTrue(encoded.length * 2 < MAPPER.writeValueAsBytes(object).length);
+        assertEquals(MAPPER.readTree(MAPPER.writeValueAsString(object)), CompactBinaryCodec.decode(encoded, MAPPER, JsonNodes.maximumDepthOf(MAPPER)));
+    }
+
+    @Test
+    public void testDeeplyNested() {
+        final ObjectNode root = MAPPER.createObjectNode();
+        ObjectNode node = root;
+        for (int i = 0; i < 20000; i++) {
+            node = node.putObject("child");
+        }
+        node.put("leaf", true);
+
+        final byte[] encoded = CompactBinaryCodec.encode(root, MAPPER, 20001);
+        JsonNode decoded = CompactBinaryCodec.decode(encoded, MAPPER, 20001);
+
+        // Walks down without recursion. JsonNode#equals is recursive.
+        for (int i = 0; i < 20000; i++) {
+            decoded = decoded.get("child");
+        }
+        assertTrue(decoded.get("leaf").booleanValue());
+
+        assertThrows(ConfigException.class, () -> CompactBinaryCodec.encode(root, MAPPER, 100));
+        assertThrows(ConfigException.class, () -> CompactBinaryCodec.decode(encoded, MAPPER, 100));
+    }
+
+    @Test
+    public void testInvalid() {
+        final ObjectNode object = MAPPER.createObjectNode();
+        object.put("key", "value");
+        final byte[] encoded = CompactBinaryCodec.encode(object, MAPPER, JsonNodes.maximumDepthOf(MAPPER));
+
+        assertThrows(ConfigException.class, () -> decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(ConfigException.class, () -> decode(Arrays.copyOf(encoded, encoded.length + 1)));
+        assertThrows(ConfigException.class, () -> decode(new byte[] { (byte) 0xeb, 2, 9, 0 }));
+        assertThrows(ConfigException.class, () -> decode(new byte[] { (byte) 0xeb, 1, 99 }));
+        assertThrows(ConfigException.class, () -> decode(new byte[] { (byte) 0xeb, 1, 8, 0 }));
+        assertThrows(ConfigException.class, () -> decode(new byte[] { (byte) 0xeb, 1, 9, 1, 1, 0 }));
+        assertThrows(ConfigException.class, () -> decode(new byte[] { (byte) 0xeb, 1, 9, 100 }));
+    }
+
+    @Test
+    public void testConfigMapperFactory() {
+        final ConfigMapperFactory binaryFactory = ConfigMapperFactory.builder()
+                .addDefaultModules()
+                .withDataSourceCodec(DataSourceCodec.COMPACT_BINARY)
+                .build();
+        final ConfigMapperFactory jsonFactory = ConfigMapperFactory.withDefault();
+
+        final ConfigSource config = jsonFactory.newConfigSource();
+        config.set("name", "codec");
+        config.set("columns", Arrays.asList("a", "b", "c"));
+        config.set("file", LocalFile.ofContent("content"));
+        final CodecTestTask task = jsonFactory.createConfigMapper().map(config, CodecTestTask.class);
+
+        final byte[] binary = binaryFactory.encode(task);
+        final byte[] json = jsonFactory.encode(task);
+        assertTrue(CompactBinaryCodec.isCompactBinary(binary));
+        assertEquals(task.toTaskSource().toJson(), new String(json, StandardCharsets.UTF_8));
+
+        // Either factory decodes either codec.
+        for (final TaskSource taskSource : Arrays.asList(
+                jsonFactory.decodeTaskSource(binary),
+                binaryFactory.decodeTaskSource(json),
+                binaryFactory.decodeTaskSource(binaryFactory.encode(task.toTaskSource())))) {
+            final CodecTestTask decoded = jsonFactory.createTaskMapper().map(taskSource, CodecTestTask.class);
+            assertEquals("codec", decoded.getName());
+            assertEquals(10L, decoded.getCount());
+            assertEquals(Arrays.asList("a", "b", "c"), decoded.getColumns());
+            assertEquals("content", new String(decoded.getFile().getContent(), StandardCharsets.UTF_8));
+            assertEquals(task.toTaskSource().toJson(), taskSource.toJson());
+        }
+
+        // The same task decoded from either form has the same nodes, then equal with the same hash code.
+        final TaskSource fromJson = jsonFactory.decodeTaskSource(json);
+        final TaskSource fromBinary = jsonFactory.decodeTaskSource(binary);
+        assertEquals(fromJson, fromBinary);
+        assertEquals(fromBinary, fromJson);
+        assertEquals(fromJson.hashCode(), fromBinary.hashCode());
+        assertEquals(((DataSourceImpl) fromJson).getInternalObjectNode(), ((DataSourceImpl) fromBinary).getInternalObjectNode());
+
+        final TaskReport report = binaryFactory.newTaskReport();
+        report.set("records", 12345L);
+        assertEquals(report, jsonFactory.decodeTaskReport(binaryFactory.encode(report)));
+
+        assertThrows(ConfigException.class, () -> jsonFactory.decodeTaskSource("[]".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(ConfigException.class, () -> jsonFactory.decodeTaskSource(new byte[0]));
+    }
+
+    private static ObjectNode decode(final byte[] bytes) {
+        return CompactBinaryCodec.decode(bytes, MAPPER, JsonNodes.maximumDepthOf(MAPPER));
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+}
@@ -17,11 +17,18 @@
 package org.embulk.util.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.Map;
+import org.embulk.config.DataSource;
 import org.junit.jupiter.api.Test;
 
 public class TestCompat {
@@ -29,7 +36,7 @@ public class TestCompat {
     public void testToJson() throws IOException {
         final ObjectNode node = SIMPLE_MAPPER.createObjectNode();
         node.put("foo", "bar");
-        final DataSourceImpl impl = new DataSourceImpl(node, SIMPLE_MAPPER);
+        final DataSourceImpl impl = new DataSourceImpl(node, SIMPLE_MAPPER, new ObjectReaderCache(SIMPLE_MAPPER));
         assertEquals("{\"foo\":\"bar\"}", Compat.toJson(impl));
     }
 
@@ -37,12 +44,88 @@ public class TestCompat {
     public void testToMap() throws IOException {
         final ObjectNode node = SIMPLE_MAPPER.createObjectNode();
         node.put("foo", "bar");
-        final DataSourceImpl impl = new DataSourceImpl(node, SIMPLE_MAPPER);
+        final DataSourceImpl impl = new DataSourceImpl(node, SIMPLE_MAPPER, new ObjectReaderCache(SIMPLE_MAPPER));
 
         final LinkedHashMap<String, Object> expected = new LinkedHashMap<>();
         expected.put("foo", "bar");
         assertEquals(expected, Compat.toMap(impl));
     }
 
+    @Test
+    public void testToMapIsNotAffectedByModification() throws IOException {
+        final ObjectNode node = SIMPLE_MAPPER.createObjectNode();
+        node.put("foo", "bar");
+        node.putObject("nested").put("baz", 12);
+        final DataSourceImpl impl = new DataSourceImpl(node, SIMPLE_MAPPER, new ObjectReaderCache(SIMPLE_MAPPER));
+
+        final Map<String, Object> map = Compat.toMap(impl);
+        impl.set("foo", "changed");
+        impl.getNested("nested").set("baz", 34);
+
+        assertEquals("bar", map.get("foo"));
+        assertEquals(12, ((Map<?, ?>) map.get("nested")).get("baz"));
+    }
+
+    @Test
+    public void testToMapFromAnotherDataSource() throws IOException {
+        final LinkedHashMap<String, Object> nested = new LinkedHashMap<>();
+        nested.put("baz", 12);
+        nested.put("qux", null);
+        final LinkedHashMap<String, Object> invalid = new LinkedHashMap<>();
+        invalid.put("invalid", new Object());
+        final LinkedHashMap<Object, Object> original = new LinkedHashMap<>();
+        original.put("foo", "bar");
+        original.put("nested", nested);
+        original.put("list", Arrays.asList(true, 4.2, nested));
+        original.put("invalid", invalid);
+
+        final Map<String, Object> map = Compat.toMap(withToMap(original));
+
+        assertEquals("bar", map.get("foo"));
+        assertEquals(nested, map.get("nested"));
+        assertEquals(Arrays.asList(true, 4.2, nested), map.get("list"));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("foo", "changed"));
+
+        // Validated only when accessed.
+        final Map<?, ?> invalidMap = (Map<?, ?>) map.get("invalid");
+        assertThrows(ClassCastException.class, () -> invalidMap.get("invalid"));
+
+        original.put(42, "non-string key");
+        assertThrows(ClassCastException.class, () -> Compat.toMap(withToMap(original)).keySet().forEach(key -> { }));
+    }
+
+    @Test
+    public void testRebuildObjectNodeFromDataSourceImpl() throws IOException {
+        final ObjectNode node = SIMPLE_MAPPER.createObjectNode();
+        node.put("foo", "bar");
+        node.putObject("nested").put("baz", 12);
+        final DataSourceImpl impl = new DataSourceImpl(node, SIMPLE_MAPPER, new ObjectReaderCache(SIMPLE_MAPPER));
+
+        final ObjectNode rebuilt = Compat.rebuildObjectNode(impl);
+        assertEquals(node, rebuilt);
+        assertNotSame(node, rebuilt);
+        assertNotSame(node.get("nested"), rebuilt.get("nested"));
+
+        ((ObjectNode) rebuilt.get("nested")).put("baz", 34);
+        assertEquals(12, node.get("nested").get("baz").asInt());
+
+        assertSame(node, Compat.readObjectNode(impl));
+    }
+
+    /**
+     * Creates another implementation of DataSource, which is converted only through DataSource#toMap.
+     */
+    private static DataSource withToMap(final Map<?, ?> map) {
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(),
+                new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    if ("toMap".equals(method.getName())) {
+                        return map;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
     private static final ObjectMapper SIMPLE_MAPPER = new ObjectMapper();
 }
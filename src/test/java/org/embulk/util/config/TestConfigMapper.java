@@ -17,7 +17,16 @@
 package org.embulk.util.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.charset.StandardCharsets;
+import org.embulk.config.ConfigException;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskSource;
 import org.junit.jupiter.api.Test;
 
 public class TestConfigMapper {
@@ -30,4 +39,66 @@ public class TestConfigMapper {
                 "Failed to map Embulk's ConfigSource to org.embulk.util.config.TestConfigMapper.",
                 ConfigMapper.buildExceptionMessage(new RuntimeException(), TestConfigMapper.class));
     }
+
+    @Test
+    public void testMapAndToJsonAtMaximumNestingDepth() {
+        // Jackson accepts 1000 levels by default.
+        assertMapAndToJson(ConfigMapperFactory.withDefault(), 1000);
+    }
+
+    @Test
+    public void testDeeperThanMaximumNestingDepth() {
+        final ConfigMapperFactory factory;
+        try {
+            StreamReadConstraints.overrideDefaultStreamReadConstraints(StreamReadConstraints.builder().maxNestingDepth(100).build());
+            factory = ConfigMapperFactory.withDefault();
+        } finally {
+            StreamReadConstraints.overrideDefaultStreamReadConstraints(null);
+        }
+        assertMapAndToJson(factory, 100);
+
+        final ConfigSource config = factory.newConfigSource().set("nested", buildNestedObjects(100));
+        final String json = factory.createConfigMapper().map(config, NestedTask.class).dump().toJson();
+        assertThrows(ConfigException.class, () -> config.deepCopy().merge(config));
+        assertThrows(ConfigException.class, () -> factory.decodeTaskSource(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Maps a task from a {@code ConfigSource} nested in {@code depth} levels including the root, and stringifies it.
+     */
+    private static void assertMapAndToJson(final ConfigMapperFactory factory, final int depth) {
+        final ConfigSource config = factory.newConfigSource().set("nested", buildNestedObjects(depth - 1));
+        final NestedTask task = factory.createConfigMapper().map(config, NestedTask.class);
+
+        final StringBuilder expected = new StringBuilder("{\"Nested\":");
+        for (int i = 2; i < depth; i++) {
+            expected.append("{\"child\":");
+        }
+        expected.append("{}");
+        for (int i = 1; i < depth; i++) {
+            expected.append("}");
+        }
+
+        final String json = task.dump().toJson();
+        assertEquals(expected.toString(), json);
+
+        // The stringified JSON is parsed again at the same depth.
+        final TaskSource decoded = factory.decodeTaskSource(json.getBytes(StandardCharsets.UTF_8));
+        assertEquals(json, decoded.toJson());
+        assertEquals(json, factory.newTaskSource().merge(decoded).toJson());
+    }
+
+    private static ObjectNode buildNestedObjects(final int depth) {
+        final ObjectNode root = JsonNodeFactory.instance.objectNode();
+        ObjectNode node = root;
+        for (int i = 1; i < depth; i++) {
+            node = node.putObject("child");
+        }
+        return root;
+    }
+
+    public interface NestedTask extends Task {
+        @Config("nested")
+        JsonNode getNested();
+    }
 }
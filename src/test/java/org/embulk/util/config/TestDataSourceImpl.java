@@ -18,16 +18,29 @@ package org.embulk.util.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.embulk.config.ConfigException;
+import org.embulk.config.DataSource;
 import org.junit.jupiter.api.Test;
 
 public class TestDataSourceImpl {
@@ -252,6 +265,318 @@ public class TestDataSourceImpl {
         fail("ConfigException should be thrown by getting a String value as a List.");
     }
 
+    @Test
+    public void testGetScalars() {
+        final DataSourceImpl impl = createTestNode();
+
+        assertEquals("foo", impl.get(String.class, "string"));
+        assertEquals(true, impl.get(Boolean.class, "boolean"));
+        assertTrue(impl.get(boolean.class, "boolean"));
+        assertEquals(12, impl.get(Integer.class, "int"));
+        assertEquals(12, (int) impl.get(int.class, "int"));
+        assertEquals(12L, impl.get(Long.class, "int"));
+        assertEquals(12L, (long) impl.get(long.class, "int"));
+        assertEquals(42914.142, impl.get(Double.class, "double"));
+        assertEquals(42914.142, impl.get(double.class, "double"), 0.0);
+        assertEquals("bar", impl.get(String.class, "noexist", "bar"));
+
+        // Coerced by Jackson, not converted directly.
+        assertEquals("12", impl.get(String.class, "int"));
+        assertEquals("true", impl.get(String.class, "boolean"));
+        assertEquals(12.0, impl.get(Double.class, "int"));
+        assertEquals(42914, impl.get(Integer.class, "double"));
+        assertThrows(ConfigException.class, () -> impl.get(Integer.class, "string"));
+        assertThrows(ConfigException.class, () -> impl.get(Boolean.class, "object"));
+
+        final List<Long> listOfIntegers = impl.getListOf(Long.class, "arrayOfIntegers");
+        assertEquals(-4014L, listOfIntegers.get(1));
+    }
+
+    @Test
+    public void testDeepCopy() {
+        final DataSourceImpl impl = createTestNode();
+        final DataSourceImpl copy = impl.deepCopy();
+        assertSame(impl.getInternalObjectNode(), copy.getInternalObjectNode());  // Shared until modified.
+
+        copy.set("string", "bar");
+        copy.remove("int");
+        assertNotSame(impl.getInternalObjectNode(), copy.getInternalObjectNode());
+        assertSame(impl.getInternalObjectNode().get("object"), copy.getInternalObjectNode().get("object"));  // Only the root.
+        assertEquals("foo", impl.get(String.class, "string"));
+        assertEquals(12, impl.get(int.class, "int"));
+        assertEquals("bar", copy.get(String.class, "string"));
+        assertFalse(copy.has("int"));
+
+        impl.getNested("object").set("key1", "changedInImpl");
+        copy.getNested("object").set("key2", "changedInCopy");
+        copy.merge(createOtherNode());
+        assertEquals("changedInImpl", impl.getNested("object").get(String.class, "key1"));
+        assertEquals("value2", impl.getNested("object").get(String.class, "key2"));
+        assertFalse(impl.getNested("object").has("key3"));
+        assertEquals("value1", copy.getNested("object").get(String.class, "key1"));
+        assertEquals("changed2", copy.getNested("object").get(String.class, "key2"));
+        assertEquals("value3", copy.getNested("object").get(String.class, "key3"));
+    }
+
+    @Test
+    public void testDeepCopyOfCopy() {
+        final DataSourceImpl impl = createTestNode();
+        final DataSourceImpl copy1 = impl.deepCopy();
+        final DataSourceImpl copy2 = copy1.deepCopy();
+
+        copy1.set("string", "copy1");
+        copy2.getNestedOrSetEmpty("object").set("key1", "copy2");
+        impl.set("string", "impl");
+
+        assertEquals("impl", impl.get(String.class, "string"));
+        assertEquals("copy1", copy1.get(String.class, "string"));
+        assertEquals("foo", copy2.get(String.class, "string"));
+        assertEquals("value1", impl.getNested("object").get(String.class, "key1"));
+        assertEquals("value1", copy1.getNested("object").get(String.class, "key1"));
+        assertEquals("copy2", copy2.getNested("object").get(String.class, "key1"));
+    }
+
+    @Test
+    public void testDeepCopyCopiesOnlyPath() {
+        final DataSourceImpl impl = createTestNode();
+        final DataSourceImpl nested = impl.getNested("object");
+        final DataSourceImpl copy = impl.deepCopy();
+        assertSame(impl.getInternalObjectNode(), copy.getInternalObjectNode());  // Shared even with a nested view.
+
+        nested.set("key1", "changed");
+        assertEquals("changed", impl.getNested("object").get(String.class, "key1"));
+        assertEquals("value1", copy.getNested("object").get(String.class, "key1"));
+        assertNotSame(impl.getInternalObjectNode().get("object"), copy.getInternalObjectNode().get("object"));
+        assertSame(impl.getInternalObjectNode().get("array"), copy.getInternalObjectNode().get("array"));  // Out of the path.
+
+        final ObjectNode root = impl.getInternalObjectNode();
+        final JsonNode object = root.get("object");
+        nested.set("key2", "changedAgain");
+        assertSame(root, impl.getInternalObjectNode());  // The path is copied only once.
+        assertSame(object, impl.getInternalObjectNode().get("object"));
+
+        copy.merge(createOtherNode());
+        assertEquals("changed2", copy.getNested("object").get(String.class, "key2"));
+        assertEquals("changedAgain", impl.getNested("object").get(String.class, "key2"));
+        assertEquals(Arrays.asList("foo", "bar", "baz"), impl.getListOf(String.class, "arrayOfStrings"));
+        assertSame(impl.getInternalObjectNode().get("array"), copy.getInternalObjectNode().get("array"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeepCopyAfterGetObjectNode() {
+        final DataSourceImpl impl = createTestNode();
+        final DataSourceImpl copy = impl.deepCopy();
+        final ObjectNode modifiedOutside = impl.getObjectNode();
+        ((ObjectNode) modifiedOutside.get("object")).put("key1", "outside");
+        assertEquals("outside", impl.getNested("object").get(String.class, "key1"));
+        assertEquals("value1", copy.getNested("object").get(String.class, "key1"));
+
+        final DataSourceImpl copyAfter = impl.deepCopy();
+        ((ObjectNode) modifiedOutside.get("object")).put("key1", "outsideAgain");
+        assertEquals("outsideAgain", impl.getNested("object").get(String.class, "key1"));
+        assertEquals("outside", copyAfter.getNested("object").get(String.class, "key1"));
+    }
+
+    @Test
+    public void testDeepCopyWithNested() {
+        final DataSourceImpl impl = createTestNode();
+        final DataSourceImpl nested = impl.getNested("object");
+
+        final DataSourceImpl copy = impl.deepCopy();
+        final DataSourceImpl copyOfNested = nested.deepCopy();
+        nested.set("key1", "changed");
+
+        assertEquals("changed", impl.getNested("object").get(String.class, "key1"));
+        assertEquals("value1", copy.getNested("object").get(String.class, "key1"));
+        assertEquals("value1", copyOfNested.get(String.class, "key1"));
+
+        copyOfNested.set("key2", "changedInCopy");
+        assertEquals("value2", impl.getNested("object").get(String.class, "key2"));
+    }
+
+    @Test
+    public void testNestedAfterRemovedInParent() {
+        final DataSourceImpl impl = createTestNode();
+        final DataSourceImpl nested = impl.getNested("object");
+
+        impl.remove("object");
+        assertFalse(impl.has("object"));
+        assertTrue(nested.isEmpty());
+
+        nested.set("key3", "value3");
+        assertEquals(Collections.singletonList("key3"), impl.getNested("object").getAttributeNames());
+        assertEquals("value3", impl.getNested("object").get(String.class, "key3"));
+    }
+
+    @Test
+    public void testNestedAfterReplacedInParent() {
+        final DataSourceImpl impl = createTestNode();
+        final DataSourceImpl nested = impl.getNested("object");
+
+        impl.set("object", Collections.singletonMap("key3", "value3"));
+        assertEquals(Collections.singletonList("key3"), nested.getAttributeNames());
+
+        nested.set("key4", "value4");
+        assertEquals("value4", impl.getNested("object").get(String.class, "key4"));
+
+        impl.set("object", "string");
+        assertTrue(nested.isEmpty());
+        assertThrows(ConfigException.class, () -> nested.set("key5", "value5"));
+        assertEquals("string", impl.get(String.class, "object"));
+    }
+
+    @Test
+    public void testWriteJson() throws IOException {
+        final DataSourceImpl impl = createTestNode();
+        impl.set("unicode", "\u3042\u3044\u3046");
+        final String expected = impl.toJson();
+
+        final boolean[] closed = new boolean[1];
+        final ByteArrayOutputStream out = new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    closed[0] = true;
+                }
+            };
+        impl.writeJson(out);
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertFalse(closed[0]);
+
+        final StringWriter writer = new StringWriter();
+        impl.writeJson(writer);
+        assertEquals(expected, writer.toString());
+
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+        buffer.put((byte) '#');
+        impl.writeJson(buffer);
+        buffer.flip();
+        assertEquals('#', buffer.get());
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        assertEquals(expected, new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteJsonOverflow() {
+        final DataSourceImpl impl = createTestNode();
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) '#');
+
+        assertThrows(BufferOverflowException.class, () -> impl.writeJson(buffer));
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    public void testMergeDataSourceImpl() {
+        final DataSourceImpl impl = createTestNode();
+        final DataSourceImpl other = createOtherNode();
+
+        impl.merge(other);
+
+        assertMerged(impl);
+        assertEquals("value3", impl.getNested("object").get(String.class, "key3"));
+
+        // Nodes are not shared with the other.
+        other.getNestedOrSetEmpty("object").set("key3", "changed");
+        other.getNestedOrSetEmpty("object").set("key4", "added");
+        assertEquals("value3", impl.getNested("object").get(String.class, "key3"));
+        assertFalse(impl.getNested("object").has("key4"));
+    }
+
+    @Test
+    public void testMergeThroughJson() {
+        final DataSourceImpl impl = createTestNode();
+        impl.merge(throughJson(createOtherNode()));
+        assertMerged(impl);
+
+        final DataSourceImpl expected = createTestNode();
+        expected.merge(createOtherNode());
+        assertEquals(expected.toJson(), impl.toJson());
+    }
+
+    @Test
+    public void testSetNestedAndSetAllDataSourceImpl() {
+        final DataSourceImpl impl = createTestNode();
+        final DataSourceImpl other = createOtherNode();
+
+        impl.setNested("nested", other);
+        impl.setAll(other);
+        other.set("int", 999);
+        other.getNestedOrSetEmpty("object").set("key3", "changed");
+
+        assertEquals(13, impl.getNested("nested").get(int.class, "int"));
+        assertEquals("value3", impl.getNested("nested").getNested("object").get(String.class, "key3"));
+        assertEquals(13, impl.get(int.class, "int"));
+        assertFalse(impl.getNested("object").has("key1"));  // setAll replaces "object" as a whole.
+        assertEquals("value3", impl.getNested("object").get(String.class, "key3"));
+    }
+
+    @Test
+    public void testEqualsDataSourceImpl() {
+        final ObjectNode intNode = SIMPLE_MAPPER.createObjectNode();
+        intNode.put("number", 1);
+        intNode.put("decimal", 1.5);
+        intNode.putObject("object").put("string", "foo");
+        final ObjectNode longNode = SIMPLE_MAPPER.createObjectNode();
+        longNode.put("number", 1L);
+        longNode.put("decimal", 1.5f);
+        longNode.putObject("object").put("string", "foo");
+
+        final DataSourceImpl intImpl = new DataSourceImpl(intNode, SIMPLE_MAPPER, new ObjectReaderCache(SIMPLE_MAPPER));
+        final DataSourceImpl longImpl = new DataSourceImpl(longNode, SIMPLE_MAPPER, new ObjectReaderCache(SIMPLE_MAPPER));
+        assertTrue(intImpl.equals(longImpl));
+        assertTrue(longImpl.equals(intImpl));
+        assertEquals(intImpl.hashCode(), longImpl.hashCode());
+        assertTrue(intImpl.equals(throughJson(longImpl)));
+        assertTrue(createTestNode().equals(createTestNode()));
+
+        longImpl.getNested("object").set("string", "bar");
+        assertFalse(intImpl.equals(longImpl));
+        longImpl.getNested("object").set("string", "foo");
+        assertTrue(intImpl.equals(longImpl));
+        longImpl.set("number", 2L);
+        assertFalse(intImpl.equals(longImpl));
+    }
+
+    private static void assertMerged(final DataSourceImpl impl) {
+        assertEquals(13, impl.get(int.class, "int"));
+        assertEquals("foo", impl.get(String.class, "string"));
+        assertEquals("value1", impl.getNested("object").get(String.class, "key1"));
+        assertEquals("changed2", impl.getNested("object").get(String.class, "key2"));
+        assertEquals("value3", impl.getNested("object").get(String.class, "key3"));
+        final List<String> arrayOfStrings = impl.getListOf(String.class, "arrayOfStrings");
+        assertEquals(4, arrayOfStrings.size());
+        assertEquals("qux", arrayOfStrings.get(0));
+        assertEquals("bar", arrayOfStrings.get(1));
+        assertEquals("baz", arrayOfStrings.get(2));
+        assertEquals("quux", arrayOfStrings.get(3));
+    }
+
+    private static DataSourceImpl createOtherNode() {
+        final ObjectNode root = SIMPLE_MAPPER.createObjectNode();
+        root.put("int", 13);
+        root.putArray("arrayOfStrings").add("qux").add("bar").add("baz").add("quux");
+        root.putObject("object").put("key2", "changed2").put("key3", "value3");
+        return new DataSourceImpl(root, SIMPLE_MAPPER, new ObjectReaderCache(SIMPLE_MAPPER));
+    }
+
+    /**
+     * Wraps a DataSource into another implementation which is converted only through DataSource#toJson.
+     */
+    private static DataSource throughJson(final DataSource source) {
+        final String json = source.toJson();
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(),
+                new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    if ("toJson".equals(method.getName())) {
+                        return json;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
     private static DataSourceImpl createTestNode() {
         final ObjectNode root = SIMPLE_MAPPER.createObjectNode();
         root.put("string", "foo");
@@ -285,7 +610,7 @@ public class TestDataSourceImpl {
         object.put("key1", "value1");
         object.put("key2", "value2");
         root.put("object", object);
-        return new DataSourceImpl(root, SIMPLE_MAPPER);
+        return new DataSourceImpl(root, SIMPLE_MAPPER, new ObjectReaderCache(SIMPLE_MAPPER));
     }
 
     private static final ObjectMapper SIMPLE_MAPPER = new ObjectMapper();
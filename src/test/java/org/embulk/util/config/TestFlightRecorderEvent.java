@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.embulk.config.ConfigSource;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link FlightRecorderEvent} through reflection on {@code jdk.jfr} as the tests are built for Java 8 as well.
+ */
+public class TestFlightRecorderEvent {
+    @Test
+    public void testNotBegunWithoutRecording() {
+        assertNull(FlightRecorderEvent.TASK_MAPPING.begin());
+        assertEquals(false, FlightRecorderEvent.TASK_MAPPING.end(null));
+        FlightRecorderEvent.TASK_MAPPING.commit(null, "ignored");
+    }
+
+    @Test
+    public void testRecorded() throws Exception {
+        assumeTrue(FlightRecorderEvent.TASK_MAPPING.isAvailable(), "JFR is not available in the JVM.");
+
+        final ConfigMapperFactory factory = ConfigMapperFactory.withDefault();
+        final ConfigSource config = factory.newConfigSource().set("name", "foo");
+
+        final List<Object> events = record(() -> {
+            final RecordedTask task = factory.createConfigMapper().map(config, RecordedTask.class);
+            factory.newConfigSource().merge(task.toTaskSource());
+            factory.rebuildConfigDiff(factory.newConfigDiff().set("next", 1));
+        });
+
+        final List<String> names = new ArrayList<>();
+        for (final Object event : events) {
+            names.add(nameOf(event));
+            if (nameOf(event).equals("org.embulk.util.config.TaskMapping")) {
+                assertEquals("ConfigMapper", get(event, "mapper"));
+                assertEquals(RecordedTask.class.getName(), get(event, "taskType"));
+                assertEquals(2, get(event, "fieldCount"));
+                assertEquals((long) config.toJson().length(), get(event, "inputBytes"));
+            }
+        }
+        assertTrue(names.contains("org.embulk.util.config.TaskMapping"), names.toString());
+        assertTrue(names.contains("org.embulk.util.config.DataSourceMerge"), names.toString());
+        assertTrue(names.contains("org.embulk.util.config.ObjectNodeRebuild"), names.toString());
+    }
+
+    public interface RecordedTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("count")
+        @ConfigDefault("1")
+        int getCount();
+    }
+
+    private static List<Object> record(final Runnable runnable) throws Exception {
+        final Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        final Object recording = recordingClass.getConstructor().newInstance();
+        final Path file = Files.createTempFile("embulk-util-config", ".jfr");
+        try {
+            for (final String name : new String[] {
+                    "org.embulk.util.config.TaskMapping", "org.embulk.util.config.ObjectNodeRebuild", "org.embulk.util.config.DataSourceMerge" }) {
+                recordingClass.getMethod("enable", String.class).invoke(recording, name);
+            }
+            recordingClass.getMethod("start").invoke(recording);
+            runnable.run();
+            recordingClass.getMethod("stop").invoke(recording);
+            recordingClass.getMethod("dump", Path.class).invoke(recording, file);
+
+            final Object events = Class.forName("jdk.jfr.consumer.RecordingFile").getMethod("readAllEvents", Path.class).invoke(null, file);
+            return new ArrayList<>((List<?>) events);
+        } finally {
+            recordingClass.getMethod("close").invoke(recording);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String nameOf(final Object event) throws Exception {
+        final Object eventType = event.getClass().getMethod("getEventType").invoke(event);
+        return (String) eventType.getClass().getMethod("getName").invoke(eventType);
+    }
+
+    private static Object get(final Object event, final String field) throws Exception {
+        return Class.forName("jdk.jfr.consumer.RecordedObject").getMethod("getValue", String.class).invoke(event, field);
+    }
+}
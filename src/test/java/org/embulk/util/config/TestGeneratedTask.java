@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskSource;
+import org.junit.jupiter.api.Test;
+
+public class TestGeneratedTask {
+    @Test
+    public void testCompatibleWithProxy() {
+        final GeneratedTestTask generated = GENERATED.createConfigMapper().map(config(), GeneratedTestTask.class);
+        final GeneratedTestTask proxied = PROXIED.createConfigMapper().map(config(), GeneratedTestTask.class);
+
+        assertTrue(generated instanceof GeneratedTaskBase);
+        assertTrue(proxied instanceof Proxy);
+
+        assertEquals("foo", generated.getName());
+        assertEquals(42, generated.getCount());
+        assertEquals(123456789012L, generated.getLong());
+        assertEquals(true, generated.getFlag());
+        assertEquals(Optional.empty(), generated.getOptional());
+        assertEquals(Arrays.asList("a", "b"), generated.getList());
+        assertEquals(Optional.of("bar"), generated.getChild().get().getName());
+        assertEquals(null, generated.getExtra());
+
+        assertEquals(proxied.toObjectNode(), generated.toObjectNode());
+        assertEquals(proxied.hashCode(), generated.hashCode());
+        assertEquals(proxied.toString(), generated.toString());
+    }
+
+    @Test
+    public void testSetters() {
+        final GeneratedTestTask task = GENERATED.createConfigMapper().map(config(), GeneratedTestTask.class);
+        final GeneratedTestTask other = GENERATED.createConfigMapper().map(config(), GeneratedTestTask.class);
+        assertEquals(task, other);
+        assertEquals(task.hashCode(), other.hashCode());
+
+        task.setExtra("extra");
+        task.setCount(84);
+        assertEquals("extra", task.getExtra());
+        assertEquals(84, task.getCount());
+        assertNotEquals(task, other);
+        assertEquals("extra", task.toObjectNode().get("Extra").asText());
+
+        task.setExtra(null);
+        assertFalse(task.toObjectNode().has("Extra"));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final GeneratedTestTask task = GENERATED.createConfigMapper().map(config(), GeneratedTestTask.class);
+        task.setExtra("extra");
+        final TaskSource taskSource = task.toTaskSource();
+
+        final GeneratedTestTask generated = GENERATED.createTaskMapper().map(taskSource, GeneratedTestTask.class);
+        final GeneratedTestTask proxied = PROXIED.createTaskMapper().map(taskSource, GeneratedTestTask.class);
+        assertTrue(generated instanceof GeneratedTaskBase);
+        assertEquals(task, generated);
+        assertEquals("extra", generated.getExtra());
+        assertEquals(proxied.toObjectNode(), generated.toObjectNode());
+    }
+
+    @Test
+    public void testNullForPrimitive() {
+        final UnsetTask task = GENERATED.createConfigMapper().map(GENERATED.newConfigSource(), UnsetTask.class);
+        assertTrue(task instanceof GeneratedTaskBase);
+        assertThrows(NullPointerException.class, () -> task.getUnset());
+    }
+
+    @Test
+    public void testFallbackToProxy() {
+        final ConfigSource config = GENERATED.newConfigSource().set("name", "foo");
+        final NonPublicTask task = GENERATED.createConfigMapper().map(config, NonPublicTask.class);
+        assertTrue(task instanceof Proxy);
+        assertEquals("foo", task.getName());
+    }
+
+    public interface GeneratedTestTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("count")
+        @ConfigDefault("42")
+        int getCount();
+
+        void setCount(int count);
+
+        @Config("long")
+        long getLong();
+
+        @Config("flag")
+        @ConfigDefault("true")
+        boolean getFlag();
+
+        @Config("optional")
+        @ConfigDefault("null")
+        Optional<String> getOptional();
+
+        @Config("list")
+        List<String> getList();
+
+        @Config("child")
+        @ConfigDefault("null")
+        Optional<GeneratedChildTask> getChild();
+
+        String getExtra();
+
+        void setExtra(String extra);
+    }
+
+    public interface UnsetTask extends Task {
+        int getUnset();
+    }
+
+    public interface GeneratedChildTask extends Task {
+        @Config("name")
+        @ConfigDefault("null")
+        Optional<String> getName();
+    }
+
+    interface NonPublicTask extends Task {
+        @Config("name")
+        String getName();
+    }
+
+    private static ConfigSource config() {
+        final ConfigSource config = GENERATED.newConfigSource();
+        config.set("name", "foo");
+        config.set("long", 123456789012L);
+        config.set("list", Arrays.asList("a", "b"));
+        config.set("child", GENERATED.newConfigSource().set("name", "bar"));
+        return config;
+    }
+
+    private static final ConfigMapperFactory GENERATED = ConfigMapperFactory.builder().addDefaultModules().withGeneratedTaskClasses().build();
+    private static final ConfigMapperFactory PROXIED = ConfigMapperFactory.withDefault();
+}
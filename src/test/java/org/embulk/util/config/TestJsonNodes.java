@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import org.embulk.config.ConfigException;
+import org.junit.jupiter.api.Test;
+
+public class TestJsonNodes {
+    @Test
+    public void testMerge() throws Exception {
+        final ObjectNode src = (ObjectNode) MAPPER.readTree(
+                "{\"a\":1,\"b\":{\"c\":2,\"d\":3},\"e\":[1,{\"f\":4},[5]],\"g\":[1],\"h\":{\"i\":5}}");
+        final ObjectNode other = (ObjectNode) MAPPER.readTree(
+                "{\"a\":10,\"b\":{\"d\":30,\"x\":40},\"e\":[10,{\"y\":50},[60,70],80],\"g\":{\"z\":1},\"h\":[1]}");
+
+        JsonNodes.merge(src, other, JsonNodes.maximumDepthOf(MAPPER), UnaryOperator.identity());
+
+        assertEquals(MAPPER.readTree(
+                "{\"a\":10,\"b\":{\"c\":2,\"d\":30,\"x\":40},\"e\":[10,{\"f\":4,\"y\":50},[60,70],80],\"g\":{\"z\":1},\"h\":[1]}"),
+                src);
+    }
+
+    @Test
+    public void testMergeDeeplyNested() {
+        final ObjectNode src = buildDeeplyNested(20001, "src");
+        final ObjectNode other = buildDeeplyNested(20001, "other");
+
+        JsonNodes.merge(src, other, 20001, UnaryOperator.identity());
+
+        // Walks down without recursion. JsonNode#equals is recursive.
+        JsonNode node = src;
+        for (int i = 1; i < 20001; i++) {
+            if (i % 2 == 1) {
+                assertEquals(i, node.get("depth").intValue());
+                node = node.get("child");
+            } else {
+                assertEquals(2, node.size());
+                node = node.get(1);
+            }
+        }
+        assertEquals("other", node.get("leaf").textValue());
+        assertEquals("src", node.get("src").textValue());
+        assertEquals("other", node.get("other").textValue());
+    }
+
+    @Test
+    public void testMergeDeeperThanMaximumDepth() {
+        final ObjectNode src = buildDeeplyNested(20001, "src");
+        final ObjectNode other = buildDeeplyNested(20001, "other");
+
+        assertThrows(ConfigException.class, () -> JsonNodes.merge(src, other, 20000, UnaryOperator.identity()));
+    }
+
+    @Test
+    public void testEqualsAndHashCodeAsJson() throws Exception {
+        final ObjectNode object = (ObjectNode) MAPPER.readTree("{\"a\":1,\"b\":{\"c\":0.5,\"d\":[1,\"x\"]},\"e\":null}");
+        final ObjectNode other = MAPPER.createObjectNode();
+        other.putNull("e");
+        final ObjectNode b = other.putObject("b");
+        b.putArray("d").add(1L).add("x");
+        b.put("c", 0.5f);
+        other.put("a", (short) 1);
+
+        // Numbers are equal by their values, and fields are equal in any order.
+        assertTrue(JsonNodes.equalsAsJson(object, other));
+        assertTrue(JsonNodes.equalsAsJson(other, object));
+        assertEquals(JsonNodes.hashCodeAsJson(object), JsonNodes.hashCodeAsJson(other));
+
+        ((ArrayNode) b.get("d")).add(2);
+        assertFalse(JsonNodes.equalsAsJson(object, other));
+        assertNotEquals(JsonNodes.hashCodeAsJson(object), JsonNodes.hashCodeAsJson(other));
+
+        // 1 and 1.0 are different in a stringified JSON.
+        assertFalse(JsonNodes.equalsAsJson((ObjectNode) MAPPER.readTree("{\"a\":1}"), (ObjectNode) MAPPER.readTree("{\"a\":1.0}")));
+        assertFalse(JsonNodes.equalsAsJson((ObjectNode) MAPPER.readTree("{\"a\":{}}"), (ObjectNode) MAPPER.readTree("{\"a\":[]}")));
+    }
+
+    @Test
+    public void testEqualsAndHashCodeDeeplyNested() {
+        final ObjectNode object = buildDeeplyNested(20001, "leaf");
+        final ObjectNode other = buildDeeplyNested(20001, "leaf");
+
+        // JsonNode#equals and JsonNode#hashCode are recursive.
+        assertTrue(JsonNodes.equalsAsJson(object, other));
+        assertEquals(JsonNodes.hashCodeAsJson(object), JsonNodes.hashCodeAsJson(other));
+        assertFalse(JsonNodes.equalsAsJson(object, buildDeeplyNested(20001, "other")));
+    }
+
+    @Test
+    public void testToMapDeeplyNested() {
+        final DataSourceImpl impl = new DataSourceImpl(buildDeeplyNested(20001, "leaf"), MAPPER, new ObjectReaderCache(MAPPER));
+
+        final Map<String, Object> map = impl.toMap();
+
+        Object value = map;
+        for (int i = 1; i < 20001; i++) {
+            if (i % 2 == 1) {
+                assertTrue(value instanceof Map);
+                final Map<?, ?> object = (Map<?, ?>) value;
+                assertEquals(i, object.get("depth"));
+                assertNull(object.get("null"));
+                assertTrue(object.containsKey("null"));
+                value = object.get("child");
+            } else {
+                assertTrue(value instanceof List);
+                final List<?> array = (List<?>) value;
+                assertEquals(2, array.size());
+                assertThrows(UnsupportedOperationException.class, () -> array.remove(0));
+                value = array.get(1);
+            }
+        }
+        assertEquals("leaf", ((Map<?, ?>) value).get("leaf"));
+    }
+
+    @Test
+    public void testToMapConvertsOnlyWhenAccessed() {
+        final ObjectNode object = MAPPER.createObjectNode();
+        object.put("string", "foo");
+        object.putPOJO("pojo", new Object());
+        object.putArray("array").add(1).addPOJO(new Object());
+
+        final Map<String, Object> map = JsonNodes.toMap(object);
+        assertEquals(3, map.size());
+        assertEquals("foo", map.get("string"));
+        assertTrue(map.containsKey("pojo"));
+        assertThrows(ConfigException.class, () -> map.get("pojo"));
+
+        final List<?> array = (List<?>) map.get("array");
+        assertEquals(2, array.size());
+        assertEquals(1, array.get(0));
+        assertThrows(ConfigException.class, () -> array.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(2));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("string"));
+    }
+
+    /**
+     * Builds {@code ObjectNode} nested in {@code depth} levels, alternating {@code ObjectNode} and {@code ArrayNode}.
+     */
+    private static ObjectNode buildDeeplyNested(final int depth, final String leaf) {
+        final ObjectNode root = MAPPER.createObjectNode();
+        JsonNode node = root;
+        for (int i = 1; i < depth; i++) {
+            if (i % 2 == 1) {
+                ((ObjectNode) node).put("depth", i);
+                ((ObjectNode) node).putNull("null");
+                node = ((ObjectNode) node).putArray("child");
+            } else {
+                ((ArrayNode) node).add(i);
+                node = ((ArrayNode) node).addObject();
+            }
+        }
+        ((ObjectNode) node).put("leaf", leaf);
+        ((ObjectNode) node).put(leaf, leaf);
+        return root;
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+}
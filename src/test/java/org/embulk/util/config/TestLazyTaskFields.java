@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import javax.validation.Validator;
+import org.embulk.config.ConfigException;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskSource;
+import org.junit.jupiter.api.Test;
+
+public class TestLazyTaskFields {
+    @Test
+    public void testCompatibleWithEager() {
+        final LazyTestTask lazy = LAZY.createConfigMapper().map(config(), LazyTestTask.class);
+        final LazyTestTask eager = EAGER.createConfigMapper().map(config(), LazyTestTask.class);
+
+        assertEquals("foo", lazy.getName());
+        assertEquals(42, lazy.getCount());
+        assertEquals(Optional.empty(), lazy.getOptional());
+        assertEquals(Arrays.asList("a", "b"), lazy.getList());
+        assertEquals(Arrays.asList("a", "b"), lazy.getAlsoList());
+        assertEquals(Optional.of("bar"), lazy.getChild().get().getName());
+
+        assertEquals(eager, lazy);
+        assertEquals(eager.hashCode(), lazy.hashCode());
+        assertEquals(eager.toString(), lazy.toString());
+        assertEquals(eager.toObjectNode(), lazy.toObjectNode());
+    }
+
+    @Test
+    public void testNotConvertedUntilRead() {
+        final ConfigSource config = config().set("invalid", "not a number");
+        final LazyTestTask task = LAZY.createConfigMapper().map(config, LazyTestTask.class);
+
+        assertEquals("foo", task.getName());
+        assertThrows(ConfigException.class, () -> task.getInvalid());
+        assertThrows(ConfigException.class, () -> task.toObjectNode());
+
+        task.setInvalid(7);
+        assertEquals(7, task.getInvalid());
+        assertEquals(7, task.toObjectNode().get("Invalid").asInt());
+    }
+
+    @Test
+    public void testRequiredAndNullCheckedWhenMapped() {
+        assertThrows(ConfigException.class, () -> LAZY.createConfigMapper().map(config().remove("name"), LazyTestTask.class));
+        assertThrows(ConfigException.class, () -> LAZY.createConfigMapper().map(config().set("name", null), LazyTestTask.class));
+    }
+
+    @Test
+    public void testEagerWithValidator() {
+        final ConfigMapperFactory validated = ConfigMapperFactory.builder()
+                .addDefaultModules()
+                .withValidator(noViolations())
+                .withLazyTaskFields()
+                .build();
+        final ConfigSource config = config().set("invalid", "not a number");
+        assertThrows(ConfigException.class, () -> validated.createConfigMapper().map(config, LazyTestTask.class));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final LazyTestTask task = LAZY.createConfigMapper().map(config(), LazyTestTask.class);
+        final TaskSource taskSource = task.toTaskSource();
+
+        final LazyTestTask mapped = LAZY.createTaskMapper().map(taskSource, LazyTestTask.class);
+        assertEquals(task, mapped);
+        assertEquals(EAGER.createTaskMapper().map(taskSource, LazyTestTask.class), mapped);
+    }
+
+    private static ConfigSource config() {
+        final ConfigSource config = LAZY.newConfigSource();
+        config.set("name", "foo");
+        config.set("list", Arrays.asList("a", "b"));
+        config.set("child", Collections.singletonMap("name", "bar"));
+        return config;
+    }
+
+    private static Validator noViolations() {
+        return (Validator) Proxy.newProxyInstance(
+                Validator.class.getClassLoader(),
+                new Class<?>[] { Validator.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("validate")) {
+                        return Collections.emptySet();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public interface LazyTestTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("count")
+        @ConfigDefault("42")
+        int getCount();
+
+        @Config("optional")
+        @ConfigDefault("null")
+        Optional<String> getOptional();
+
+        @Config("list")
+        List<String> getList();
+
+        @Config("list")
+        List<String> getAlsoList();
+
+        @Config("invalid")
+        @ConfigDefault("0")
+        int getInvalid();
+
+        void setInvalid(int invalid);
+
+        @Config("child")
+        @ConfigDefault("null")
+        Optional<LazyChildTask> getChild();
+    }
+
+    public interface LazyChildTask extends Task {
+        @Config("name")
+        @ConfigDefault("null")
+        Optional<String> getName();
+    }
+
+    private static final ConfigMapperFactory LAZY = ConfigMapperFactory.builder().addDefaultModules().withLazyTaskFields().build();
+    private static final ConfigMapperFactory EAGER = ConfigMapperFactory.withDefault();
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import javax.validation.Validator;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskSource;
+import org.junit.jupiter.api.Test;
+
+public class TestMappingListener {
+    @Test
+    public void testConfigMapper() {
+        final RecordingListener listener = new RecordingListener();
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder()
+                .addDefaultModules()
+                .withValidator(noViolations())
+                .addListener(listener)
+                .build();
+
+        final ConfigSource config = config(factory);
+        factory.createConfigMapper().map(config, ListenedTask.class);
+
+        // The binding plan of the task-defining interface is looked up when Jackson looks up its deserializer to read the ObjectNode.
+        assertEquals(Arrays.asList(
+                "phase ListenedTask REBUILD",
+                "lookup ListenedTask false",
+                "field ListenedTask name",
+                "field ListenedTask list",
+                "field ListenedTask list",
+                "lookup ListenedChildTask false",
+                "field ListenedChildTask name",
+                "phase ListenedChildTask BIND",
+                "phase ListenedChildTask DEFAULTS",
+                "field ListenedTask child",
+                "phase ListenedTask BIND",
+                "phase ListenedTask DEFAULTS",
+                "phase ListenedTask VALIDATE",
+                "mapped ListenedTask " + config.toJson().getBytes(StandardCharsets.UTF_8).length),
+                listener.events);
+        assertTrue(listener.elapsedNanos.stream().allMatch(nanos -> nanos >= 0L));
+
+        listener.events.clear();
+        factory.createConfigMapper().map(config, ListenedTask.class);
+        // Jackson caches the deserializer, then the binding plan is not even looked up again.
+        assertTrue(listener.events.stream().noneMatch(event -> event.endsWith(" false")));
+        assertTrue(listener.events.contains("phase ListenedTask BIND"));
+    }
+
+    @Test
+    public void testTaskMapper() {
+        final RecordingListener listener = new RecordingListener();
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder().addDefaultModules().addListener(listener).build();
+
+        final TaskSource taskSource = factory.createConfigMapper().map(config(factory), ListenedTask.class).toTaskSource();
+        listener.events.clear();
+        factory.createTaskMapper().map(taskSource, ListenedTask.class);
+
+        assertEquals(Arrays.asList("phase ListenedTask REBUILD", "lookup ListenedTask false"), listener.events.subList(0, 2));
+        assertTrue(listener.events.contains("phase ListenedTask BIND"));
+        assertTrue(listener.events.contains("phase ListenedChildTask BIND"));
+        assertEquals("mapped ListenedTask " + taskSource.toJson().getBytes(StandardCharsets.UTF_8).length,
+                     listener.events.get(listener.events.size() - 1));
+    }
+
+    @Test
+    public void testExceptionFromListenerIgnored() {
+        final RecordingListener listener = new RecordingListener();
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder()
+                .addDefaultModules()
+                .addListener(new MappingListener() {
+                        @Override
+                        public void onPhase(final Class<? extends Task> taskType, final Phase phase, final long elapsedNanos) {
+                            throw new IllegalStateException("failing listener");
+                        }
+                    })
+                .addListener(listener)
+                .build();
+
+        final ListenedTask task = factory.createConfigMapper().map(config(factory), ListenedTask.class);
+        assertEquals("foo", task.getName());
+        assertTrue(listener.events.contains("phase ListenedTask BIND"));
+    }
+
+    @Test
+    public void testSourceBytesNotCounted() {
+        final RecordingListener listener = new RecordingListener(false);
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder().addDefaultModules().addListener(listener).build();
+
+        factory.createConfigMapper().map(config(factory), ListenedTask.class);
+        assertEquals("mapped ListenedTask -1", listener.events.get(listener.events.size() - 1));
+    }
+
+    @Test
+    public void testWithoutListeners() {
+        assertEquals(null, MappingListeners.of(Collections.emptyList()));
+    }
+
+    private static ConfigSource config(final ConfigMapperFactory factory) {
+        final ConfigSource config = factory.newConfigSource();
+        config.set("name", "foo");
+        config.set("list", Arrays.asList("a", "b"));
+        config.set("child", Collections.singletonMap("name", "bar"));
+        return config;
+    }
+
+    private static Validator noViolations() {
+        return (Validator) Proxy.newProxyInstance(
+                Validator.class.getClassLoader(),
+                new Class<?>[] { Validator.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("validate")) {
+                        return Collections.emptySet();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static class RecordingListener implements MappingListener {
+        RecordingListener() {
+            this(true);
+        }
+
+        RecordingListener(final boolean needsSourceBytes) {
+            this.needsSourceBytes = needsSourceBytes;
+        }
+
+        @Override
+        public boolean needsSourceBytes() {
+            return this.needsSourceBytes;
+        }
+
+        @Override
+        public synchronized void onPhase(final Class<? extends Task> taskType, final Phase phase, final long elapsedNanos) {
+            this.events.add("phase " + taskType.getSimpleName() + " " + phase);
+            this.elapsedNanos.add(elapsedNanos);
+        }
+
+        @Override
+        public synchronized void onFieldDeserialized(final Class<? extends Task> taskType, final String key, final long elapsedNanos) {
+            this.events.add("field " + taskType.getSimpleName() + " " + key);
+            this.elapsedNanos.add(elapsedNanos);
+        }
+
+        @Override
+        public synchronized void onTaskMapped(final Class<? extends Task> taskType, final long sourceBytes, final long elapsedNanos) {
+            this.events.add("mapped " + taskType.getSimpleName() + " " + sourceBytes);
+            this.elapsedNanos.add(elapsedNanos);
+        }
+
+        @Override
+        public synchronized void onBindingPlanLookup(final Class<? extends Task> taskType, final boolean hit) {
+            this.events.add("lookup " + taskType.getSimpleName() + " " + hit);
+        }
+
+        private final boolean needsSourceBytes;
+        private final List<String> events = new ArrayList<>();
+        private final List<Long> elapsedNanos = new ArrayList<>();
+    }
+
+    public interface ListenedTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("count")
+        @ConfigDefault("42")
+        int getCount();
+
+        @Config("list")
+        List<String> getList();
+
+        @Config("list")
+        List<String> getAlsoList();
+
+        @Config("child")
+        @ConfigDefault("null")
+        Optional<ListenedChildTask> getChild();
+    }
+
+    public interface ListenedChildTask extends Task {
+        @Config("name")
+        @ConfigDefault("null")
+        Optional<String> getName();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.embulk.config.ConfigException;
+import org.embulk.config.ConfigSource;
+import org.embulk.config.TaskSource;
+import org.junit.jupiter.api.Test;
+
+public class TestMappingStatistics {
+    @Test
+    public void testCounts() {
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder().addDefaultModules().withStatistics().build();
+        final ConfigMapper configMapper = factory.createConfigMapper();
+
+        final ConfigSource config = factory.newConfigSource().set("name", "foo");
+        final TaskSource taskSource = configMapper.map(config, CountedTask.class).toTaskSource();
+        configMapper.map(config, CountedTask.class);
+        factory.createTaskMapper().map(taskSource, CountedTask.class);
+        assertThrows(ConfigException.class, () -> configMapper.map(factory.newConfigSource(), CountedTask.class));
+
+        final MappingStatistics statistics = factory.getStatistics();
+        assertEquals(3L, statistics.getMapsPerformed());
+        assertEquals(1L, statistics.getMappingFailures());
+        assertTrue(statistics.getAverageLatencyNanos() > 0.0);
+        assertTrue(statistics.getLatencyPercentileNanos(50.0) <= statistics.getLatencyPercentileNanos(99.0));
+
+        // One binding plan for ConfigMapper, and one for TaskMapper.
+        assertEquals(2, statistics.getBindingPlanCacheSize());
+        assertEquals(2L, statistics.getBindingPlanCacheMisses());
+        assertEquals(0L, statistics.getBindingPlanCacheEvictions());
+    }
+
+    @Test
+    public void testObjectReaderCache() {
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder().addDefaultModules().withStatistics().build();
+        final ConfigSource config = factory.newConfigSource().set("list", Arrays.asList("a", "b"));
+        final MappingStatistics before = factory.getStatistics();
+
+        config.get(List.class, "list");
+        config.get(List.class, "list");
+
+        final MappingStatistics after = factory.getStatistics();
+        assertEquals(2L, (after.getObjectReaderCacheHits() + after.getObjectReaderCacheMisses())
+                     - (before.getObjectReaderCacheHits() + before.getObjectReaderCacheMisses()));
+        assertTrue(after.getObjectReaderCacheHits() > before.getObjectReaderCacheHits());
+        assertTrue(after.getObjectReaderCacheSize() >= 1);
+    }
+
+    @Test
+    public void testObjectReaderCachePerFactory() {
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder().addDefaultModules().withStatistics().build();
+        final ConfigMapperFactory another = ConfigMapperFactory.builder().addDefaultModules().withStatistics().build();
+        final MappingStatistics before = another.getStatistics();
+
+        factory.newConfigSource().set("list", Arrays.asList("a", "b")).get(List.class, "list");
+        factory.decodeTaskSource(factory.encode(factory.newTaskSource().set("list", Arrays.asList("c")))).get(List.class, "list");
+
+        final MappingStatistics after = another.getStatistics();
+        assertEquals(2L, factory.getStatistics().getObjectReaderCacheMisses());
+        assertEquals(before.getObjectReaderCacheHits(), after.getObjectReaderCacheHits());
+        assertEquals(before.getObjectReaderCacheMisses(), after.getObjectReaderCacheMisses());
+    }
+
+    @Test
+    public void testObjectReaderCacheSharedByDumpedTasks() {
+        assertObjectReaderCacheSharedByDumpedTasks(ConfigMapperFactory.builder().addDefaultModules().withStatistics().build());
+        assertObjectReaderCacheSharedByDumpedTasks(
+                ConfigMapperFactory.builder().addDefaultModules().withGeneratedTaskClasses().withStatistics().build());
+    }
+
+    @Test
+    public void testWithoutStatistics() {
+        assertThrows(IllegalStateException.class, () -> ConfigMapperFactory.withDefault().getStatistics());
+    }
+
+    @Test
+    public void testPercentiles() {
+        final MappingStatisticsRecorder recorder = new MappingStatisticsRecorder(Collections.emptyList(), Collections.emptyList());
+        assertEquals(0L, recorder.snapshot().getLatencyPercentileNanos(99.0));
+        for (int i = 0; i < 99; i++) {
+            recorder.recordMapped(100L);
+        }
+        recorder.recordMapped(10000L);
+
+        final MappingStatistics statistics = recorder.snapshot();
+        assertEquals(100L, statistics.getMapsPerformed());
+        assertEquals(199.0, statistics.getAverageLatencyNanos(), 0.001);
+        assertInBucketOf(100L, statistics.getLatencyPercentileNanos(50.0));
+        assertInBucketOf(100L, statistics.getLatencyPercentileNanos(99.0));
+        assertInBucketOf(10000L, statistics.getLatencyPercentileNanos(100.0));
+        assertThrows(IllegalArgumentException.class, () -> statistics.getLatencyPercentileNanos(0.0));
+        assertThrows(IllegalArgumentException.class, () -> statistics.getLatencyPercentileNanos(100.1));
+    }
+
+    @Test
+    public void testBuckets() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < 10000; i++) {
+            final long latency = random.nextLong() >>> (1 + random.nextInt(63));
+            final int bucket = MappingStatisticsRecorder.bucketOf(latency);
+            assertTrue(MappingStatisticsRecorder.lowerBoundOf(bucket) <= latency, "" + latency);
+            assertTrue(latency <= MappingStatisticsRecorder.upperBoundOf(bucket), "" + latency);
+        }
+        assertEquals(MappingStatisticsRecorder.NUMBER_OF_BUCKETS - 1, MappingStatisticsRecorder.bucketOf(Long.MAX_VALUE));
+        for (int bucket = 0; bucket < MappingStatisticsRecorder.NUMBER_OF_BUCKETS - 1; bucket++) {
+            assertEquals(MappingStatisticsRecorder.upperBoundOf(bucket) + 1, MappingStatisticsRecorder.lowerBoundOf(bucket + 1));
+        }
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder()
+                .addDefaultModules()
+                .withStatisticsMBean("TestMappingStatistics")
+                .build();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName("org.embulk.util.config:type=ConfigMapperFactory,name=\"TestMappingStatistics\"");
+        try {
+            factory.createConfigMapper().map(factory.newConfigSource().set("name", "foo"), CountedTask.class);
+            assertEquals(1L, server.getAttribute(objectName, "MapsPerformed"));
+            assertEquals(1, server.getAttribute(objectName, "BindingPlanCacheSize"));
+
+            // Registering the same name again only warns.
+            ConfigMapperFactory.builder().withStatisticsMBean("TestMappingStatistics").build();
+        } finally {
+            factory.unregisterStatisticsMBean();
+        }
+        assertFalse(server.isRegistered(objectName));
+        factory.unregisterStatisticsMBean();
+    }
+
+    private static void assertObjectReaderCacheSharedByDumpedTasks(final ConfigMapperFactory factory) {
+        final CountedTask task = factory.createConfigMapper().map(factory.newConfigSource().set("name", "foo"), CountedTask.class);
+        // Short is not converted directly from the node, but read through the cached ObjectReader.
+        assertEquals(Short.valueOf((short) 1), task.dump().get(Short.class, "Count"));
+        final MappingStatistics before = factory.getStatistics();
+
+        assertEquals(Short.valueOf((short) 1), task.dump().get(Short.class, "Count"));
+        assertEquals(Short.valueOf((short) 1), task.toTaskSource().get(Short.class, "Count"));
+
+        final MappingStatistics after = factory.getStatistics();
+        assertEquals(before.getObjectReaderCacheMisses(), after.getObjectReaderCacheMisses());
+        assertEquals(before.getObjectReaderCacheHits() + 2L, after.getObjectReaderCacheHits());
+    }
+
+    private static void assertInBucketOf(final long expected, final long actual) {
+        assertEquals(MappingStatisticsRecorder.upperBoundOf(MappingStatisticsRecorder.bucketOf(expected)), actual);
+    }
+
+    public interface CountedTask extends Task {
+        @Config("name")
+        String getName();
+
+        @Config("count")
+        @ConfigDefault("1")
+        int getCount();
+    }
+}
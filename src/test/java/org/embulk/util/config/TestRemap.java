@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.embulk.config.ConfigDiff;
+import org.embulk.config.ConfigException;
+import org.embulk.config.ConfigSource;
+import org.junit.jupiter.api.Test;
+
+public class TestRemap {
+    @Test
+    public void testRemap() {
+        final ConfigSource config = config();
+        final RemapTestTask task = FACTORY.createConfigMapper().map(config, RemapTestTask.class);
+
+        final ConfigDiff delta = FACTORY.newConfigDiff();
+        delta.set("last_path", "/tmp/input/002.csv");
+        delta.set("unknown", "ignored");
+        final RemapTestTask remapped = FACTORY.createConfigMapper().remap(task, delta, RemapTestTask.class);
+
+        assertEquals(Optional.of("/tmp/input/002.csv"), remapped.getLastPath());
+        assertEquals(FACTORY.createConfigMapper().map(config.deepCopy().merge(delta), RemapTestTask.class), remapped);
+        assertSame(task.getColumns(), remapped.getColumns());
+
+        // The previous task is not modified.
+        assertEquals(Optional.of("/tmp/input/001.csv"), task.getLastPath());
+    }
+
+    @Test
+    public void testRemapFailures() {
+        final RemapTestTask task = FACTORY.createConfigMapper().map(config(), RemapTestTask.class);
+        final ConfigMapper configMapper = FACTORY.createConfigMapper();
+
+        assertThrows(ConfigException.class, () -> configMapper.remap(task, FACTORY.newConfigDiff().set("path_prefix", NullNode.getInstance()), RemapTestTask.class));
+        assertThrows(ConfigException.class, () -> configMapper.remap(task, FACTORY.newConfigDiff().set("count", "invalid"), RemapTestTask.class));
+
+        final RemapTestTask notMapped = (RemapTestTask) Proxy.newProxyInstance(
+                RemapTestTask.class.getClassLoader(),
+                new Class<?>[] { RemapTestTask.class },
+                (proxy, method, args) -> null);
+        assertThrows(ConfigException.class, () -> configMapper.remap(notMapped, FACTORY.newConfigDiff(), RemapTestTask.class));
+    }
+
+    @Test
+    public void testRemapGeneratedAndLazy() {
+        final ConfigDiff delta = FACTORY.newConfigDiff().set("count", 84);
+        for (final ConfigMapperFactory factory : Arrays.asList(
+                ConfigMapperFactory.builder().addDefaultModules().withGeneratedTaskClasses().build(),
+                ConfigMapperFactory.builder().addDefaultModules().withLazyTaskFields().build())) {
+            final RemapTestTask task = factory.createConfigMapper().map(config(), RemapTestTask.class);
+            final RemapTestTask remapped = factory.createConfigMapper().remap(task, delta, RemapTestTask.class);
+            assertEquals(task.getClass(), remapped.getClass());
+            assertEquals(84, remapped.getCount());
+            assertEquals(task.getColumns(), remapped.getColumns());
+        }
+    }
+
+    @Test
+    public void testRemapRejectsObjectsAndArrays() {
+        final ConfigSource config = config();
+        config.set("options", Collections.singletonMap("a", "1"));
+        for (final ConfigMapperFactory factory : Arrays.asList(
+                FACTORY,
+                ConfigMapperFactory.builder().addDefaultModules().withGeneratedTaskClasses().build(),
+                ConfigMapperFactory.builder().addDefaultModules().withLazyTaskFields().build())) {
+            final ConfigMapper configMapper = factory.createConfigMapper();
+            final RemapTestTask task = configMapper.map(config, RemapTestTask.class);
+            final RemapTestTask gotten = configMapper.map(config, RemapTestTask.class);
+            assertEquals("1", gotten.getOptions().get("a"));
+
+            // Rejected whether the field has been converted or not, before converting anything.
+            for (final RemapTestTask previous : Arrays.asList(task, gotten)) {
+                assertThrows(ConfigException.class, () -> configMapper.remap(
+                        previous, factory.newConfigDiff().set("options", Collections.singletonMap("b", "2")), RemapTestTask.class));
+                final ConfigException ex = assertThrows(ConfigException.class, () -> configMapper.remap(
+                        previous, factory.newConfigDiff().set("count", "invalid").set("columns", Arrays.asList("d")), RemapTestTask.class));
+                assertTrue(ex.getMessage().contains("'columns'"));
+            }
+
+            // Not rejected for an attribute which is not mapped to any field.
+            final RemapTestTask remapped = configMapper.remap(
+                    task, factory.newConfigDiff().set("unknown", Collections.singletonMap("b", "2")), RemapTestTask.class);
+            assertEquals(Collections.singletonMap("a", "1"), remapped.getOptions());
+        }
+    }
+
+    @Test
+    public void testRemapNotified() {
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder().addDefaultModules().withStatistics().build();
+        final RemapTestTask task = factory.createConfigMapper().map(config(), RemapTestTask.class);
+        factory.createConfigMapper().remap(task, factory.newConfigDiff().set("count", 84), RemapTestTask.class);
+        assertThrows(ConfigException.class,
+                     () -> factory.createConfigMapper().remap(task, factory.newConfigDiff().set("count", "invalid"), RemapTestTask.class));
+
+        assertEquals(2L, factory.getStatistics().getMapsPerformed());
+        assertEquals(1L, factory.getStatistics().getMappingFailures());
+    }
+
+    @Test
+    public void testTaskDeserializerCached() throws Exception {
+        final ObjectMapper mapper = new ObjectMapper();
+        final ConfigTaskDeserializers deserializers = ConfigTaskDeserializers.forConfig(mapper, new ObjectReaderCache(mapper), null, false, false, null);
+        assertSame(deserializers.findTaskDeserializer(RemapTestTask.class), deserializers.findTaskDeserializer(RemapTestTask.class));
+    }
+
+    @Test
+    public void testValidatesRemappedTask() {
+        final List<String> validated = new ArrayList<>();
+        final ConfigMapperFactory factory = ConfigMapperFactory.builder()
+                .addDefaultModules()
+                .withValidator(recordingValidator(validated))
+                .build();
+        final RemapTestTask task = factory.createConfigMapper().map(config(), RemapTestTask.class);
+        validated.clear();
+
+        factory.createConfigMapper().remap(task, factory.newConfigDiff().set("count", 84).set("last_path", "x"), RemapTestTask.class);
+        assertEquals(Arrays.asList("validate"), validated);
+
+        final TaskValidationException ex = assertThrows(
+                TaskValidationException.class,
+                () -> factory.createConfigMapper().remap(task, factory.newConfigDiff().set("count", -1), RemapTestTask.class));
+        assertTrue(ex.getMessage().contains("must be positive"));
+    }
+
+    private static ConfigSource config() {
+        final ConfigSource config = FACTORY.newConfigSource();
+        config.set("path_prefix", "/tmp/input/");
+        config.set("last_path", "/tmp/input/001.csv");
+        config.set("columns", Arrays.asList("a", "b", "c"));
+        return config;
+    }
+
+    /**
+     * Records validations, and reports a violation for a negative count.
+     */
+    private static Validator recordingValidator(final List<String> validated) {
+        return (Validator) Proxy.newProxyInstance(
+                Validator.class.getClassLoader(),
+                new Class<?>[] { Validator.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("validate")) {
+                        validated.add(method.getName());
+                        if (((RemapTestTask) args[0]).getCount() < 0) {
+                            return Collections.singleton(violation("must be positive"));
+                        }
+                        return Collections.emptySet();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static ConstraintViolation<?> violation(final String message) {
+        return (ConstraintViolation<?>) Proxy.newProxyInstance(
+                ConstraintViolation.class.getClassLoader(),
+                new Class<?>[] { ConstraintViolation.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getMessage":
+                            return message;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    public interface RemapTestTask extends Task {
+        @Config("path_prefix")
+        String getPathPrefix();
+
+        @Config("last_path")
+        @ConfigDefault("null")
+        Optional<String> getLastPath();
+
+        @Config("count")
+        @ConfigDefault("42")
+        int getCount();
+
+        @Config("columns")
+        List<String> getColumns();
+
+        @Config("options")
+        @ConfigDefault("{}")
+        Map<String, String> getOptions();
+    }
+
+    private static final ConfigMapperFactory FACTORY = ConfigMapperFactory.withDefault();
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 The Embulk project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.embulk.util.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+
+public class TestTaskInvocationHandler {
+    @Test
+    public void testGettersAndSetters() {
+        final Map<String, Object> backing = new HashMap<>();
+        backing.put("Name", "foo");
+        backing.put("Count", 12);
+        final SlotTask task = newTask(backing);
+
+        assertEquals("foo", task.getName());
+        assertEquals(12, task.getCount());
+        assertNull(task.getExtra());
+
+        task.setExtra("bar");
+        task.setCount(34);
+        assertEquals("bar", task.getExtra());
+        assertEquals(34, task.getCount());
+
+        task.setExtra(null);
+        assertNull(task.getExtra());
+        assertFalse(task.toObjectNode().has("Extra"));
+    }
+
+    @Test
+    public void testCompatibleWithMap() {
+        final Map<String, Object> backing = new HashMap<>();
+        backing.put("Name", "foo");
+        backing.put("Count", 12);
+        final SlotTask task = newTask(backing);
+
+        assertEquals(backing.hashCode(), task.hashCode());
+        assertEquals(SlotTask.class.getName() + new ConcurrentHashMap<>(backing).toString(), task.toString());
+        assertEquals(newTask(backing), task);
+
+        task.setExtra("bar");
+        assertNotEquals(newTask(backing), task);
+        backing.put("Extra", "bar");
+        assertEquals(newTask(backing), task);
+        assertEquals(backing.hashCode(), task.hashCode());
+    }
+
+    @Test
+    public void testUndefinedMethods() {
+        final SlotTask task = newTask(new HashMap<>());
+        assertThrows(IllegalArgumentException.class, () -> task.getWithParameter(1));
+        assertThrows(IllegalArgumentException.class, () -> task.undefined());
+    }
+
+    @Test
+    public void testUnknownField() {
+        final Map<String, Object> backing = new HashMap<>();
+        backing.put("Unknown", "foo");
+        assertThrows(IllegalArgumentException.class, () -> newTask(backing));
+    }
+
+    private static SlotTask newTask(final Map<String, Object> backing) {
+        return (SlotTask) Proxy.newProxyInstance(
+                SlotTask.class.getClassLoader(),
+                new Class<?>[] { SlotTask.class },
+                new TaskInvocationHandler(SlotTask.class, backing, MAPPER, new ObjectReaderCache(MAPPER), null));
+    }
+
+    private static interface SlotTask extends Task {
+        String getName();
+
+        int getCount();
+
+        void setCount(int count);
+
+        String getExtra();
+
+        void setExtra(String extra);
+
+        String getWithParameter(int parameter);
+
+        void undefined();
+    }
+
+    private static final ObjectMapper MAPPER = (new ObjectMapper()).registerModule(new Jdk8Module());
+}
@@ -17,11 +17,19 @@
 package org.embulk.util.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import org.junit.jupiter.api.Test;
@@ -46,7 +54,7 @@ public class TestTaskObjectsRetriever {
         parser.nextToken();
 
         final TaskObjectsRetriever retriever = TaskObjectsRetriever.forConfig(TypeFieldsTask.class, MAPPER);
-        final ConcurrentHashMap<String, Object> actual = retriever.buildTaskBackingObjects(parser);
+        final ConcurrentHashMap<String, Object> actual = retriever.buildTaskBackingObjects(parser, false, null);
 
         final ConcurrentHashMap<String, Object> expected = new ConcurrentHashMap<>();
         expected.put("TaskBoolean", true);
@@ -60,6 +68,136 @@ public class TestTaskObjectsRetriever {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testCacheReturnsSameRetriever() throws Exception {
+        final TaskObjectsRetrieverCache cache = new TaskObjectsRetrieverCache(true, MAPPER, TaskObjectsRetrieverCache.DEFAULT_MAXIMUM_SIZE, null);
+        final TaskObjectsRetriever retriever = cache.get(TypeFieldsTask.class);
+        assertSame(retriever, cache.get(TypeFieldsTask.class));
+        assertSame(TypeFieldsTask.class, retriever.getTaskInterface());
+        assertEquals(1, cache.size());
+
+        final ObjectNode node = MAPPER.createObjectNode();
+        node.put("name", "foo");
+        final JsonParser parser = node.traverse();
+        parser.nextToken();
+        final ConcurrentHashMap<String, Object> actual = cache.get(AnotherTask.class).buildTaskBackingObjects(parser, false, null);
+        final ConcurrentHashMap<String, Object> expected = new ConcurrentHashMap<>();
+        expected.put("Name", "foo");
+        assertEquals(expected, actual);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testCacheIsBounded() throws Exception {
+        final TaskObjectsRetrieverCache cache = new TaskObjectsRetrieverCache(false, MAPPER, 1, null);
+        final TaskObjectsRetriever retriever = cache.get(TypeFieldsTask.class);
+        cache.get(AnotherTask.class);
+        assertEquals(1, cache.size());
+        assertSame(AnotherTask.class, cache.getIfPresent(AnotherTask.class).getTaskInterface());
+        assertNotSame(retriever, cache.get(TypeFieldsTask.class));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testDefaultsSharedOnlyIfImmutable() throws Exception {
+        final TaskObjectsRetriever retriever = TaskObjectsRetriever.forConfig(DefaultsTask.class, MAPPER);
+        final ConcurrentHashMap<String, Object> first = retriever.buildTaskBackingObjects(emptyObjectParser(), false, null);
+        final ConcurrentHashMap<String, Object> second = retriever.buildTaskBackingObjects(emptyObjectParser(), false, null);
+
+        assertEquals("foo", first.get("String"));
+        assertEquals(Optional.of("bar"), first.get("Optional"));
+        assertEquals(Arrays.asList("baz", "qux"), first.get("List"));
+        assertSame(first.get("String"), second.get("String"));
+        assertSame(first.get("Optional"), second.get("Optional"));
+        assertEquals(first.get("List"), second.get("List"));
+        assertNotSame(first.get("List"), second.get("List"));
+    }
+
+    @Test
+    public void testMalformedDefaultFailsWhenNeeded() throws Exception {
+        final TaskObjectsRetriever retriever = TaskObjectsRetriever.forConfig(MalformedDefaultTask.class, MAPPER);
+        assertThrows(JsonMappingException.class, () -> retriever.buildTaskBackingObjects(emptyObjectParser(), false, null));
+        assertThrows(JsonMappingException.class, () -> retriever.buildTaskBackingObjects(emptyObjectParser(), false, null));
+
+        final JsonParser parser = MAPPER.createObjectNode().put("malformed", "given").traverse();
+        parser.nextToken();
+        assertEquals("given", retriever.buildTaskBackingObjects(parser, false, null).get("Malformed"));
+
+        // @ConfigDefault is not used for TaskSource.
+        TaskObjectsRetriever.forTask(MalformedDefaultTask.class, MAPPER);
+    }
+
+    @Test
+    public void testStreamingAndSharedKeys() throws Exception {
+        final ObjectNode node = MAPPER.createObjectNode();
+        node.putArray("columns").add("a").add("b");
+        node.putObject("options").put("key", "value");
+        node.putObject("skipped").putArray("nested").addObject().put("deep", 1);
+        node.put("shared", "12");
+        node.put("last", "end");
+        final JsonParser parser = node.traverse();
+        parser.nextToken();
+
+        final ConcurrentHashMap<String, Object> actual =
+                TaskObjectsRetriever.forConfig(StreamingTask.class, MAPPER).buildTaskBackingObjects(parser, false, null);
+
+        final ConcurrentHashMap<String, Object> expected = new ConcurrentHashMap<>();
+        expected.put("Columns", Arrays.asList("a", "b"));
+        expected.put("Options", Collections.singletonMap("key", "value"));
+        expected.put("SharedAsString", "12");
+        expected.put("SharedAsInt", 12);
+        expected.put("Last", "end");
+        assertEquals(expected, actual);
+    }
+
+    private static JsonParser emptyObjectParser() throws Exception {
+        final JsonParser parser = MAPPER.createObjectNode().traverse();
+        parser.nextToken();
+        return parser;
+    }
+
+    private static interface DefaultsTask extends Task {
+        @Config("string")
+        @ConfigDefault("\"foo\"")
+        String getString();
+
+        @Config("optional")
+        @ConfigDefault("\"bar\"")
+        Optional<String> getOptional();
+
+        @Config("list")
+        @ConfigDefault("[\"baz\", \"qux\"]")
+        List<String> getList();
+    }
+
+    private static interface StreamingTask extends Task {
+        @Config("columns")
+        List<String> getColumns();
+
+        @Config("options")
+        Map<String, String> getOptions();
+
+        @Config("shared")
+        String getSharedAsString();
+
+        @Config("shared")
+        int getSharedAsInt();
+
+        @Config("last")
+        String getLast();
+    }
+
+    private static interface MalformedDefaultTask extends Task {
+        @Config("malformed")
+        @ConfigDefault("{\"unclosed\": ")
+        String getMalformed();
+    }
+
+    private static interface AnotherTask extends Task {
+        @Config("name")
+        String getName();
+    }
+
     private static interface TypeFieldsTask extends Task {
         @Config("boolean")
         boolean getTaskBoolean();
@@ -47,8 +47,8 @@ public class TestVersion {
     @Test
     public void testValidVersion() throws Exception {
         // The version string (in build.gradle) is tested valid through
-        // the system property "org.embulk.embulk_util_config.version"
-        // that is set in Gradle's "test" task.
+        // the constant BuildVersion.VERSION that is generated by Gradle's
+        // "generateBuildVersion" task.
         assertFalse(Version.JACKSON_MODULE_VERSION.isUnknownVersion());
         System.out.println(Version.JACKSON_MODULE_VERSION.toString());
     }
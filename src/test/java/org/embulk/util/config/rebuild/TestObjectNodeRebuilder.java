@@ -17,10 +17,17 @@
 package org.embulk.util.config.rebuild;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.BigIntegerNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
 import com.fasterxml.jackson.databind.node.DecimalNode;
 import com.fasterxml.jackson.databind.node.DoubleNode;
 import com.fasterxml.jackson.databind.node.FloatNode;
@@ -30,8 +37,11 @@ import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.ShortNode;
 import com.fasterxml.jackson.databind.node.TextNode;
+import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLClassLoader;
 import org.junit.jupiter.api.Test;
 
 public class TestObjectNodeRebuilder {
@@ -107,4 +117,168 @@ public class TestObjectNodeRebuilder {
         final ObjectNode rebuilt = ObjectNodeRebuilder.rebuild(root, mapper);
         assertEquals(root, rebuilt);
     }
+
+    @Test
+    public void testWide() {
+        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectNode root = mapper.createObjectNode();
+        final ArrayNode columns = root.putArray("columns");
+        for (int i = 0; i < 5000; i++) {
+            final ObjectNode column = columns.addObject();
+            column.put("name", "column" + i);
+            column.put("index", i);
+            column.put("nullable", i % 2 == 0);
+            column.putNull("default");
+        }
+        for (int i = 0; i < 5000; i++) {
+            root.put("key" + i, (long) i * 1000000007L);
+        }
+
+        final ObjectNode rebuilt = ObjectNodeRebuilder.rebuild(root, mapper);
+        assertEquals(root, rebuilt);
+    }
+
+    @Test
+    public void testBinaryNode() {
+        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectNode root = mapper.createObjectNode();
+        root.set("binary", BinaryNode.valueOf(new byte[] { 0x01, 0x02 }));
+
+        final UnsupportedOperationException ex = assertThrows(
+                UnsupportedOperationException.class, () -> ObjectNodeRebuilder.rebuild(root, mapper));
+        assertEquals("com.fasterxml.jackson.databind.node.BinaryNode is not supported.", ex.getMessage());
+    }
+
+    @Test
+    public void testDeeplyNested() {
+        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectNode root = buildDeeplyNested(mapper, 20001);
+
+        final ObjectNode rebuilt = ObjectNodeRebuilder.rebuild(root, mapper, 20001);
+
+        // Walks down without recursion. JsonNode#equals is recursive.
+        JsonNode node = rebuilt;
+        for (int i = 1; i < 20001; i++) {
+            if (i % 2 == 1) {
+                assertTrue(node.isObject());
+                assertEquals(i, node.get("depth").intValue());
+                node = node.get("child");
+            } else {
+                assertTrue(node.isArray());
+                assertEquals(2, node.size());
+                assertEquals(i, node.get(0).intValue());
+                node = node.get(1);
+            }
+        }
+        assertEquals("leaf", node.get("leaf").textValue());
+    }
+
+    @Test
+    public void testNestedDeeperThanMaximumDepth() {
+        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectNode root = buildDeeplyNested(mapper, 20001);
+
+        assertThrows(IllegalStateException.class, () -> ObjectNodeRebuilder.rebuild(root, mapper, 20000));
+        ObjectNodeRebuilder.rebuild(root, mapper, 20001);
+        assertThrows(IllegalArgumentException.class, () -> ObjectNodeRebuilder.rebuild(root, mapper, 0));
+    }
+
+    @Test
+    public void testMaximumDepthOfMapper() {
+        final ObjectMapper mapper = new ObjectMapper();
+        final int maximumDepth = mapper.getFactory().streamReadConstraints().getMaxNestingDepth();
+
+        ObjectNodeRebuilder.rebuild(buildNestedObjects(mapper, maximumDepth), mapper);
+        assertThrows(IllegalStateException.class, () -> ObjectNodeRebuilder.rebuild(buildNestedObjects(mapper, maximumDepth + 1), mapper));
+
+        final ObjectMapper deeper = new ObjectMapper();
+        deeper.getFactory().setStreamReadConstraints(StreamReadConstraints.builder().maxNestingDepth(maximumDepth + 1).build());
+        ObjectNodeRebuilder.rebuild(buildNestedObjects(mapper, maximumDepth + 1), deeper);
+    }
+
+    /**
+     * Builds {@code ObjectNode} nested in {@code depth} levels only with {@code ObjectNode}.
+     */
+    private static ObjectNode buildNestedObjects(final ObjectMapper mapper, final int depth) {
+        final ObjectNode root = mapper.createObjectNode();
+        ObjectNode node = root;
+        for (int i = 1; i < depth; i++) {
+            node = node.putObject("child");
+        }
+        return root;
+    }
+
+    /**
+     * Builds {@code ObjectNode} nested in {@code depth} levels, alternating {@code ObjectNode} and {@code ArrayNode}.
+     */
+    private static ObjectNode buildDeeplyNested(final ObjectMapper mapper, final int depth) {
+        final ObjectNode root = mapper.createObjectNode();
+        JsonNode node = root;
+        for (int i = 1; i < depth; i++) {
+            if (i % 2 == 1) {
+                ((ObjectNode) node).put("depth", i);
+                node = ((ObjectNode) node).putArray("child");
+            } else {
+                ((ArrayNode) node).add(i);
+                node = ((ArrayNode) node).addObject();
+            }
+        }
+        ((ObjectNode) node).put("leaf", "leaf");
+        return root;
+    }
+
+    @Test
+    public void testPluginClassLoaderUnloaded() throws Exception {
+        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectNode root = mapper.createObjectNode();
+        root.put("key", "value").putArray("array").add(12).addObject().put("inner", true);
+
+        final WeakReference<ClassLoader> pluginClassLoader = rebuildInPluginClassLoader(root, mapper);
+
+        for (int i = 0; i < 50 && pluginClassLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(pluginClassLoader.get(), "The plugin's class loader is not unloaded.");
+    }
+
+    // Rebuilds in a separate method so that nothing from the plugin's class loader remains in the caller's stack frame.
+    private static WeakReference<ClassLoader> rebuildInPluginClassLoader(final ObjectNode root, final ObjectMapper mapper) throws Exception {
+        final ClassLoader pluginClassLoader = new PluginClassLoader(
+                ObjectNodeRebuilder.class.getProtectionDomain().getCodeSource().getLocation(),
+                TestObjectNodeRebuilder.class.getClassLoader());
+        final Class<?> rebuilderClass = pluginClassLoader.loadClass(ObjectNodeRebuilder.class.getName());
+        assertNotSame(ObjectNodeRebuilder.class, rebuilderClass);
+
+        // The node classes of Jackson are of the "core" side, which are not loaded by the plugin's class loader.
+        final Object rebuilt = rebuilderClass.getMethod("rebuild", Object.class, ObjectMapper.class).invoke(null, root, mapper);
+        assertEquals(root, rebuilt);
+        return new WeakReference<>(pluginClassLoader);
+    }
+
+    /**
+     * Loads the classes of this package by itself, like a plugin's class loader which has its own embulk-util-config.
+     */
+    private static final class PluginClassLoader extends URLClassLoader {
+        PluginClassLoader(final URL url, final ClassLoader parent) {
+            super(new URL[] { url }, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(ObjectNodeRebuilder.class.getPackage().getName() + ".")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (this.getClassLoadingLock(name)) {
+                Class<?> loaded = this.findLoadedClass(name);
+                if (loaded == null) {
+                    loaded = this.findClass(name);
+                }
+                if (resolve) {
+                    this.resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+    }
 }